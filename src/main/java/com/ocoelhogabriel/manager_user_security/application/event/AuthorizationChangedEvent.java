@@ -0,0 +1,42 @@
+package com.ocoelhogabriel.manager_user_security.application.event;
+
+/**
+ * Event published whenever data that feeds authentication or authorization decisions changes.
+ * Listeners that hold derived state (caches, indexes, token stamps) should react to it after the
+ * publishing transaction commits.
+ *
+ * @param scope the kind of object that changed
+ * @param id the identifier of the changed object, if known
+ * @param name the natural key of the changed object (username, role name or resource name), if known
+ */
+public record AuthorizationChangedEvent(Scope scope, Long id, String name) {
+
+    /**
+     * The kind of object whose change triggered the event.
+     * {@code CREDENTIALS} marks a user whose stored password hash was re-encoded without
+     * any change to the password or the user's authorities.
+     */
+    public enum Scope {
+        USER, CREDENTIALS, ROLE, PERMISSION, RESOURCE
+    }
+
+    public static AuthorizationChangedEvent user(Long id, String username) {
+        return new AuthorizationChangedEvent(Scope.USER, id, username);
+    }
+
+    public static AuthorizationChangedEvent credentials(Long id, String username) {
+        return new AuthorizationChangedEvent(Scope.CREDENTIALS, id, username);
+    }
+
+    public static AuthorizationChangedEvent role(Long id, String roleName) {
+        return new AuthorizationChangedEvent(Scope.ROLE, id, roleName);
+    }
+
+    public static AuthorizationChangedEvent permission(Long id, String resourceName) {
+        return new AuthorizationChangedEvent(Scope.PERMISSION, id, resourceName);
+    }
+
+    public static AuthorizationChangedEvent resource(Long id, String resourceName) {
+        return new AuthorizationChangedEvent(Scope.RESOURCE, id, resourceName);
+    }
+}
@@ -0,0 +1,29 @@
+package com.ocoelhogabriel.manager_user_security.application.exception;
+
+/**
+ * Exception thrown when the application is temporarily unable to accept more work of a kind,
+ * so the client should retry later.
+ */
+public class ServiceUnavailableException extends ApplicationException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new ServiceUnavailableException with the specified message.
+     *
+     * @param message the exception message
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates a new ServiceUnavailableException with the specified message and cause.
+     *
+     * @param message the exception message
+     * @param cause the cause of the exception
+     */
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ocoelhogabriel.manager_user_security.application.exception;
+
+/**
+ * Exception thrown when a client exceeds the allowed request rate.
+ */
+public class TooManyRequestsException extends ApplicationException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Creates a new TooManyRequestsException with the specified message.
+     *
+     * @param message the exception message
+     * @param retryAfterSeconds the number of seconds after which the client may retry
+     */
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns the number of seconds after which the client may retry.
+     *
+     * @return the retry delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
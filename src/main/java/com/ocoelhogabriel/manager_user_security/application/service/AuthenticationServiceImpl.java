@@ -1,141 +1,226 @@
 package com.ocoelhogabriel.manager_user_security.application.service;
 
-import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.ocoelhogabriel.manager_user_security.application.dto.TokenDetails;
 import com.ocoelhogabriel.manager_user_security.application.exception.ApplicationException;
-import com.ocoelhogabriel.manager_user_security.domain.entity.Role;
+import com.ocoelhogabriel.manager_user_security.application.exception.ServiceUnavailableException;
 import com.ocoelhogabriel.manager_user_security.domain.entity.User;
 import com.ocoelhogabriel.manager_user_security.domain.exception.AuthenticationException;
+import com.ocoelhogabriel.manager_user_security.domain.exception.DomainException;
 import com.ocoelhogabriel.manager_user_security.domain.service.AuthenticationService;
 import com.ocoelhogabriel.manager_user_security.domain.service.UserService;
 import com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt.JwtManager;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt.RefreshTokenStore;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt.RefreshTokenStore.IssuedRefreshToken;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.password.PasswordHashingExecutor;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.service.SecurityUser;
 import com.ocoelhogabriel.manager_user_security.interfaces.dto.AuthenticationResponse;
+import com.ocoelhogabriel.manager_user_security.interfaces.dto.TokenIntrospectionRequest;
+import com.ocoelhogabriel.manager_user_security.interfaces.dto.TokenIntrospectionResponse;
 import com.ocoelhogabriel.manager_user_security.interfaces.dto.TokenValidationResponse;
 import com.ocoelhogabriel.manager_user_security.interfaces.dto.UserRoleDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class AuthenticationServiceImpl implements AuthenticationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticationServiceImpl.class);
+
     private final UserService userService;
     private final JwtManager jwtManager;
     private final AuthenticationManager authenticationManager;
-    private final Set<String> invalidatedTokens = Collections.synchronizedSet(new HashSet<>()); // In-memory blacklist
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RefreshTokenStore refreshTokenStore;
+    private final UserDetailsService userDetailsService;
 
-    public AuthenticationServiceImpl(UserService userService, JwtManager jwtManager, AuthenticationManager authenticationManager) {
+    public AuthenticationServiceImpl(UserService userService, JwtManager jwtManager, AuthenticationManager authenticationManager,
+            PasswordEncoder passwordEncoder, PasswordHashingExecutor passwordHashingExecutor,
+            RefreshTokenStore refreshTokenStore, UserDetailsService userDetailsService) {
         this.userService = userService;
         this.jwtManager = jwtManager;
         this.authenticationManager = authenticationManager;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.refreshTokenStore = refreshTokenStore;
+        this.userDetailsService = userDetailsService;
     }
 
     @Override
     public AuthenticationResponse authenticate(String username, String password) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(username, password));
+            // Read before the principal is loaded, so the token never claims newer authorities than it carries
+            long authorityVersion = jwtManager.readAuthorityVersion();
+            // Password hashing runs on the bounded hashing pool, never on the request thread
+            Authentication authentication = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(username, password)));
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            User user = userService.findByUsername(username)
-                    .orElseThrow(() -> new AuthenticationException("User not found"));
-
-            TokenDetails tokenDetails = jwtManager.generateToken(user);
-
-            Role primaryRole = user.getRoles().stream().findFirst().orElse(null);
-            UserRoleDto roleDto = primaryRole != null
-                    ? new UserRoleDto(primaryRole.getId().toString(), primaryRole.getName(), primaryRole.getDescription())
-                    : null;
+            // The principal loaded during authentication carries everything the token and response need
+            if (!(authentication.getPrincipal() instanceof SecurityUser principal)) {
+                throw new AuthenticationException("Unsupported principal");
+            }
+            if (passwordEncoder.upgradeEncoding(principal.getPassword())) {
+                rehashPassword(principal, password);
+            }
 
-            return new AuthenticationResponse(
-                    tokenDetails.token(),
-                    tokenDetails.issuedAt(),
-                    Duration.between(tokenDetails.issuedAt(), tokenDetails.expiresAt()).getSeconds(),
-                    user.getId().toString(),
-                    roleDto
-            );
+            IssuedRefreshToken refreshToken = refreshTokenStore.issue(principal.getId(), principal.getUsername());
+            return toResponse(jwtManager.generateToken(principal, authorityVersion), principal, refreshToken);
         } catch (BadCredentialsException e) {
             throw new AuthenticationException("Invalid username or password");
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             throw new ApplicationException("Authentication failed", e);
         }
     }
 
+    /**
+     * Re-encodes a just-verified password whose stored hash uses a different cost than the current one.
+     * The rehash is best effort: when the hashing pool is busy or the update fails the login still succeeds
+     * and the hash is upgraded on a later login. The update is conditional on the verified hash, so a
+     * password change committed since the verification is kept.
+     *
+     * @param principal the authenticated principal
+     * @param password the verified raw password
+     */
+    private void rehashPassword(SecurityUser principal, String password) {
+        try {
+            passwordHashingExecutor.execute(
+                    () -> userService.rehashPassword(principal.getId(), principal.getUsername(),
+                            principal.getPassword(), password));
+        } catch (RuntimeException e) {
+            logger.warn("Could not rehash password of user {}: {}", principal.getUsername(), e.getMessage());
+        }
+    }
+
+    /**
+     * Builds the login or refresh response from the issued tokens and the principal they were issued for.
+     *
+     * @param tokenDetails the issued access token
+     * @param principal the principal the tokens were issued for
+     * @param refreshToken the issued refresh token
+     * @return the authentication response
+     */
+    private static AuthenticationResponse toResponse(TokenDetails tokenDetails, SecurityUser principal,
+            IssuedRefreshToken refreshToken) {
+        SecurityUser.RoleSummary primaryRole = principal.getRoles().isEmpty() ? null : principal.getRoles().get(0);
+        UserRoleDto roleDto = primaryRole != null
+                ? new UserRoleDto(primaryRole.id().toString(), primaryRole.name(), primaryRole.description())
+                : null;
+
+        return new AuthenticationResponse(
+                tokenDetails.token(),
+                tokenDetails.issuedAt(),
+                Duration.between(tokenDetails.issuedAt(), tokenDetails.expiresAt()).getSeconds(),
+                principal.getId().toString(),
+                roleDto,
+                refreshToken.token(),
+                Math.max(0L, Duration.between(Instant.now(), refreshToken.expiresAt()).getSeconds())
+        );
+    }
+
     @Override
     public TokenValidationResponse validateToken(String token) {
-        if (invalidatedTokens.contains(token)) {
-            return new TokenValidationResponse(false, 0, "Token has been invalidated");
+        TokenIntrospectionResponse result = introspect(token);
+        return new TokenValidationResponse(result.isActive(), result.getExpiresIn(), result.getMessage());
+    }
+
+    /**
+     * Introspects a batch of tokens, answering in request order. Duplicate tokens are verified once,
+     * and verification goes through the shared verified-token cache, so repeated gateway calls for the
+     * same token cost a digest and a cache lookup. The batch is checked here rather than relying on
+     * bean validation of the request, so a missing, oversized or blank batch is always a 400.
+     */
+    @Override
+    public List<TokenIntrospectionResponse> introspect(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            throw new DomainException("At least one token is required");
         }
-        try {
-            String username = jwtManager.validateToken(token);
-            if (username == null) {
-                return new TokenValidationResponse(false, 0, "Invalid token");
+        if (tokens.size() > TokenIntrospectionRequest.MAX_TOKENS) {
+            throw new DomainException("At most " + TokenIntrospectionRequest.MAX_TOKENS
+                    + " tokens can be introspected at once");
+        }
+        for (String token : tokens) {
+            if (token == null || token.isBlank()) {
+                throw new DomainException("Tokens must not be blank");
             }
+        }
+        Map<String, TokenIntrospectionResponse> results = new HashMap<>();
+        List<TokenIntrospectionResponse> responses = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            responses.add(results.computeIfAbsent(token, this::introspect));
+        }
+        return responses;
+    }
 
-            Optional<User> userOpt = userService.findByUsername(username);
-            if (userOpt.isEmpty()) {
-                return new TokenValidationResponse(false, 0, "Invalid token: User not found");
-            }
+    private TokenIntrospectionResponse introspect(String token) {
+        DecodedJWT jwt;
+        try {
+            jwt = jwtManager.verify(token);
+        } catch (AccessDeniedException e) {
+            return TokenIntrospectionResponse.inactive(e.getMessage());
+        } catch (RuntimeException e) {
+            return TokenIntrospectionResponse.inactive("Invalid token");
+        }
 
-            // Re-generate token details to get current expiration, but don't issue a new token here
-            // This part might need adjustment based on how JwtManager.generateToken works internally
-            // For now, assuming it can extract details without issuing a new one.
-            // If JwtManager.generateToken always issues a new token, this logic needs to be rethought.
-            // For validation, we only need to know if it's valid and its remaining time.
-            // A better approach would be for JwtManager to have a method like 'getTokenExpiration(token)'
-            // For now, we'll rely on JwtManager.validateToken to implicitly handle expiration.
-            // The expiresInSeconds calculation below is for the *new* token if it were generated, not the current one.
-            // Let's simplify: if validateToken returns username, it's valid and not expired.
-            // The expiration time should ideally come from the token itself, not by generating a new one.
-            // For simplicity, we'll just return a generic valid response if not expired and not blacklisted.
-
-            // A more robust solution would involve parsing the token's expiration claim directly.
-            // Given current JwtManager API, we'll assume validateToken handles expiration.
-            return new TokenValidationResponse(true, 0, "Token is valid"); // 0 for expiresInSeconds as we don't have direct access to current token's remaining time here.
-
-        } catch (TokenExpiredException e) {
-            return new TokenValidationResponse(false, 0, "Token has expired");
-        } catch (Exception e) {
-            return new TokenValidationResponse(false, 0, "Invalid token: " + e.getMessage());
+        // The principal normally comes from the user details cache, so disabled users are caught without a query
+        SecurityUser principal = loadPrincipal(jwt.getSubject());
+        if (principal == null || !principal.isEnabled()) {
+            return TokenIntrospectionResponse.inactive("Invalid token: User not found");
         }
+
+        Instant expiresAt = jwt.getExpiresAtAsInstant();
+        long expiresIn = expiresAt == null ? 0L : Math.max(0L, Duration.between(Instant.now(), expiresAt).getSeconds());
+        return new TokenIntrospectionResponse(true, jwt.getSubject(), jwtManager.getUserId(jwt),
+                jwtManager.getRoles(jwt), expiresIn, "Token is valid");
     }
 
+    /**
+     * Exchanges an opaque refresh token for a new access token and the refresh token's successor.
+     * The exchange is a primary-key lookup; the principal normally comes from the user details cache.
+     */
     @Override
     public AuthenticationResponse refreshToken(String token) {
-        if (invalidatedTokens.contains(token)) {
-            throw new AuthenticationException("Cannot refresh an invalidated token");
-        }
-        return jwtManager.refreshToken(token)
-                .map(refreshedTokenDetails -> {
-                    User user = userService.findByUsername(refreshedTokenDetails.username())
-                            .orElseThrow(() -> new AuthenticationException("User not found"));
-
-                    long expiresInSeconds = Duration.between(refreshedTokenDetails.issuedAt(), refreshedTokenDetails.expiresAt()).getSeconds();
-
-                    Role primaryRole = user.getRoles().stream().findFirst().orElse(null);
-                    UserRoleDto roleDto = primaryRole != null
-                            ? new UserRoleDto(primaryRole.getId().toString(), primaryRole.getName(), primaryRole.getDescription())
-                            : null;
-
-                    return new AuthenticationResponse(
-                            refreshedTokenDetails.token(),
-                            refreshedTokenDetails.issuedAt(),
-                            expiresInSeconds,
-                            user.getId().toString(),
-                            roleDto
-                    );
-                })
+        IssuedRefreshToken refreshToken = refreshTokenStore.rotate(token)
                 .orElseThrow(() -> new AuthenticationException("Could not refresh token"));
+
+        long authorityVersion = jwtManager.readAuthorityVersion();
+        SecurityUser principal = loadPrincipal(refreshToken.username());
+        if (principal == null || !principal.isEnabled() || !principal.getId().equals(refreshToken.userId())) {
+            refreshTokenStore.revoke(refreshToken.token());
+            throw new AuthenticationException("Could not refresh token");
+        }
+        return toResponse(jwtManager.generateToken(principal, authorityVersion), principal, refreshToken);
+    }
+
+    private SecurityUser loadPrincipal(String username) {
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            return userDetails instanceof SecurityUser securityUser ? securityUser : null;
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
     }
 
     @Override
@@ -152,6 +237,49 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     @Override
     public void invalidateToken(String token) {
-        invalidatedTokens.add(token);
+        jwtManager.revoke(token);
+    }
+
+    /**
+     * Ends a session: revokes the whole family of the refresh token, so neither it nor any of its
+     * successors can be exchanged again, and revokes the access token when one is presented.
+     * The endpoint is public, so the refresh token must be known and the access token must verify and
+     * belong to the same user before anything is revoked.
+     */
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new DomainException("Refresh token is required");
+        }
+        Long owner = refreshTokenStore.findOwner(refreshToken)
+                .orElseThrow(() -> new AuthenticationException("Invalid refresh token"));
+        boolean revokeAccessToken = accessToken != null && !accessToken.isBlank()
+                && isSessionAccessToken(accessToken, owner);
+        refreshTokenStore.revoke(refreshToken);
+        if (revokeAccessToken) {
+            invalidateToken(accessToken);
+        }
+    }
+
+    /**
+     * Checks that an access token verifies and was issued to the owner of the session being ended.
+     * An access token that is already revoked needs nothing more.
+     *
+     * @return true if the access token still has to be revoked
+     */
+    private boolean isSessionAccessToken(String accessToken, Long owner) {
+        DecodedJWT jwt;
+        try {
+            jwt = jwtManager.verify(accessToken);
+        } catch (AccessDeniedException e) {
+            if (jwtManager.isRevoked(accessToken)) {
+                return false;
+            }
+            throw new AuthenticationException("Invalid access token");
+        }
+        if (!owner.toString().equals(jwtManager.getUserId(jwt))) {
+            throw new AuthenticationException("Access token does not belong to this session");
+        }
+        return true;
     }
 }
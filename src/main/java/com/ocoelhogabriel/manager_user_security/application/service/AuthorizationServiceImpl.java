@@ -1,14 +1,20 @@
 package com.ocoelhogabriel.manager_user_security.application.service;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.ocoelhogabriel.manager_user_security.domain.entity.Role;
 import com.ocoelhogabriel.manager_user_security.domain.entity.User;
 import com.ocoelhogabriel.manager_user_security.domain.repository.UserRepository;
 import com.ocoelhogabriel.manager_user_security.domain.service.AuthorizationService;
 import com.ocoelhogabriel.manager_user_security.application.validator.UrlValidator;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.PermissionBits;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.PermissionMatrix;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.PermissionMatrixProvider;
 
 /**
  * Implementation of the authorization service.
@@ -23,12 +29,23 @@ public class AuthorizationServiceImpl implements AuthorizationService {
     
     @Autowired
     private UrlValidator urlValidator;
+
+    @Autowired
+    private PermissionMatrixProvider permissionMatrixProvider;
     
     @Override
     public boolean hasPermission(User user, String resource, String action) {
         if (user == null || resource == null || action == null) {
             return false;
         }
+
+        // Answer from the permission matrix when the action maps to a permission bit
+        PermissionMatrix matrix = permissionMatrixProvider.current();
+        int required = PermissionBits.of(action);
+        if (matrix != null && required != PermissionBits.NONE) {
+            List<Long> roleIds = user.getRoles().stream().map(Role::getId).toList();
+            return PermissionBits.allows(matrix.effectiveBitsForRoleIds(roleIds, resource), required);
+        }
         
         // Check if the user has the required permission through their roles
         return user.getRoles().stream()
@@ -0,0 +1,215 @@
+package com.ocoelhogabriel.manager_user_security.application.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+import com.ocoelhogabriel.manager_user_security.domain.repository.LoggerRepository;
+import com.ocoelhogabriel.manager_user_security.interfaces.dto.BulkLogIngestionResponse;
+import com.ocoelhogabriel.manager_user_security.interfaces.dto.LoggerRequest;
+import com.ocoelhogabriel.manager_user_security.interfaces.mapper.LoggerMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports device logs from a newline-delimited JSON stream.
+ * <p>
+ * The body is read one line at a time and each line is parsed, validated and mapped on its own, so a
+ * malformed line is rejected without affecting its neighbours. Lines are checked against the
+ * {@link LoggerRequest} constraints when a Bean Validation provider is available, and always against
+ * the domain rules. Valid entries are written in fixed-size
+ * multi-row batches. At any time the service holds one line of at most {@code max-line-length} characters
+ * and one batch, so memory use does not depend on the size of the upload.
+ */
+@Service
+public class LoggerBulkIngestionService {
+
+    private static final org.slf4j.Logger log = LoggerFactory.getLogger(LoggerBulkIngestionService.class);
+
+    private final LoggerRepository loggerRepository;
+    private final LoggerMapper loggerMapper;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final int batchSize;
+    private final int maxLineLength;
+
+    /**
+     * Constructor for LoggerBulkIngestionService.
+     *
+     * @param loggerRepository the repository entries are written to
+     * @param loggerMapper the mapper from request to domain entries
+     * @param validator the bean validator applied to every line, when a validation provider is present
+     * @param objectMapper the application object mapper
+     * @param batchSize the number of entries written per statement
+     * @param maxLineLength the longest accepted line, in characters
+     */
+    public LoggerBulkIngestionService(LoggerRepository loggerRepository, LoggerMapper loggerMapper,
+            ObjectProvider<Validator> validator, ObjectMapper objectMapper,
+            @Value("${api.logs.bulk.batch-size:500}") int batchSize,
+            @Value("${api.logs.bulk.max-line-length:8192}") int maxLineLength) {
+        this.loggerRepository = loggerRepository;
+        this.loggerMapper = loggerMapper;
+        this.validator = validator.getIfAvailable();
+        this.requestReader = objectMapper.readerFor(LoggerRequest.class);
+        this.batchSize = batchSize;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Reads, validates and stores every line of an NDJSON stream. Blank lines are skipped.
+     * Batches are committed as they are written; if a write fails the import stops, the lines of
+     * that batch are reported as rejected and the response is marked incomplete.
+     *
+     * @param body the request body
+     * @return the summary of the import
+     * @throws IOException if the body cannot be read
+     */
+    public BulkLogIngestionResponse ingest(InputStream body) throws IOException {
+        BulkLogIngestionResponse response = new BulkLogIngestionResponse();
+        List<Logger> batch = new ArrayList<>(batchSize);
+        long[] batchLines = new long[batchSize];
+        StringBuilder line = new StringBuilder(256);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        long lineNumber = 0;
+        LineStatus status;
+        while ((status = readLine(reader, line)) != LineStatus.END) {
+            lineNumber++;
+            if (status == LineStatus.TOO_LONG) {
+                response.setReceived(response.getReceived() + 1);
+                response.reject(lineNumber, "Line exceeds " + maxLineLength + " characters");
+                continue;
+            }
+            if (isBlank(line)) {
+                continue;
+            }
+            response.setReceived(response.getReceived() + 1);
+
+            Logger entry = parse(line, lineNumber, response);
+            if (entry == null) {
+                continue;
+            }
+            batchLines[batch.size()] = lineNumber;
+            batch.add(entry);
+            if (batch.size() == batchSize && !flush(batch, batchLines, response)) {
+                return response;
+            }
+        }
+        flush(batch, batchLines, response);
+        return response;
+    }
+
+    /**
+     * Parses, validates and maps one line, recording a reject and returning null when it is not acceptable.
+     */
+    private Logger parse(CharSequence line, long lineNumber, BulkLogIngestionResponse response) {
+        LoggerRequest request;
+        try {
+            request = requestReader.readValue(line.toString());
+        } catch (JsonProcessingException e) {
+            response.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            return null;
+        }
+        if (request == null) {
+            response.reject(lineNumber, "Line is not a log entry");
+            return null;
+        }
+        Set<ConstraintViolation<LoggerRequest>> violations = validator != null ? validator.validate(request) : Set.of();
+        if (!violations.isEmpty()) {
+            response.reject(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        Logger entry = loggerMapper.toDomain(request);
+        if (!entry.isValid()) {
+            response.reject(lineNumber, "Invalid logger data");
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Writes the batch and clears it.
+     *
+     * @return false if the write failed and the import must stop
+     */
+    private boolean flush(List<Logger> batch, long[] batchLines, BulkLogIngestionResponse response) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        try {
+            loggerRepository.insertAll(batch);
+            response.setStored(response.getStored() + batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Bulk log import aborted, could not write {} entries: {}", batch.size(), e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                response.reject(batchLines[i], "Not stored: the batch could not be written");
+            }
+            response.setComplete(false);
+            return false;
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * Reads the next line into {@code line}, without its terminator. A line longer than the limit is
+     * consumed up to its end but not kept.
+     */
+    private LineStatus readLine(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        boolean tooLong = false;
+        int c = reader.read();
+        if (c < 0) {
+            return LineStatus.END;
+        }
+        while (c >= 0 && c != '\n') {
+            if (line.length() < maxLineLength) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+            c = reader.read();
+        }
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        return tooLong ? LineStatus.TOO_LONG : LineStatus.LINE;
+    }
+
+    private static boolean isBlank(CharSequence line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (!Character.isWhitespace(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private enum LineStatus {
+        LINE,
+        TOO_LONG,
+        END
+    }
+}
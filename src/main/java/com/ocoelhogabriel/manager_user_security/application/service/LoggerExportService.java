@@ -0,0 +1,200 @@
+package com.ocoelhogabriel.manager_user_security.application.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+import com.ocoelhogabriel.manager_user_security.domain.exception.DomainException;
+import com.ocoelhogabriel.manager_user_security.domain.repository.LoggerRepository;
+import com.ocoelhogabriel.manager_user_security.interfaces.mapper.LoggerMapper;
+
+/**
+ * Exports device logs of a time range as newline-delimited JSON or CSV.
+ * <p>
+ * Rows are read through a forward-only database cursor inside a read-only transaction and written to the
+ * output as they arrive, so memory use does not depend on the number of exported rows. The caller owns the
+ * output stream; it is flushed, but not closed, when the export ends.
+ */
+@Service
+public class LoggerExportService {
+
+    private static final org.slf4j.Logger log = LoggerFactory.getLogger(LoggerExportService.class);
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,timestamp,serialNumber,type,message";
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final LoggerRepository loggerRepository;
+    private final LoggerMapper loggerMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for LoggerExportService.
+     *
+     * @param loggerRepository the repository entries are read from
+     * @param loggerMapper the mapper from domain entries to their JSON representation
+     * @param objectMapper the application object mapper
+     */
+    public LoggerExportService(LoggerRepository loggerRepository, LoggerMapper loggerMapper,
+            ObjectMapper objectMapper) {
+        this.loggerRepository = loggerRepository;
+        this.loggerMapper = loggerMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Checks the export parameters, so an invalid request can be rejected before the response is committed.
+     *
+     * @param startTime the start time (inclusive)
+     * @param endTime the end time (inclusive)
+     */
+    public void validate(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime.isAfter(endTime)) {
+            throw new DomainException("Start time must not be after end time");
+        }
+    }
+
+    /**
+     * Writes every entry of the time range to the output, oldest first.
+     *
+     * @param startTime the start time (inclusive)
+     * @param endTime the end time (inclusive)
+     * @param format the output format
+     * @param gzip whether the output is gzip compressed
+     * @param output the stream the export is written to
+     * @return the number of exported entries
+     * @throws IOException if the output cannot be written
+     */
+    @Transactional(readOnly = true)
+    public long export(LocalDateTime startTime, LocalDateTime endTime, Format format, boolean gzip,
+            OutputStream output) throws IOException {
+        validate(startTime, endTime);
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(output, GZIP_BUFFER_SIZE) : null;
+        OutputStream target = compressed != null ? compressed : output;
+        long count;
+        try {
+            count = format == Format.CSV ? writeCsv(startTime, endTime, target) : writeNdjson(startTime, endTime, target);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (compressed != null) {
+            compressed.finish();
+        }
+        output.flush();
+        log.info("Exported {} log entries between {} and {} as {}", count, startTime, endTime, format);
+        return count;
+    }
+
+    private long writeNdjson(LocalDateTime startTime, LocalDateTime endTime, OutputStream target) throws IOException {
+        long[] count = {0};
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            loggerRepository.forEachByTimestampBetween(startTime, endTime, logger -> {
+                try {
+                    generator.writeObject(loggerMapper.toResponse(logger));
+                    generator.writeRaw('\n');
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return count[0];
+    }
+
+    private long writeCsv(LocalDateTime startTime, LocalDateTime endTime, OutputStream target) throws IOException {
+        long[] count = {0};
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        loggerRepository.forEachByTimestampBetween(startTime, endTime, logger -> {
+            try {
+                writeCsvRow(writer, logger);
+                count[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return count[0];
+    }
+
+    private static void writeCsvRow(Writer writer, Logger logger) throws IOException {
+        writer.write(String.valueOf(logger.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(logger.getTimestamp()));
+        writer.write(',');
+        writeCsvField(writer, logger.getSerialNumber());
+        writer.write(',');
+        writer.write(String.valueOf(logger.getType()));
+        writer.write(',');
+        writeCsvField(writer, logger.getMessage());
+        writer.write("\r\n");
+    }
+
+    /**
+     * Writes a field quoted as described in RFC 4180 when it contains a separator, quote or line break.
+     * Serial numbers and messages come from devices, so a value a spreadsheet would evaluate as a formula
+     * (starting with {@code =}, {@code +}, {@code -}, {@code @}, a tab or a carriage return) is prefixed
+     * with {@code '} and quoted, which makes it display as plain text.
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean formula = !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0;
+        boolean quote = formula;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
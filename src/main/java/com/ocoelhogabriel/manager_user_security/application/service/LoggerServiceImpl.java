@@ -5,9 +5,12 @@ import com.ocoelhogabriel.manager_user_security.domain.exception.DomainException
 import com.ocoelhogabriel.manager_user_security.domain.exception.ResourceNotFoundException;
 import com.ocoelhogabriel.manager_user_security.domain.repository.LoggerRepository;
 import com.ocoelhogabriel.manager_user_security.domain.service.LoggerService;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LogCursor;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LogPage;
 import com.ocoelhogabriel.manager_user_security.domain.valueobject.LoggerType;
+import com.ocoelhogabriel.manager_user_security.infrastructure.ingestion.LogIngestionPipeline;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,10 +25,15 @@ import java.util.Optional;
 public class LoggerServiceImpl implements LoggerService {
 
     private final LoggerRepository loggerRepository;
+    private final LogIngestionPipeline logIngestionPipeline;
+    private final int maxPageSize;
 
     @Autowired
-    public LoggerServiceImpl(LoggerRepository loggerRepository) {
+    public LoggerServiceImpl(LoggerRepository loggerRepository, LogIngestionPipeline logIngestionPipeline,
+            @Value("${api.logs.query.max-page-size:1000}") int maxPageSize) {
         this.loggerRepository = loggerRepository;
+        this.logIngestionPipeline = logIngestionPipeline;
+        this.maxPageSize = maxPageSize;
     }
 
     @Override
@@ -38,6 +46,15 @@ public class LoggerServiceImpl implements LoggerService {
         return loggerRepository.save(logger);
     }
 
+    @Override
+    public void submitEntry(Logger logger) {
+        if (!logger.isValid()) {
+            throw new DomainException("Invalid logger data");
+        }
+
+        logIngestionPipeline.submit(logger);
+    }
+
     @Override
     @Transactional
     public Logger log(String serialNumber, LoggerType type, String message) {
@@ -75,6 +92,34 @@ public class LoggerServiceImpl implements LoggerService {
         return loggerRepository.findByTimestampBetween(startTime, endTime);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public LogPage findPageBySerialNumber(String serialNumber, LogCursor after, int limit) {
+        int pageSize = pageSize(limit);
+        return LogPage.of(loggerRepository.findPageBySerialNumber(serialNumber, after, pageSize + 1), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LogPage findPageByType(LoggerType type, LogCursor after, int limit) {
+        int pageSize = pageSize(limit);
+        return LogPage.of(loggerRepository.findPageByType(type, after, pageSize + 1), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LogPage findPageByTimeRange(LocalDateTime startTime, LocalDateTime endTime, LogCursor after, int limit) {
+        int pageSize = pageSize(limit);
+        return LogPage.of(loggerRepository.findPageByTimestampBetween(startTime, endTime, after, pageSize + 1),
+                pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Logger> findLatestLogs(int limit) {
+        return loggerRepository.findLatestLogs(pageSize(limit));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Logger> findAllLogs() {
@@ -84,9 +129,12 @@ public class LoggerServiceImpl implements LoggerService {
     @Override
     @Transactional
     public void deleteLog(Long id) {
-        if (!loggerRepository.findById(id).isPresent()) {
-            throw new ResourceNotFoundException("Log entry not found with ID: " + id);
-        }
-        loggerRepository.deleteById(id);
+        Logger logger = loggerRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Log entry not found with ID: " + id));
+        loggerRepository.delete(logger);
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
     }
 }
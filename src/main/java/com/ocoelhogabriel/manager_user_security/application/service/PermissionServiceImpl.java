@@ -1,5 +1,6 @@
 package com.ocoelhogabriel.manager_user_security.application.service;
 
+import com.ocoelhogabriel.manager_user_security.application.event.AuthorizationChangedEvent;
 import com.ocoelhogabriel.manager_user_security.domain.entity.Permission;
 import com.ocoelhogabriel.manager_user_security.domain.entity.Resource;
 import com.ocoelhogabriel.manager_user_security.domain.entity.Role;
@@ -9,9 +10,13 @@ import com.ocoelhogabriel.manager_user_security.domain.repository.PermissionRepo
 import com.ocoelhogabriel.manager_user_security.domain.service.PermissionService;
 import com.ocoelhogabriel.manager_user_security.domain.service.ResourceService;
 import com.ocoelhogabriel.manager_user_security.domain.service.UserService;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.PermissionBits;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.PermissionMatrix;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.PermissionMatrixProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,13 +34,19 @@ public class PermissionServiceImpl implements PermissionService {
     private final PermissionRepository permissionRepository;
     private final ResourceService resourceService;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PermissionMatrixProvider permissionMatrixProvider;
 
     public PermissionServiceImpl(PermissionRepository permissionRepository,
                                 @Qualifier("resourceServiceImpl") ResourceService resourceService,
-                                UserService userService) {
+                                UserService userService,
+                                ApplicationEventPublisher eventPublisher,
+                                PermissionMatrixProvider permissionMatrixProvider) {
         this.permissionRepository = permissionRepository;
         this.resourceService = resourceService;
         this.userService = userService;
+        this.eventPublisher = eventPublisher;
+        this.permissionMatrixProvider = permissionMatrixProvider;
     }
 
     @Override
@@ -53,25 +64,31 @@ public class PermissionServiceImpl implements PermissionService {
     @Override
     @Transactional
     public Permission create(Permission permission) {
-        return permissionRepository.save(permission);
+        Permission savedPermission = permissionRepository.save(permission);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.permission(savedPermission.getId(), savedPermission.getResource()));
+        return savedPermission;
     }
 
     @Override
     @Transactional
     public Permission update(Permission permission) {
-        if (!permissionRepository.existsById(permission.getId())) {
-            throw new ResourceNotFoundException("Permission", permission.getId());
+        Permission currentPermission = permissionRepository.findById(permission.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Permission", permission.getId()));
+        String previousResource = currentPermission.getResource();
+        Permission savedPermission = permissionRepository.save(permission);
+        if (previousResource != null && !previousResource.equals(savedPermission.getResource())) {
+            eventPublisher.publishEvent(AuthorizationChangedEvent.permission(savedPermission.getId(), previousResource));
         }
-        return permissionRepository.save(permission);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.permission(savedPermission.getId(), savedPermission.getResource()));
+        return savedPermission;
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
-        if (!permissionRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Permission", id);
-        }
+        Permission permission = findById(id);
         permissionRepository.deleteById(id);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.permission(id, permission.getResource()));
     }
 
     @Override
@@ -99,9 +116,13 @@ public class PermissionServiceImpl implements PermissionService {
         List<Long> resourceIds = resources.stream().map(Resource::getId).toList();
         List<Long> roleIds = user.getRoles().stream().map(Role::getId).toList();
 
-        // Corrected Logic: Check if a permission exists for any of the user's roles against any of the matching resources.
-        boolean hasPermission = resourceIds.stream()
-                .anyMatch(resourceId -> !permissionRepository.findByRoleIdsAndResourceId(roleIds, resourceId).isEmpty());
+        // Check if a permission exists for any of the user's roles against any of the matching resources,
+        // from the permission matrix when it is built, otherwise with a single query
+        PermissionMatrix matrix = permissionMatrixProvider.current();
+        boolean hasPermission = matrix != null
+                ? resourceIds.stream().anyMatch(resourceId ->
+                        matrix.effectiveBitsForRoleIds(roleIds, resourceId) != PermissionBits.NONE)
+                : !permissionRepository.findByRoleIdsAndResourceIds(roleIds, resourceIds).isEmpty();
 
         if (hasPermission) {
             logger.debug("User {} has permission to access {} {}", userId, method, path);
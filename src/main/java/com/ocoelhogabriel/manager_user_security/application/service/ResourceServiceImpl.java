@@ -3,14 +3,17 @@ package com.ocoelhogabriel.manager_user_security.application.service;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ocoelhogabriel.manager_user_security.application.event.AuthorizationChangedEvent;
 import com.ocoelhogabriel.manager_user_security.domain.service.ResourceService;
 import com.ocoelhogabriel.manager_user_security.domain.entity.Resource;
 import com.ocoelhogabriel.manager_user_security.domain.exception.DuplicateResourceException;
 import com.ocoelhogabriel.manager_user_security.domain.exception.ResourceNotFoundException;
 import com.ocoelhogabriel.manager_user_security.domain.repository.ResourceRepository;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.ResourceRouteIndex;
 
 /**
  * Implementation of the ResourceService interface.
@@ -19,14 +22,21 @@ import com.ocoelhogabriel.manager_user_security.domain.repository.ResourceReposi
 public class ResourceServiceImpl implements ResourceService {
 
     private final ResourceRepository resourceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResourceRouteIndex resourceRouteIndex;
     
     /**
      * Constructor.
      *
      * @param resourceRepository the resource repository
+     * @param eventPublisher the publisher used to announce resource changes
+     * @param resourceRouteIndex the in-memory index used to resolve URLs to resources
      */
-    public ResourceServiceImpl(ResourceRepository resourceRepository) {
+    public ResourceServiceImpl(ResourceRepository resourceRepository, ApplicationEventPublisher eventPublisher,
+            ResourceRouteIndex resourceRouteIndex) {
         this.resourceRepository = resourceRepository;
+        this.eventPublisher = eventPublisher;
+        this.resourceRouteIndex = resourceRouteIndex;
     }
 
     @Override
@@ -60,15 +70,18 @@ public class ResourceServiceImpl implements ResourceService {
                     " and method " + getFirstAllowedMethod(resource) + " already exists");
         }
         
-        return resourceRepository.save(resource);
+        Resource savedResource = resourceRepository.save(resource);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.resource(savedResource.getId(), savedResource.getName()));
+        return savedResource;
     }
 
     @Override
     @Transactional
     public Resource update(Resource resource) {
         // Verify resource exists
-        resourceRepository.findById(resource.getId())
+        Resource currentResource = resourceRepository.findById(resource.getId())
             .orElseThrow(() -> new ResourceNotFoundException("Resource", resource.getId()));
+        String previousName = currentResource.getName();
 
         // Check if resource with same urlPattern and method already exists (excluding this one)
         Optional<Resource> existingResource = resourceRepository
@@ -79,22 +92,29 @@ public class ResourceServiceImpl implements ResourceService {
                     " and method " + getFirstAllowedMethod(resource) + " already exists");
         }
 
-        return resourceRepository.save(resource);
+        Resource savedResource = resourceRepository.save(resource);
+        if (previousName != null && !previousName.equals(savedResource.getName())) {
+            eventPublisher.publishEvent(AuthorizationChangedEvent.resource(savedResource.getId(), previousName));
+        }
+        eventPublisher.publishEvent(AuthorizationChangedEvent.resource(savedResource.getId(), savedResource.getName()));
+        return savedResource;
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
-        if (!resourceRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Resource", id);
-        }
+        Resource resource = findById(id);
         
         resourceRepository.deleteById(id);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.resource(id, resource.getName()));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<Resource> findMatchingResources(String url, String method) {
+        if (resourceRouteIndex.isReady()) {
+            return resourceRouteIndex.findMatching(url, method);
+        }
+        // The index is built once the application is ready; until then, ask the database
         return resourceRepository.findMatchingResources(url, method);
     }
 
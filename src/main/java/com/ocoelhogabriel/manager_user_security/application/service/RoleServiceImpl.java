@@ -7,9 +7,11 @@ import java.util.Optional;
 import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ocoelhogabriel.manager_user_security.application.event.AuthorizationChangedEvent;
 import com.ocoelhogabriel.manager_user_security.domain.service.PermissionService;
 import com.ocoelhogabriel.manager_user_security.domain.service.ResourceService;
 import com.ocoelhogabriel.manager_user_security.domain.service.RoleService;
@@ -28,16 +30,19 @@ public class RoleServiceImpl implements RoleService {
     private final PermissionRepository permissionRepository;
     private final ResourceService resourceService;
     private final PermissionService permissionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public RoleServiceImpl(
             RoleRepository roleRepository,
             PermissionRepository permissionRepository,
             @Qualifier("resourceServiceImpl") ResourceService resourceService, // Corrigido
-            @Qualifier("permissionServiceImpl") PermissionService permissionService) { // Corrigido
+            @Qualifier("permissionServiceImpl") PermissionService permissionService, // Corrigido
+            ApplicationEventPublisher eventPublisher) {
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
         this.resourceService = resourceService;
         this.permissionService = permissionService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -72,7 +77,7 @@ public class RoleServiceImpl implements RoleService {
     @Override
     @Transactional
     public Role update(Role role) {
-        roleRepository.findById(role.getId())
+        Role currentRole = roleRepository.findById(role.getId())
             .orElseThrow(() -> new ResourceNotFoundException("Role", role.getId()));
 
         Optional<Role> existingRole = roleRepository.findByName(role.getName());
@@ -80,17 +85,22 @@ public class RoleServiceImpl implements RoleService {
             throw new DuplicateResourceException("Role with name " + role.getName() + " already exists");
         }
         
-        return roleRepository.save(role);
+        String previousName = currentRole.getName();
+        Role savedRole = roleRepository.save(role);
+        if (previousName != null && !previousName.equals(savedRole.getName())) {
+            eventPublisher.publishEvent(AuthorizationChangedEvent.role(savedRole.getId(), previousName));
+        }
+        eventPublisher.publishEvent(AuthorizationChangedEvent.role(savedRole.getId(), savedRole.getName()));
+        return savedRole;
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
-        if (!roleRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Role", id);
-        }
+        Role role = findById(id);
         
         roleRepository.deleteById(id);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.role(id, role.getName()));
     }
 
     @Override
@@ -120,6 +130,7 @@ public class RoleServiceImpl implements RoleService {
         permission.setActions(actions);
 
         permissionService.create(permission);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.role(roleId, role.getName()));
 
         return findById(roleId);
     }
@@ -138,6 +149,7 @@ public class RoleServiceImpl implements RoleService {
         }
 
         // A lógica de associação real precisaria ser implementada aqui
+        eventPublisher.publishEvent(AuthorizationChangedEvent.role(roleId, role.getName()));
 
         return findById(roleId);
     }
@@ -145,10 +157,11 @@ public class RoleServiceImpl implements RoleService {
     @Override
     @Transactional
     public void removePermission(Long roleId, Long permissionId) {
-        findById(roleId);
+        Role role = findById(roleId);
         permissionRepository.findById(permissionId)
             .orElseThrow(() -> new ResourceNotFoundException("Permission", permissionId));
 
         // A lógica de remoção real precisaria ser implementada aqui
+        eventPublisher.publishEvent(AuthorizationChangedEvent.role(roleId, role.getName()));
     }
 }
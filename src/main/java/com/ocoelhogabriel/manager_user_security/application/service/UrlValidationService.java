@@ -1,34 +1,30 @@
 package com.ocoelhogabriel.manager_user_security.application.service;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
-import java.util.List;
 import java.util.regex.Pattern;
 
+import com.ocoelhogabriel.manager_user_security.application.validator.PublicUrlMatcher;
+
 /**
  * Service for validating URLs and extracting resource information.
  */
 @Service
 public class UrlValidationService {
 
-    @Value("${api.security.public-urls}")
-    private String[] publicUrlPatterns;
+    private static final Pattern VERSION_SEGMENT = Pattern.compile("v\\d+");
+    private static final Pattern ID_SEGMENT = Pattern.compile("\\d+");
+
+    private final PublicUrlMatcher publicUrlMatcher;
 
-    private static final List<String> DEFAULT_PUBLIC_URLS = Arrays.asList(
-        "/api/auth/v1/.*",
-        "/api/health/.*",
-        "/api/device/v1/keep-alive/.*",
-        "/api/device/v1/auth-validate",
-        "/api/device/v1/auth",
-        "/v2/api-docs.*",
-        "/v3/api-docs.*",
-        "/swagger-resources.*",
-        "/configuration/.*",
-        "/swagger-ui.*",
-        "/webjars/.*"
-    );
+    /**
+     * Constructor for UrlValidationService.
+     *
+     * @param publicUrlMatcher the shared public URL matcher
+     */
+    public UrlValidationService(PublicUrlMatcher publicUrlMatcher) {
+        this.publicUrlMatcher = publicUrlMatcher;
+    }
 
     /**
      * Checks if a URL is a public URL that doesn't require authentication.
@@ -37,23 +33,7 @@ public class UrlValidationService {
      * @return true if the URL is public, false otherwise
      */
     public boolean isPublicUrl(String url) {
-        // Check configured public URLs
-        if (publicUrlPatterns != null) {
-            for (String pattern : publicUrlPatterns) {
-                if (Pattern.matches(pattern, url)) {
-                    return true;
-                }
-            }
-        }
-
-        // Check default public URLs
-        for (String pattern : DEFAULT_PUBLIC_URLS) {
-            if (Pattern.matches(pattern, url)) {
-                return true;
-            }
-        }
-
-        return false;
+        return publicUrlMatcher.matches(url);
     }
 
     /**
@@ -78,7 +58,7 @@ public class UrlValidationService {
             }
             
             // Check for version format
-            if (!parts[4].matches("v\\d+")) {
+            if (!VERSION_SEGMENT.matcher(parts[4]).matches()) {
                 return false;
             }
             
@@ -154,6 +134,6 @@ public class UrlValidationService {
      */
     public boolean urlContainsId(String url) {
         String[] parts = url.split("/");
-        return parts.length >= 6 && parts[5].matches("\\d+");
+        return parts.length >= 6 && ID_SEGMENT.matcher(parts[5]).matches();
     }
 }
@@ -4,15 +4,18 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ocoelhogabriel.manager_user_security.application.event.AuthorizationChangedEvent;
 import com.ocoelhogabriel.manager_user_security.domain.entity.Role;
 import com.ocoelhogabriel.manager_user_security.domain.entity.User;
 import com.ocoelhogabriel.manager_user_security.domain.exception.DomainException;
 import com.ocoelhogabriel.manager_user_security.domain.repository.UserRepository;
 import com.ocoelhogabriel.manager_user_security.domain.service.UserService;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt.RefreshTokenStore;
 
 /**
  * Implementation of the UserService.
@@ -25,6 +28,12 @@ public class UserServiceImpl implements UserService {
     
     @Autowired
     private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
     
     @Override
     @Transactional
@@ -78,19 +87,40 @@ public class UserServiceImpl implements UserService {
             throw new DomainException("User not found");
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.user(savedUser.getId(), savedUser.getUsername()));
+        return savedUser;
     }
 
     @Override
     @Transactional
     public User updatePassword(User user, String newPassword) {
+        User savedUser = storePassword(user, newPassword);
+        // Sessions started with the old password must not outlive it
+        refreshTokenStore.revokeAll(savedUser.getId());
+        eventPublisher.publishEvent(AuthorizationChangedEvent.user(savedUser.getId(), savedUser.getUsername()));
+        return savedUser;
+    }
+
+    @Override
+    @Transactional
+    public boolean rehashPassword(Long userId, String username, String verifiedHash, String rawPassword) {
+        String hashedPassword = passwordEncoder.encode(rawPassword);
+        if (!userRepository.replacePasswordHash(userId, verifiedHash, hashedPassword)) {
+            return false;
+        }
+        eventPublisher.publishEvent(AuthorizationChangedEvent.credentials(userId, username));
+        return true;
+    }
+
+    private User storePassword(User user, String password) {
         // Check if user exists
         if (!userRepository.existsById(user.getId())) {
             throw new DomainException("User not found");
         }
         
-        // Hash the new password
-        String hashedPassword = passwordEncoder.encode(newPassword);
+        // Hash the password
+        String hashedPassword = passwordEncoder.encode(password);
         user.setPasswordHash(hashedPassword);
         
         return userRepository.save(user);
@@ -106,7 +136,9 @@ public class UserServiceImpl implements UserService {
         
         user.addRole(role);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.user(savedUser.getId(), savedUser.getUsername()));
+        return savedUser;
     }
 
     @Override
@@ -119,7 +151,9 @@ public class UserServiceImpl implements UserService {
         
         user.removeRole(role);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.user(savedUser.getId(), savedUser.getUsername()));
+        return savedUser;
     }
 
     @Override
@@ -132,7 +166,9 @@ public class UserServiceImpl implements UserService {
         
         user.setActive(false);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.user(savedUser.getId(), savedUser.getUsername()));
+        return savedUser;
     }
 
     @Override
@@ -145,18 +181,20 @@ public class UserServiceImpl implements UserService {
         
         user.setActive(true);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.user(savedUser.getId(), savedUser.getUsername()));
+        return savedUser;
     }
 
     @Override
     @Transactional
     public void deleteUser(Long id) {
         // Check if user exists
-        if (!userRepository.existsById(id)) {
-            throw new DomainException("User not found");
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new DomainException("User not found"));
         
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.user(id, user.getUsername()));
     }
 
     @Override
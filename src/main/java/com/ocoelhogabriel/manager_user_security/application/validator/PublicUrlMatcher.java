@@ -0,0 +1,121 @@
+package com.ocoelhogabriel.manager_user_security.application.validator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.util.PathPrefixTrie;
+
+/**
+ * Decides whether a path is public, compiled once at startup from every public URL source.
+ * <p>
+ * Literal paths, literal prefixes (regexes of the form {@code /literal.*}) and the Ant-style patterns of
+ * {@code api.security.public-urls} are merged into one {@link PathPrefixTrie}. Only the remaining real regexes
+ * are joined into a single alternation, so most paths are answered by one walk over the trie.
+ */
+@Component
+public class PublicUrlMatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicUrlMatcher.class);
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String ANY_SUFFIX = ".*";
+
+    /**
+     * Public URL regexes that apply regardless of configuration.
+     */
+    static final List<String> DEFAULT_PUBLIC_URLS = List.of(
+        "/api/auth/v1/.*",
+        "/api/health/.*",
+        "/api/device/v1/keep-alive/.*",
+        "/api/device/v1/auth-validate",
+        "/api/device/v1/auth",
+        "/v2/api-docs.*",
+        "/v3/api-docs.*",
+        "/swagger-resources.*",
+        "/configuration/.*",
+        "/swagger-ui.*",
+        "/webjars/.*"
+    );
+
+    private final PathPrefixTrie literals;
+    private final Pattern regex;
+
+    /**
+     * Constructor for PublicUrlMatcher.
+     *
+     * @param publicUrlPatterns the Ant-style public URL patterns shared with the authentication filter
+     * @param legacyPublicUrls public URLs matched both as a regex and as a raw prefix
+     */
+    public PublicUrlMatcher(
+            @Value("${api.security.public-urls:}") String[] publicUrlPatterns,
+            @Value("${security.public-urls:}") String[] legacyPublicUrls) {
+        PathPrefixTrie.Builder trie = PathPrefixTrie.builder();
+        List<String> regexes = new ArrayList<>();
+        for (String pattern : publicUrlPatterns) {
+            trie.add(pattern);
+        }
+        for (String pattern : DEFAULT_PUBLIC_URLS) {
+            addRegex(pattern, trie, regexes);
+        }
+        for (String pattern : legacyPublicUrls) {
+            if (pattern != null && !pattern.isBlank()) {
+                trie.addPrefix(pattern.trim());
+                addRegex(pattern.trim(), trie, regexes);
+            }
+        }
+        this.literals = trie.build();
+        this.regex = regexes.isEmpty() ? null : Pattern.compile(String.join("|", regexes));
+    }
+
+    /**
+     * Checks whether a path is public.
+     *
+     * @param path the request path
+     * @return true if the path does not require authentication
+     */
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        return literals.matches(path) || (regex != null && regex.matcher(path).matches());
+    }
+
+    /**
+     * Routes a regex to the trie when it is a literal or a literal prefix, otherwise to the alternation.
+     * Invalid regexes are logged and skipped instead of failing on every request.
+     */
+    private static void addRegex(String pattern, PathPrefixTrie.Builder trie, List<String> regexes) {
+        if (isLiteral(pattern)) {
+            trie.add(pattern);
+            return;
+        }
+        if (pattern.endsWith(ANY_SUFFIX)) {
+            String prefix = pattern.substring(0, pattern.length() - ANY_SUFFIX.length());
+            if (isLiteral(prefix)) {
+                trie.addPrefix(prefix);
+                return;
+            }
+        }
+        try {
+            Pattern.compile(pattern);
+            regexes.add("(?:" + pattern + ")");
+        } catch (PatternSyntaxException e) {
+            logger.warn("Ignoring invalid public URL pattern {}: {}", pattern, e.getDescription());
+        }
+    }
+
+    private static boolean isLiteral(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (REGEX_METACHARACTERS.indexOf(pattern.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
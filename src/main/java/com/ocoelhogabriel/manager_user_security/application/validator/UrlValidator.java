@@ -17,13 +17,22 @@ public class UrlValidator {
 
     private static final Logger logger = LoggerFactory.getLogger(UrlValidator.class);
     
-    @Value("${security.public-urls:}")
-    private List<String> publicUrls;
+    private final PublicUrlMatcher publicUrlMatcher;
     
     @Value("${security.api-base-pattern:/api}")
     private String apiBasePattern;
     
     private static final List<String> VALID_METHODS = Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH");
+    private static final Pattern VERSION_SEGMENT = Pattern.compile("v\\d+");
+    
+    /**
+     * Constructor for UrlValidator.
+     *
+     * @param publicUrlMatcher the shared public URL matcher
+     */
+    public UrlValidator(PublicUrlMatcher publicUrlMatcher) {
+        this.publicUrlMatcher = publicUrlMatcher;
+    }
     
     /**
      * Checks if a URL is public (doesn't require authentication).
@@ -32,18 +41,7 @@ public class UrlValidator {
      * @return true if the URL is public, false otherwise
      */
     public boolean isPublicUrl(String url) {
-        if (url == null) {
-            return false;
-        }
-        
-        // Check if URL is in the public URLs list
-        for (String pattern : publicUrls) {
-            if (url.matches(pattern) || url.startsWith(pattern)) {
-                return true;
-            }
-        }
-        
-        return false;
+        return publicUrlMatcher.matches(url);
     }
     
     /**
@@ -95,7 +93,7 @@ public class UrlValidator {
         // Find the resource segment (usually the second one after the version)
         if (segments.length > 2) {
             // Check if second segment is a version number (v1, v2, etc.)
-            if (Pattern.matches("v\\d+", segments[1])) {
+            if (VERSION_SEGMENT.matcher(segments[1]).matches()) {
                 return segments.length > 2 ? segments[2] : null;
             } else {
                 return segments[1];
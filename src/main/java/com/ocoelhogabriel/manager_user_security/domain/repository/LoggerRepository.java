@@ -1,11 +1,13 @@
 package com.ocoelhogabriel.manager_user_security.domain.repository;
 
 import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LogCursor;
 import com.ocoelhogabriel.manager_user_security.domain.valueobject.LoggerType;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for Logger domain entity.
@@ -68,6 +70,13 @@ public interface LoggerRepository {
      */
     void deleteById(Long id);
     
+    /**
+     * Delete a logger entry
+     *
+     * @param logger The logger entry to delete, with its ID and timestamp
+     */
+    void delete(Logger logger);
+    
     /**
      * Find latest logger entries limited by count
      *
@@ -75,4 +84,52 @@ public interface LoggerRepository {
      * @return A list of the latest logger entries
      */
     List<Logger> findLatestLogs(int limit);
+    
+    /**
+     * Insert logger entries in bulk, without returning their generated IDs
+     *
+     * @param loggers The logger entries to insert
+     */
+    void insertAll(List<Logger> loggers);
+    
+    /**
+     * Find the logger entries of a serial number that follow the cursor, newest first
+     *
+     * @param serialNumber The serial number
+     * @param after The position the page starts after
+     * @param limit Maximum number of entries to return
+     * @return The logger entries of the page
+     */
+    List<Logger> findPageBySerialNumber(String serialNumber, LogCursor after, int limit);
+    
+    /**
+     * Find the logger entries of a type that follow the cursor, newest first
+     *
+     * @param type The logger type
+     * @param after The position the page starts after
+     * @param limit Maximum number of entries to return
+     * @return The logger entries of the page
+     */
+    List<Logger> findPageByType(LoggerType type, LogCursor after, int limit);
+    
+    /**
+     * Find the logger entries within a time range that follow the cursor, newest first
+     *
+     * @param startTime The start time (inclusive)
+     * @param endTime The end time (inclusive)
+     * @param after The position the page starts after
+     * @param limit Maximum number of entries to return
+     * @return The logger entries of the page
+     */
+    List<Logger> findPageByTimestampBetween(LocalDateTime startTime, LocalDateTime endTime, LogCursor after, int limit);
+    
+    /**
+     * Pass every logger entry within a time range to an action, oldest first, without holding
+     * the result in memory. Must be called inside a transaction.
+     *
+     * @param startTime The start time (inclusive)
+     * @param endTime The end time (inclusive)
+     * @param action The action applied to each entry
+     */
+    void forEachByTimestampBetween(LocalDateTime startTime, LocalDateTime endTime, Consumer<Logger> action);
 }
@@ -63,4 +63,13 @@ public interface PermissionRepository extends Repository<Permission, Long> {
      * @return a list of permissions matching the criteria
      */
     List<Permission> findByRoleIdsAndResourceId(List<Long> roleIds, Long resourceId);
+
+    /**
+     * Finds, in a single query, the permissions of any of the roles on any of the resources.
+     *
+     * @param roleIds     the list of role IDs
+     * @param resourceIds the list of resource IDs
+     * @return a list of permissions matching the criteria
+     */
+    List<Permission> findByRoleIdsAndResourceIds(List<Long> roleIds, List<Long> resourceIds);
 }
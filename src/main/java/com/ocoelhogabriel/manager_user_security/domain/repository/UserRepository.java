@@ -42,4 +42,23 @@ public interface UserRepository extends Repository<User, Long> {
     boolean existsByEmail(String email);
 
     Optional<User> findByIdWithRoles(Long userId);
+
+    /**
+     * Finds a user by username with only the data needed for authentication:
+     * credentials, active flag, role names and each role's resource/action pairs.
+     *
+     * @param username the username to search for
+     * @return an Optional containing the user if found, empty otherwise
+     */
+    Optional<User> findForAuthentication(String username);
+
+    /**
+     * Replaces a user's password hash only if it still equals the expected hash.
+     *
+     * @param userId the id of the user
+     * @param expectedHash the hash the caller last saw
+     * @param newHash the replacement hash
+     * @return true if the hash was replaced, false if the user is gone or the hash changed in between
+     */
+    boolean replacePasswordHash(Long userId, String expectedHash, String newHash);
 }
@@ -1,6 +1,9 @@
 package com.ocoelhogabriel.manager_user_security.domain.service;
 
+import java.util.List;
+
 import com.ocoelhogabriel.manager_user_security.interfaces.dto.AuthenticationResponse;
+import com.ocoelhogabriel.manager_user_security.interfaces.dto.TokenIntrospectionResponse;
 import com.ocoelhogabriel.manager_user_security.interfaces.dto.TokenValidationResponse;
 
 public interface AuthenticationService {
@@ -9,9 +12,13 @@ public interface AuthenticationService {
 
     TokenValidationResponse validateToken(String token);
 
+    List<TokenIntrospectionResponse> introspect(List<String> tokens);
+
     AuthenticationResponse refreshToken(String token);
 
     Object getCurrentUser();
     
     void invalidateToken(String token);
+
+    void logout(String accessToken, String refreshToken);
 }
@@ -1,6 +1,8 @@
 package com.ocoelhogabriel.manager_user_security.domain.service;
 
 import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LogCursor;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LogPage;
 import com.ocoelhogabriel.manager_user_security.domain.valueobject.LoggerType;
 
 import java.time.LocalDateTime;
@@ -20,6 +22,14 @@ public interface LoggerService {
      */
     Logger logEntry(Logger logger);
     
+    /**
+     * Accept a new entry for asynchronous, batched persistence
+     *
+     * @param logger The logger entry to store
+     * @throws com.ocoelhogabriel.manager_user_security.application.exception.ServiceUnavailableException if no more entries can be accepted right now
+     */
+    void submitEntry(Logger logger);
+    
     /**
      * Find a logger entry by its ID
      *
@@ -60,6 +70,45 @@ public interface LoggerService {
      */
     List<Logger> findByTimeRange(LocalDateTime startTime, LocalDateTime endTime);
     
+    /**
+     * Find one page of logger entries by serial number, newest first
+     *
+     * @param serialNumber The serial number
+     * @param after The position the page starts after
+     * @param limit The requested page size, capped at the configured maximum
+     * @return The page of logger entries
+     */
+    LogPage findPageBySerialNumber(String serialNumber, LogCursor after, int limit);
+    
+    /**
+     * Find one page of logger entries by type, newest first
+     *
+     * @param type The logger type
+     * @param after The position the page starts after
+     * @param limit The requested page size, capped at the configured maximum
+     * @return The page of logger entries
+     */
+    LogPage findPageByType(LoggerType type, LogCursor after, int limit);
+    
+    /**
+     * Find one page of logger entries by time range, newest first
+     *
+     * @param startTime The start time (inclusive)
+     * @param endTime The end time (inclusive)
+     * @param after The position the page starts after
+     * @param limit The requested page size, capped at the configured maximum
+     * @return The page of logger entries
+     */
+    LogPage findPageByTimeRange(LocalDateTime startTime, LocalDateTime endTime, LogCursor after, int limit);
+    
+    /**
+     * Find the latest logger entries
+     *
+     * @param limit The requested number of entries, capped at the configured maximum page size
+     * @return The latest logger entries, newest first
+     */
+    List<Logger> findLatestLogs(int limit);
+    
     /**
      * Delete a logger entry by its ID
      *
@@ -70,6 +70,20 @@ public interface UserService {
      * @return the updated user
      */
     User updatePassword(User user, String newPassword);
+
+    /**
+     * Re-encodes a user's unchanged password with the current password encoder settings.
+     * Unlike {@link #updatePassword(User, String)} this does not invalidate the user's tokens.
+     * The new hash is stored only if the verified hash is still the stored one, so a password
+     * changed in the meantime is never overwritten.
+     *
+     * @param userId the id of the user
+     * @param username the username of the user, used to evict its cached details
+     * @param verifiedHash the stored hash the raw password was verified against
+     * @param rawPassword the user's current password, already verified
+     * @return true if the hash was replaced
+     */
+    boolean rehashPassword(Long userId, String username, String verifiedHash, String rawPassword);
     
     /**
      * Assigns a role to a user.
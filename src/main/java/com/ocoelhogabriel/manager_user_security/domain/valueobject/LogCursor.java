@@ -0,0 +1,59 @@
+package com.ocoelhogabriel.manager_user_security.domain.valueobject;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.ocoelhogabriel.manager_user_security.domain.exception.DomainException;
+
+/**
+ * Position in a list of log entries ordered by timestamp and id, both descending.
+ * A page continues with the entries strictly after the cursor in that order.
+ *
+ * @param timestamp the timestamp of the last entry of the previous page
+ * @param id the id of the last entry of the previous page
+ */
+public record LogCursor(LocalDateTime timestamp, long id) {
+
+    /**
+     * Cursor positioned before the newest possible entry, used for the first page.
+     */
+    public static final LogCursor START = new LogCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encodes the cursor as an opaque, URL-safe token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String raw = timestamp.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the token, or null for the first page
+     * @return the cursor, {@link #START} when no token is given
+     * @throws DomainException if the token is malformed
+     */
+    public static LogCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new DomainException("Invalid cursor");
+            }
+            return new LogCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new DomainException("Invalid cursor");
+        }
+    }
+}
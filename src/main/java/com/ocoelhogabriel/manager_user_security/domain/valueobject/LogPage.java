@@ -0,0 +1,31 @@
+package com.ocoelhogabriel.manager_user_security.domain.valueobject;
+
+import java.util.List;
+
+import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+
+/**
+ * One page of log entries, newest first.
+ *
+ * @param items the entries of the page
+ * @param next the cursor of the following page, or null when this is the last page
+ */
+public record LogPage(List<Logger> items, LogCursor next) {
+
+    /**
+     * Builds a page from a result fetched with one entry more than the page size,
+     * the extra entry only signalling that another page exists.
+     *
+     * @param fetched the fetched entries, at most {@code limit + 1}
+     * @param limit the page size
+     * @return the page
+     */
+    public static LogPage of(List<Logger> fetched, int limit) {
+        if (fetched.size() <= limit) {
+            return new LogPage(fetched, null);
+        }
+        List<Logger> items = fetched.subList(0, limit);
+        Logger last = items.get(limit - 1);
+        return new LogPage(items, new LogCursor(last.getTimestamp(), last.getId()));
+    }
+}
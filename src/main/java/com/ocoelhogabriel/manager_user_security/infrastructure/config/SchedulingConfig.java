@@ -0,0 +1,12 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled housekeeping tasks such as purging expired token revocations.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,37 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.HandlerAuthorizationInterceptor;
+
+/**
+ * Registers the URL-based authorization stage, when enabled, as a handler interceptor.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final HandlerAuthorizationInterceptor handlerAuthorizationInterceptor;
+    private final boolean urlAuthorizationEnabled;
+
+    /**
+     * Constructor for WebMvcConfig.
+     *
+     * @param handlerAuthorizationInterceptor the authorization interceptor
+     * @param urlAuthorizationEnabled whether the URL-based authorization stage runs
+     */
+    public WebMvcConfig(HandlerAuthorizationInterceptor handlerAuthorizationInterceptor,
+            @Value("${api.security.url-authorization.enabled:false}") boolean urlAuthorizationEnabled) {
+        this.handlerAuthorizationInterceptor = handlerAuthorizationInterceptor;
+        this.urlAuthorizationEnabled = urlAuthorizationEnabled;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (urlAuthorizationEnabled) {
+            registry.addInterceptor(handlerAuthorizationInterceptor);
+        }
+    }
+}
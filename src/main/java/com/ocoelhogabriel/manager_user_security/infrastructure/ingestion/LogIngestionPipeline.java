@@ -0,0 +1,246 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.ingestion;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ocoelhogabriel.manager_user_security.application.exception.ServiceUnavailableException;
+import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+import com.ocoelhogabriel.manager_user_security.domain.repository.LoggerRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Asynchronous, batched persistence of device log entries.
+ * <p>
+ * Accepted entries wait in a bounded array-backed ring buffer. A single writer thread drains it into
+ * multi-row inserts, flushing when a batch is full or when the oldest entry of the batch has waited for
+ * the flush interval. A failed write is retried with exponential backoff before its entries are counted
+ * as failed, so a short database outage or failover does not lose accepted entries. When the buffer is
+ * full new entries are rejected, so callers get backpressure instead of unbounded memory growth. On
+ * shutdown no new entries are accepted and the writer drains what is left before the data source closes;
+ * accepting and closing exclude each other, so no entry is accepted after the writer's final drain.
+ * <p>
+ * Published meters: {@code logs.ingestion.queue} (buffer depth), {@code logs.ingestion.flush} (flush latency)
+ * and {@code logs.ingestion.entries} by outcome.
+ */
+@Component
+public class LogIngestionPipeline {
+
+    private static final org.slf4j.Logger log = LoggerFactory.getLogger(LogIngestionPipeline.class);
+    private static final String ENTRIES_COUNTER = "logs.ingestion.entries";
+
+    private final LoggerRepository loggerRepository;
+    private final BlockingQueue<Logger> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Duration shutdownTimeout;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    // Submitters share the read lock; closing takes the write lock, so it waits for in-flight offers
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter written;
+    private final Counter failed;
+    private final Timer flushTimer;
+    private final Thread writer;
+
+    private volatile boolean running;
+
+    /**
+     * Constructor for LogIngestionPipeline.
+     *
+     * @param loggerRepository the repository entries are written to
+     * @param bufferCapacity the number of entries that may wait to be written
+     * @param batchSize the maximum number of entries written in one flush
+     * @param flushInterval the longest an entry waits for its batch to fill up
+     * @param shutdownTimeout how long shutdown waits for the buffer to drain
+     * @param maxAttempts how many times a batch is written before its entries are counted as failed
+     * @param retryBackoff the wait before the first retry, doubled for every further retry
+     * @param meterRegistry the registry the pipeline meters are published to
+     */
+    public LogIngestionPipeline(
+            LoggerRepository loggerRepository,
+            @Value("${api.logs.ingestion.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${api.logs.ingestion.batch-size:500}") int batchSize,
+            @Value("${api.logs.ingestion.flush-interval:PT0.2S}") Duration flushInterval,
+            @Value("${api.logs.ingestion.shutdown-timeout:PT10S}") Duration shutdownTimeout,
+            @Value("${api.logs.ingestion.retry.max-attempts:3}") int maxAttempts,
+            @Value("${api.logs.ingestion.retry.backoff:PT0.1S}") Duration retryBackoff,
+            MeterRegistry meterRegistry) {
+        this.loggerRepository = loggerRepository;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoff.toMillis();
+        this.accepted = entriesCounter(meterRegistry, "accepted");
+        this.rejected = entriesCounter(meterRegistry, "rejected");
+        this.written = entriesCounter(meterRegistry, "written");
+        this.failed = entriesCounter(meterRegistry, "failed");
+        this.flushTimer = Timer.builder("logs.ingestion.flush")
+                .description("Time spent writing one batch of log entries")
+                .register(meterRegistry);
+        Gauge.builder("logs.ingestion.queue", buffer, BlockingQueue::size)
+                .description("Log entries waiting to be written")
+                .register(meterRegistry);
+        this.writer = new Thread(this::drainLoop, "log-ingestion-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    @PostConstruct
+    void start() {
+        running = true;
+        writer.start();
+    }
+
+    /**
+     * Stops accepting entries and waits for the writer to flush the remaining ones.
+     */
+    @PreDestroy
+    void stop() {
+        Lock closing = stateLock.writeLock();
+        closing.lock();
+        try {
+            running = false;
+        } finally {
+            closing.unlock();
+        }
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.warn("Log ingestion did not drain within {}, {} entries were not written", shutdownTimeout, buffer.size());
+        }
+    }
+
+    /**
+     * Accepts a validated entry for asynchronous persistence.
+     *
+     * @param entry the log entry
+     * @throws ServiceUnavailableException if the buffer is full or the application is shutting down
+     */
+    public void submit(Logger entry) {
+        boolean offered;
+        Lock submitting = stateLock.readLock();
+        submitting.lock();
+        try {
+            offered = running && buffer.offer(entry);
+        } finally {
+            submitting.unlock();
+        }
+        if (!offered) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Log ingestion is saturated, please retry shortly");
+        }
+        accepted.increment();
+    }
+
+    private void drainLoop() {
+        List<Logger> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !buffer.isEmpty()) {
+                Logger first = buffer.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch, System.nanoTime() + flushIntervalNanos);
+                flush(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            flush(batch);
+        }
+    }
+
+    /**
+     * Adds entries to the batch until it is full, the deadline passes or shutdown begins.
+     */
+    private void fill(List<Logger> batch, long deadline) throws InterruptedException {
+        while (batch.size() < batchSize) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            Logger next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Writes the batch, retrying failed writes with exponential backoff. The entries are counted as failed
+     * only once every attempt has failed, or when the writer is interrupted while waiting to retry.
+     */
+    private void flush(List<Logger> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            long backoff = retryBackoffMillis;
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    loggerRepository.insertAll(batch);
+                    written.increment(batch.size());
+                    return;
+                } catch (RuntimeException e) {
+                    if (attempt >= maxAttempts || Thread.currentThread().isInterrupted()) {
+                        failed.increment(batch.size());
+                        log.error("Could not write {} log entries after {} attempts: {}", batch.size(), attempt,
+                                e.getMessage());
+                        return;
+                    }
+                    log.warn("Could not write {} log entries, retrying in {} ms: {}", batch.size(), backoff,
+                            e.getMessage());
+                }
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failed.increment(batch.size());
+                    log.error("Interrupted before retrying, {} log entries were not written", batch.size());
+                    return;
+                }
+                backoff *= 2;
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batch.clear();
+        }
+    }
+
+    private static Counter entriesCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(ENTRIES_COUNTER)
+                .description("Log entries handled by the ingestion pipeline")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -2,25 +2,47 @@ package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.adap
 
 import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
 import com.ocoelhogabriel.manager_user_security.domain.repository.LoggerRepository;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LogCursor;
 import com.ocoelhogabriel.manager_user_security.domain.valueobject.LoggerType;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.LoggerEntity;
 import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.LoggerJpaRepository;
 import com.ocoelhogabriel.manager_user_security.interfaces.mapper.LoggerMapper;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component("loggerRepositoryAdapter")
 public class LoggerRepositoryAdapter implements LoggerRepository {
 
+    private static final String INSERT_PREFIX = "INSERT INTO logger (timestamp, serial_number, type, message) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?)";
+    // Four bind parameters per row, well below the PostgreSQL limit of 65535 per statement
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    private static final String FULL_INSERT = insertStatement(MAX_ROWS_PER_STATEMENT);
+
     private final LoggerJpaRepository loggerJpaRepository;
     private final LoggerMapper loggerMapper;
+    private final JdbcTemplate jdbcTemplate;
 
-    public LoggerRepositoryAdapter(LoggerJpaRepository loggerJpaRepository, LoggerMapper loggerMapper) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public LoggerRepositoryAdapter(LoggerJpaRepository loggerJpaRepository, LoggerMapper loggerMapper,
+            JdbcTemplate jdbcTemplate) {
         this.loggerJpaRepository = loggerJpaRepository;
         this.loggerMapper = loggerMapper;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -68,10 +90,89 @@ public class LoggerRepositoryAdapter implements LoggerRepository {
         loggerJpaRepository.deleteById(id);
     }
 
+    @Override
+    public void delete(Logger logger) {
+        loggerJpaRepository.deleteByIdAndTimestamp(logger.getId(), logger.getTimestamp());
+    }
+
     @Override
     public List<Logger> findLatestLogs(int limit) {
         return loggerJpaRepository.findAllByOrderByTimestampDesc(PageRequest.of(0, limit)).stream()
                 .map(loggerMapper::toDomain)
                 .toList();
     }
+
+    @Override
+    public List<Logger> findPageBySerialNumber(String serialNumber, LogCursor after, int limit) {
+        return loggerJpaRepository.findPageBySerialNumber(serialNumber, after.timestamp(), after.id(),
+                PageRequest.of(0, limit)).stream()
+                .map(loggerMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Logger> findPageByType(LoggerType type, LogCursor after, int limit) {
+        return loggerJpaRepository.findPageByType(type, after.timestamp(), after.id(),
+                PageRequest.of(0, limit)).stream()
+                .map(loggerMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Logger> findPageByTimestampBetween(LocalDateTime startTime, LocalDateTime endTime, LogCursor after,
+            int limit) {
+        return loggerJpaRepository.findPageByTimestampBetween(startTime, endTime, after.timestamp(), after.id(),
+                PageRequest.of(0, limit)).stream()
+                .map(loggerMapper::toDomain)
+                .toList();
+    }
+
+    /**
+     * Streams the entries through a forward-only cursor and detaches each entity once it has been
+     * handed to the action, so the persistence context stays empty however many rows are read.
+     */
+    @Override
+    public void forEachByTimestampBetween(LocalDateTime startTime, LocalDateTime endTime, Consumer<Logger> action) {
+        try (Stream<LoggerEntity> entities = loggerJpaRepository.streamByTimestampBetween(startTime, endTime)) {
+            entities.forEach(entity -> {
+                action.accept(loggerMapper.toDomain(entity));
+                entityManager.detach(entity);
+            });
+        }
+    }
+
+    /**
+     * Inserts the entries with multi-row INSERT statements of up to {@value #MAX_ROWS_PER_STATEMENT} rows,
+     * bypassing the persistence context and the per-row IDENTITY round trip of {@link #save(Logger)}.
+     */
+    @Override
+    public void insertAll(List<Logger> loggers) {
+        for (int from = 0; from < loggers.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Logger> chunk = loggers.subList(from, Math.min(loggers.size(), from + MAX_ROWS_PER_STATEMENT));
+            String sql = chunk.size() == MAX_ROWS_PER_STATEMENT ? FULL_INSERT : insertStatement(chunk.size());
+            jdbcTemplate.update(sql, statement -> bindRows(statement, chunk));
+        }
+    }
+
+    private static void bindRows(PreparedStatement statement, List<Logger> rows) throws SQLException {
+        int index = 1;
+        for (Logger row : rows) {
+            statement.setObject(index++, row.getTimestamp());
+            statement.setString(index++, row.getSerialNumber());
+            statement.setString(index++, row.getType().name());
+            statement.setString(index++, row.getMessage());
+        }
+    }
+
+    private static String insertStatement(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
 }
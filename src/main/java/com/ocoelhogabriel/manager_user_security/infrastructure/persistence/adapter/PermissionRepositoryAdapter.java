@@ -14,6 +14,7 @@ import com.ocoelhogabriel.manager_user_security.interfaces.mapper.PermissionMapp
 import com.ocoelhogabriel.manager_user_security.interfaces.mapper.RoleMapper;
 import com.ocoelhogabriel.manager_user_security.interfaces.mapper.ResourceMapper;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -37,6 +38,7 @@ public class PermissionRepositoryAdapter implements PermissionRepository {
     }
 
     @Override
+    @Transactional
     public Permission save(Permission permission) {
         ResourceEntity resourceEntity = resourceJpaRepository.findByName(permission.getResource())
                 .orElseThrow(() -> new DomainException("Cannot save permission: Resource not found: " + permission.getResource()));
@@ -49,11 +51,13 @@ public class PermissionRepositoryAdapter implements PermissionRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Permission> findById(Long id) {
         return permissionJpaRepository.findById(id).map(permissionMapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Permission> findAll() {
         return permissionJpaRepository.findAll().stream()
                 .map(permissionMapper::toDomain)
@@ -61,6 +65,7 @@ public class PermissionRepositoryAdapter implements PermissionRepository {
     }
 
     @Override
+    @Transactional
     public void delete(Permission permission) {
         if (permission != null && permission.getId() != null) {
             permissionJpaRepository.deleteById(permission.getId());
@@ -68,11 +73,13 @@ public class PermissionRepositoryAdapter implements PermissionRepository {
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
         permissionJpaRepository.deleteById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Permission> findByRoleId(Long roleId) {
         return permissionJpaRepository.findByRoleId(roleId).stream()
                 .map(permissionMapper::toDomain)
@@ -80,6 +87,7 @@ public class PermissionRepositoryAdapter implements PermissionRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Permission> findByRoleIdsAndResourceId(List<Long> roleIds, Long resourceId) {
         return permissionJpaRepository.findByRoleIdInAndResourceId(roleIds, resourceId).stream()
                 .map(permissionMapper::toDomain)
@@ -87,6 +95,18 @@ public class PermissionRepositoryAdapter implements PermissionRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Permission> findByRoleIdsAndResourceIds(List<Long> roleIds, List<Long> resourceIds) {
+        if (roleIds.isEmpty() || resourceIds.isEmpty()) {
+            return List.of();
+        }
+        return permissionJpaRepository.findByRoleIdInAndResourceIdIn(roleIds, resourceIds).stream()
+                .map(permissionMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Permission> findByRoleAndResource(Role role, Resource resource) {
         RoleEntity roleEntity = roleMapper.toPersistenceEntity(role);
         ResourceEntity resourceEntity = resourceMapper.toPersistenceEntity(resource);
@@ -100,6 +120,7 @@ public class PermissionRepositoryAdapter implements PermissionRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Permission> findByResource(String resource) {
         return permissionJpaRepository.findByResourceName(resource).stream()
                 .map(permissionMapper::toDomain)
@@ -107,6 +128,7 @@ public class PermissionRepositoryAdapter implements PermissionRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Permission> findByResourceAndAction(String resource, String action) {
         return permissionJpaRepository.findByResourceNameAndAction(resource, action)
                 .map(permissionMapper::toDomain);
@@ -5,6 +5,7 @@ import com.ocoelhogabriel.manager_user_security.domain.repository.RoleRepository
 import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.RoleJpaRepository;
 import com.ocoelhogabriel.manager_user_security.interfaces.mapper.RoleMapper;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +24,7 @@ public class RoleRepositoryAdapter implements RoleRepository {
     }
 
     @Override
+    @Transactional
     public Role save(Role role) {
         var entity = roleMapper.toPersistenceEntity(role);
         var savedEntity = roleJpaRepository.save(entity);
@@ -30,16 +32,19 @@ public class RoleRepositoryAdapter implements RoleRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Role> findById(Long id) {
         return roleJpaRepository.findById(id).map(roleMapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Role> findByName(String name) {
         return roleJpaRepository.findByName(name).map(roleMapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Role> findAll() {
         return roleJpaRepository.findAll().stream()
                 .map(roleMapper::toDomain)
@@ -47,11 +52,13 @@ public class RoleRepositoryAdapter implements RoleRepository {
     }
 
     @Override
+    @Transactional
     public void delete(Role role) {
         roleJpaRepository.delete(roleMapper.toPersistenceEntity(role));
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
         roleJpaRepository.deleteById(id);
     }
@@ -67,6 +74,7 @@ public class RoleRepositoryAdapter implements RoleRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Role> findByActive(boolean active) {
         return roleJpaRepository.findByActive(active).stream()
                 .map(roleMapper::toDomain)
@@ -74,6 +82,7 @@ public class RoleRepositoryAdapter implements RoleRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Set<Role> findByUserId(Long userId) {
         return roleJpaRepository.findByUsersId(userId).stream()
                 .map(roleMapper::toDomain)
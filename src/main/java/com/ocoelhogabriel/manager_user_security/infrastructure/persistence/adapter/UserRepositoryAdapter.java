@@ -1,18 +1,27 @@
 package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.adapter;
 
+import com.ocoelhogabriel.manager_user_security.domain.entity.Permission;
+import com.ocoelhogabriel.manager_user_security.domain.entity.Role;
 import com.ocoelhogabriel.manager_user_security.domain.entity.User;
 import com.ocoelhogabriel.manager_user_security.domain.repository.UserRepository;
 import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.UserEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.projection.AuthenticationGrantView;
 import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.UserJpaRepository;
 import com.ocoelhogabriel.manager_user_security.interfaces.mapper.UserMapper;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Adapter implementation of UserRepository.
  * Bridges between domain repository and JPA repository.
+ * Associations are lazy, so every method maps entities inside a transaction.
  */
 @Component
 public class UserRepositoryAdapter implements UserRepository {
@@ -32,6 +41,7 @@ public class UserRepositoryAdapter implements UserRepository {
     }
 
     @Override
+    @Transactional
     public User save(User user) {
         UserEntity userEntity = userMapper.toPersistenceEntity(user);
         UserEntity savedEntity = userJpaRepository.save(userEntity);
@@ -39,12 +49,14 @@ public class UserRepositoryAdapter implements UserRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userJpaRepository.findById(id)
                 .map(userMapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         return userJpaRepository.findAll().stream()
                 .map(userMapper::toDomain)
@@ -52,28 +64,38 @@ public class UserRepositoryAdapter implements UserRepository {
     }
 
     @Override
+    @Transactional
     public void delete(User user) {
         UserEntity userEntity = userMapper.toPersistenceEntity(user);
         userJpaRepository.delete(userEntity);
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
         userJpaRepository.deleteById(id);
     }
 
+    @Override
+    @Transactional
+    public boolean replacePasswordHash(Long userId, String expectedHash, String newHash) {
+        return userJpaRepository.replacePasswordHash(userId, expectedHash, newHash) == 1;
+    }
+
     @Override
     public boolean existsById(Long id) {
         return userJpaRepository.existsById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
         return userJpaRepository.findByUsername(username)
                 .map(userMapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userJpaRepository.findByEmail(email)
                 .map(userMapper::toDomain);
@@ -90,8 +112,44 @@ public class UserRepositoryAdapter implements UserRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByIdWithRoles(Long userId) {
         return userJpaRepository.findByIdWithRoles(userId)
                 .map(userMapper::toDomain);
     }
+
+    /**
+     * Assembles the user, its roles and their permissions from the rows of a single joined query.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findForAuthentication(String username) {
+        List<AuthenticationGrantView> rows = userJpaRepository.findAuthenticationGraph(username);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        AuthenticationGrantView first = rows.get(0);
+        User user = new User(first.userId(), first.username(), null, first.password(), first.active());
+
+        Map<Long, Role> roles = new LinkedHashMap<>();
+        Map<Long, Set<Permission>> permissionsByRole = new LinkedHashMap<>();
+        for (AuthenticationGrantView row : rows) {
+            if (row.roleId() == null) {
+                continue;
+            }
+            roles.computeIfAbsent(row.roleId(), id -> new Role(id, row.roleName(), row.roleDescription()));
+            Set<Permission> permissions = permissionsByRole.computeIfAbsent(row.roleId(), id -> new HashSet<>());
+            if (row.permissionId() != null) {
+                Permission permission = new Permission();
+                permission.setId(row.permissionId());
+                permission.setResource(row.resourceName());
+                permission.setActions(row.action() == null || row.action().isBlank() ? Set.of() : Set.of(row.action()));
+                permissions.add(permission);
+            }
+        }
+        roles.forEach((id, role) -> role.setPermissions(permissionsByRole.get(id)));
+        user.setRoles(new HashSet<>(roles.values()));
+        return Optional.of(user);
+    }
 }
@@ -0,0 +1,74 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * JPA entity recording the latest authority change of a scope.
+ * The row of the global scope counts role, permission and resource changes; the row of a user records
+ * when that user last changed. Every instance reads this table, so a change made through one instance
+ * invalidates derived state on all of them.
+ */
+@Entity
+@Table(name = "authority_changes")
+public class AuthorityChangeEntity {
+
+    @Id
+    @Column(name = "scope", nullable = false, length = 64)
+    private String scope;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    // Default constructor required by JPA
+    public AuthorityChangeEntity() {
+    }
+
+    public AuthorityChangeEntity(String scope, long version, Instant changedAt) {
+        this.scope = scope;
+        this.version = version;
+        this.changedAt = changedAt;
+    }
+
+    // Getters and setters
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AuthorityChangeEntity that = (AuthorityChangeEntity) o;
+        return Objects.equals(scope, that.scope);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(scope);
+    }
+}
@@ -8,7 +8,11 @@ import java.util.Objects;
  * JPA entity for Logger.
  */
 @Entity
-@Table(name = "logger")
+@Table(name = "logger", indexes = {
+        @Index(name = "idx_logger_serial_number_timestamp", columnList = "serial_number, timestamp, id"),
+        @Index(name = "idx_logger_type_timestamp", columnList = "type, timestamp, id"),
+        @Index(name = "idx_logger_timestamp", columnList = "timestamp, id")
+})
 public class LoggerEntity {
     
     @Id
@@ -0,0 +1,75 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * JPA entity for a revoked access token.
+ * Only the token key (its jti or digest) is stored, never the raw token.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
+})
+public class RevokedTokenEntity {
+
+    @Id
+    @Column(name = "token_key", nullable = false, length = 64)
+    private String tokenKey;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    // Default constructor required by JPA
+    public RevokedTokenEntity() {
+    }
+
+    public RevokedTokenEntity(String tokenKey, Instant expiresAt, Instant revokedAt) {
+        this.tokenKey = tokenKey;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    // Getters and setters
+    public String getTokenKey() {
+        return tokenKey;
+    }
+
+    public void setTokenKey(String tokenKey) {
+        this.tokenKey = tokenKey;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(Instant revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RevokedTokenEntity that = (RevokedTokenEntity) o;
+        return Objects.equals(tokenKey, that.tokenKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tokenKey);
+    }
+}
@@ -0,0 +1,113 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * JPA entity for a JWT signing key pair.
+ * Keys are shared through this table so every instance signs and verifies with the same key ring.
+ * The public key is stored Base64 encoded as X.509; the private key as PKCS#8, either Base64 encoded or,
+ * when a key-encryption key is configured, AES-GCM encrypted with an {@code aesgcm:} prefix.
+ */
+@Entity
+@Table(name = "jwt_signing_keys", indexes = {
+        @Index(name = "idx_jwt_signing_keys_expires_at", columnList = "expires_at")
+})
+public class SigningKeyEntity {
+
+    @Id
+    @Column(name = "kid", nullable = false, length = 36)
+    private String kid;
+
+    @Column(name = "algorithm", nullable = false, length = 10)
+    private String algorithm;
+
+    @Column(name = "public_key", nullable = false, columnDefinition = "TEXT")
+    private String publicKey;
+
+    @Column(name = "private_key", nullable = false, columnDefinition = "TEXT")
+    private String privateKey;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Default constructor required by JPA
+    public SigningKeyEntity() {
+    }
+
+    public SigningKeyEntity(String kid, String algorithm, String publicKey, String privateKey,
+            Instant createdAt, Instant expiresAt) {
+        this.kid = kid;
+        this.algorithm = algorithm;
+        this.publicKey = publicKey;
+        this.privateKey = privateKey;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and setters
+    public String getKid() {
+        return kid;
+    }
+
+    public void setKid(String kid) {
+        this.kid = kid;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public String getPublicKey() {
+        return publicKey;
+    }
+
+    public void setPublicKey(String publicKey) {
+        this.publicKey = publicKey;
+    }
+
+    public String getPrivateKey() {
+        return privateKey;
+    }
+
+    public void setPrivateKey(String privateKey) {
+        this.privateKey = privateKey;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SigningKeyEntity that = (SigningKeyEntity) o;
+        return Objects.equals(kid, that.kid);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kid);
+    }
+}
@@ -0,0 +1,279 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.partition;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps the {@code logger} table range-partitioned by month on {@code timestamp}.
+ * <p>
+ * On startup a plain {@code logger} table, as created by the schema update, is converted: an empty table is
+ * recreated as a partitioned one, a populated table is attached whole as the {@code logger_legacy}
+ * partition covering everything up to the month after its newest entry. Afterwards, and on every check,
+ * monthly partitions are created ahead of time and partitions that fall entirely before the retention
+ * window are detached and dropped, so retention never runs row-level deletes. Entries outside every
+ * monthly partition land in {@code logger_default} and are never dropped automatically.
+ * <p>
+ * Every change runs in its own transaction under a PostgreSQL advisory lock, so several instances can run
+ * the maintenance concurrently.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "api.logs.partitioning.enabled", havingValue = "true")
+public class LoggerPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggerPartitionManager.class);
+
+    private static final String TABLE = "logger";
+    private static final String LEGACY_PARTITION = "logger_legacy";
+    private static final String DEFAULT_PARTITION = "logger_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'p'yyyy_MM");
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // Arbitrary application-wide key; only serialises the maintenance of this table
+    private static final long ADVISORY_LOCK_KEY = 0x6c6f67676572L;
+    private static final Pattern RANGE_BOUND =
+            Pattern.compile("FOR VALUES FROM \\((MINVALUE|'([^']*)')\\) TO \\((MAXVALUE|'([^']*)')\\)");
+
+    private static final String CREATE_PARTITIONED_TABLE = """
+            CREATE TABLE logger (
+                id bigserial NOT NULL,
+                "timestamp" timestamp(6) NOT NULL,
+                serial_number varchar(255) NOT NULL,
+                type varchar(255) NOT NULL,
+                message varchar(1000) NOT NULL,
+                PRIMARY KEY (id, "timestamp")
+            ) PARTITION BY RANGE ("timestamp")""";
+    // Same names and columns as the indexes declared on LoggerEntity
+    private static final String[] CREATE_INDEXES = {
+            "CREATE INDEX IF NOT EXISTS idx_logger_serial_number_timestamp ON logger (serial_number, \"timestamp\", id)",
+            "CREATE INDEX IF NOT EXISTS idx_logger_type_timestamp ON logger (type, \"timestamp\", id)",
+            "CREATE INDEX IF NOT EXISTS idx_logger_timestamp ON logger (\"timestamp\", id)"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    /**
+     * Constructor for LoggerPartitionManager.
+     *
+     * @param jdbcTemplate the template the DDL statements are run with
+     * @param transactionManager the transaction manager of the data source
+     * @param monthsAhead the number of monthly partitions kept ready after the current month
+     * @param retentionMonths the number of past months kept besides the current one; 0 keeps everything
+     */
+    @Autowired
+    public LoggerPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${api.logs.partitioning.months-ahead:3}") int monthsAhead,
+            @Value("${api.logs.partitioning.retention-months:0}") int retentionMonths) {
+        this(jdbcTemplate, transactionManager, monthsAhead, retentionMonths, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor for LoggerPartitionManager with the clock the current month is read from.
+     *
+     * @param jdbcTemplate the template the DDL statements are run with
+     * @param transactionManager the transaction manager of the data source
+     * @param monthsAhead the number of monthly partitions kept ready after the current month
+     * @param retentionMonths the number of past months kept besides the current one; 0 keeps everything
+     * @param clock the clock the current month is read from
+     */
+    LoggerPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            int monthsAhead, int retentionMonths, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @PostConstruct
+    void initialize() {
+        inTransaction(this::ensurePartitionedTable);
+        maintain();
+    }
+
+    /**
+     * Creates the upcoming monthly partitions and drops the ones past the retention window.
+     */
+    @Scheduled(fixedDelayString = "${api.logs.partitioning.check-interval:PT6H}",
+            initialDelayString = "${api.logs.partitioning.check-interval:PT6H}")
+    public void maintain() {
+        try {
+            createUpcomingPartitions();
+            if (retentionMonths > 0) {
+                dropExpiredPartitions();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not maintain the {} partitions: {}", TABLE, e.getMessage());
+        }
+    }
+
+    private void ensurePartitionedTable() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT (SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?))", String.class, TABLE);
+        if ("p".equals(kind)) {
+            return;
+        }
+        if (kind == null) {
+            createPartitionedTable();
+            log.info("Created partitioned table {}", TABLE);
+            return;
+        }
+        Boolean populated = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM logger)", Boolean.class);
+        if (!Boolean.TRUE.equals(populated)) {
+            jdbcTemplate.execute("DROP TABLE logger");
+            createPartitionedTable();
+            log.info("Recreated empty table {} as a partitioned table", TABLE);
+            return;
+        }
+        convertLegacyTable();
+    }
+
+    private void createPartitionedTable() {
+        jdbcTemplate.execute(CREATE_PARTITIONED_TABLE);
+        for (String index : CREATE_INDEXES) {
+            jdbcTemplate.execute(index);
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF logger DEFAULT");
+    }
+
+    /**
+     * Attaches the existing rows as one partition. Attaching validates the partition bound and builds the
+     * new primary key on the old rows, a one-off scan of the table; no rows are copied.
+     */
+    private void convertLegacyTable() {
+        jdbcTemplate.execute("LOCK TABLE logger IN ACCESS EXCLUSIVE MODE");
+        LocalDateTime newest = jdbcTemplate.queryForObject("SELECT max(\"timestamp\") FROM logger",
+                LocalDateTime.class);
+        Long lastId = jdbcTemplate.queryForObject("SELECT max(id) FROM logger", Long.class);
+        YearMonth upper = YearMonth.from(newest).plusMonths(1);
+
+        jdbcTemplate.execute("ALTER TABLE logger RENAME TO " + LEGACY_PARTITION);
+        for (String primaryKey : jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'p'",
+                String.class, LEGACY_PARTITION)) {
+            jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " DROP CONSTRAINT " + primaryKey);
+        }
+        // The identity sequence is dropped with it; the parent gets a new one continuing after the last id
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " ALTER COLUMN id DROP DEFAULT");
+        for (String index : List.of("idx_logger_serial_number_timestamp", "idx_logger_type_timestamp",
+                "idx_logger_timestamp")) {
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS " + index + " RENAME TO "
+                    + index.replace("idx_logger_", "idx_" + LEGACY_PARTITION + "_"));
+        }
+
+        createPartitionedTable();
+        jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('logger', 'id'), ?)", Long.class,
+                lastId);
+        jdbcTemplate.execute("ALTER TABLE logger ATTACH PARTITION " + LEGACY_PARTITION
+                + " FOR VALUES FROM (MINVALUE) TO ('" + upper.atDay(1).atStartOfDay().format(BOUND) + "')");
+        log.info("Converted table {} to a partitioned table; existing rows are kept in partition {} up to {}",
+                TABLE, LEGACY_PARTITION, upper);
+    }
+
+    private void createUpcomingPartitions() {
+        List<Partition> partitions = inTransaction(this::partitions);
+        YearMonth current = YearMonth.now(clock);
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            LocalDateTime from = month.atDay(1).atStartOfDay();
+            LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+            if (partitions.stream().anyMatch(partition -> partition.overlaps(from, to))) {
+                continue;
+            }
+            String name = TABLE + "_" + month.format(PARTITION_SUFFIX);
+            try {
+                inTransaction(() -> jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name
+                        + " PARTITION OF logger FOR VALUES FROM ('" + from.format(BOUND) + "') TO ('"
+                        + to.format(BOUND) + "')"));
+                log.info("Created partition {} for {}", name, month);
+            } catch (DataAccessException e) {
+                // Typically rows for this month already sit in the default partition
+                log.warn("Could not create partition {}: {}", name, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void dropExpiredPartitions() {
+        LocalDateTime cutoff = YearMonth.now(clock).minusMonths(retentionMonths).atDay(1).atStartOfDay();
+        for (Partition partition : inTransaction(this::partitions)) {
+            if (partition.to() == null || partition.to().isAfter(cutoff)) {
+                continue;
+            }
+            inTransaction(() -> {
+                jdbcTemplate.execute("ALTER TABLE logger DETACH PARTITION " + partition.name());
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+            });
+            log.info("Dropped partition {} holding entries before {}", partition.name(), partition.to());
+        }
+    }
+
+    /**
+     * Lists the range partitions of the table; the default partition is left out.
+     */
+    private List<Partition> partitions() {
+        List<Partition> partitions = new ArrayList<>();
+        jdbcTemplate.query("SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i"
+                + " JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)", rs -> {
+                    Matcher matcher = RANGE_BOUND.matcher(rs.getString(2));
+                    if (matcher.find()) {
+                        partitions.add(new Partition(rs.getString(1), bound(matcher.group(2)),
+                                bound(matcher.group(4))));
+                    }
+                }, TABLE);
+        return partitions;
+    }
+
+    private static LocalDateTime bound(String value) {
+        return value == null ? null : LocalDateTime.parse(value.replace(' ', 'T'));
+    }
+
+    private void inTransaction(Runnable action) {
+        inTransaction(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)::text", String.class, ADVISORY_LOCK_KEY);
+            return action.get();
+        });
+    }
+
+    /**
+     * A range partition; a null bound stands for MINVALUE or MAXVALUE.
+     */
+    private record Partition(String name, LocalDateTime from, LocalDateTime to) {
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            return (from == null || from.isBefore(end)) && (to == null || to.isAfter(start));
+        }
+    }
+}
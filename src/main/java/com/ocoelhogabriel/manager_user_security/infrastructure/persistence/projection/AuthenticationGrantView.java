@@ -0,0 +1,31 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.projection;
+
+/**
+ * Flat read model of a user joined to its roles, their permissions and the permission resources.
+ * One row is returned per user/role/permission combination; role and permission columns are
+ * null when the user has no roles or the role has no permissions.
+ * Used to load everything authentication needs in a single query.
+ *
+ * @param userId the user id
+ * @param username the username
+ * @param password the password hash
+ * @param active whether the account is active
+ * @param roleId the role id, may be null
+ * @param roleName the role name, may be null
+ * @param roleDescription the role description, may be null
+ * @param permissionId the permission id, may be null
+ * @param resourceName the resource name of the permission, may be null
+ * @param action the action string of the permission, may be null
+ */
+public record AuthenticationGrantView(
+        Long userId,
+        String username,
+        String password,
+        boolean active,
+        Long roleId,
+        String roleName,
+        String roleDescription,
+        Long permissionId,
+        String resourceName,
+        String action) {
+}
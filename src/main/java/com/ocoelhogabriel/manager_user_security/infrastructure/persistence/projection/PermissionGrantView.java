@@ -0,0 +1,27 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.projection;
+
+/**
+ * Flat read model of a permission row joined to its role and resource.
+ * Used to load every grant in a single query.
+ *
+ * @param roleId the role id
+ * @param roleName the role name
+ * @param resourceId the resource id
+ * @param resourceName the resource name
+ * @param action the action string of the permission
+ * @param canRead whether the permission grants read
+ * @param canCreate whether the permission grants create
+ * @param canEdit whether the permission grants edit
+ * @param canDelete whether the permission grants delete
+ */
+public record PermissionGrantView(
+        Long roleId,
+        String roleName,
+        Long resourceId,
+        String resourceName,
+        String action,
+        boolean canRead,
+        boolean canCreate,
+        boolean canEdit,
+        boolean canDelete) {
+}
@@ -0,0 +1,44 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.AuthorityChangeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * JPA repository for AuthorityChangeEntity.
+ */
+@Repository
+public interface AuthorityChangeJpaRepository extends JpaRepository<AuthorityChangeEntity, String> {
+
+    /**
+     * Increment the version of a scope and stamp its change time, creating the row on first use.
+     * The single upsert statement keeps concurrent increments from different instances from being lost.
+     *
+     * @param scope The scope that changed
+     * @param now The change instant
+     * @return The number of written rows
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "INSERT INTO authority_changes (scope, version, changed_at) VALUES (:scope, 1, :now)"
+            + " ON CONFLICT (scope) DO UPDATE SET version = authority_changes.version + 1, changed_at = EXCLUDED.changed_at")
+    int increment(@Param("scope") String scope, @Param("now") Instant now);
+
+    /**
+     * Delete the rows of scopes with a prefix that last changed before a cutoff
+     *
+     * @param prefix The scope prefix
+     * @param cutoff The oldest change still kept
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AuthorityChangeEntity c WHERE c.scope LIKE CONCAT(:prefix, '%') AND c.changedAt < :cutoff")
+    int deleteChangedBefore(@Param("prefix") String prefix, @Param("cutoff") Instant cutoff);
+}
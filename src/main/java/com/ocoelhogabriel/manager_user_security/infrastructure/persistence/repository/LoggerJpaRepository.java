@@ -4,10 +4,21 @@ import com.ocoelhogabriel.manager_user_security.domain.valueobject.LoggerType;
 import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.LoggerEntity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * JPA repository for LoggerEntity.
@@ -15,6 +26,12 @@ import java.util.List;
 @Repository
 public interface LoggerJpaRepository extends JpaRepository<LoggerEntity, Long> {
 
+    /**
+     * Rows the JDBC driver fetches per round trip when streaming; PostgreSQL only uses a server-side
+     * cursor, and so honours this value, inside a transaction.
+     */
+    String STREAM_FETCH_SIZE = "1000";
+
     /**
      * Find all logger entries by type
      *
@@ -54,4 +71,81 @@ public interface LoggerJpaRepository extends JpaRepository<LoggerEntity, Long> {
      * @return A list of the latest 100 log entries
      */
     List<LoggerEntity> findTop100ByOrderByTimestampDesc();
+
+    /**
+     * Find the logger entries of a serial number that follow the cursor, newest first
+     *
+     * @param serialNumber The serial number to search for
+     * @param afterTimestamp The timestamp of the position the page starts after
+     * @param afterId The id of the position the page starts after
+     * @param pageable The page size; the page number must be 0
+     * @return The logger entries of the page
+     */
+    @Query("SELECT l FROM LoggerEntity l WHERE l.serialNumber = :serialNumber"
+            + " AND (l.timestamp < :afterTimestamp OR (l.timestamp = :afterTimestamp AND l.id < :afterId))"
+            + " ORDER BY l.timestamp DESC, l.id DESC")
+    List<LoggerEntity> findPageBySerialNumber(@Param("serialNumber") String serialNumber,
+            @Param("afterTimestamp") LocalDateTime afterTimestamp, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Find the logger entries of a type that follow the cursor, newest first
+     *
+     * @param type The logger type to search for
+     * @param afterTimestamp The timestamp of the position the page starts after
+     * @param afterId The id of the position the page starts after
+     * @param pageable The page size; the page number must be 0
+     * @return The logger entries of the page
+     */
+    @Query("SELECT l FROM LoggerEntity l WHERE l.type = :type"
+            + " AND (l.timestamp < :afterTimestamp OR (l.timestamp = :afterTimestamp AND l.id < :afterId))"
+            + " ORDER BY l.timestamp DESC, l.id DESC")
+    List<LoggerEntity> findPageByType(@Param("type") LoggerType type,
+            @Param("afterTimestamp") LocalDateTime afterTimestamp, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Find the logger entries within a time range that follow the cursor, newest first
+     *
+     * @param startTime The start time (inclusive)
+     * @param endTime The end time (inclusive)
+     * @param afterTimestamp The timestamp of the position the page starts after
+     * @param afterId The id of the position the page starts after
+     * @param pageable The page size; the page number must be 0
+     * @return The logger entries of the page
+     */
+    @Query("SELECT l FROM LoggerEntity l WHERE l.timestamp BETWEEN :startTime AND :endTime"
+            + " AND (l.timestamp < :afterTimestamp OR (l.timestamp = :afterTimestamp AND l.id < :afterId))"
+            + " ORDER BY l.timestamp DESC, l.id DESC")
+    List<LoggerEntity> findPageByTimestampBetween(@Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime, @Param("afterTimestamp") LocalDateTime afterTimestamp,
+            @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Delete a logger entry by its ID and timestamp; the timestamp lets the database touch only the
+     * partition holding the entry
+     *
+     * @param id The logger ID
+     * @param timestamp The timestamp of the entry
+     * @return The number of deleted entries
+     */
+    @Modifying
+    @Query("DELETE FROM LoggerEntity l WHERE l.id = :id AND l.timestamp = :timestamp")
+    int deleteByIdAndTimestamp(@Param("id") Long id, @Param("timestamp") LocalDateTime timestamp);
+
+    /**
+     * Stream the logger entries within a time range, oldest first. The stream is forward-only and
+     * must be consumed and closed inside a transaction; entities are loaded read-only.
+     *
+     * @param startTime The start time (inclusive)
+     * @param endTime The end time (inclusive)
+     * @return The logger entries within the time range
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT l FROM LoggerEntity l WHERE l.timestamp BETWEEN :startTime AND :endTime"
+            + " ORDER BY l.timestamp ASC, l.id ASC")
+    Stream<LoggerEntity> streamByTimestampBetween(@Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
 }
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.PermissionEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.projection.PermissionGrantView;
 
 /**
  * Repository for managing Permission entities.
@@ -78,7 +79,7 @@ public interface PermissionJpaRepository extends JpaRepository<PermissionEntity,
      */
     List<PermissionEntity> findByRoleIdInAndResourceId(List<Long> roleIds, Long resourceId);
 
-    Optional<PermissionEntity> findByRoleIdInAndResourceIdIn(List<Long> roleIds, List<Long> resourceIds);
+    List<PermissionEntity> findByRoleIdInAndResourceIdIn(List<Long> roleIds, List<Long> resourceIds);
 
     /**
      * Find permissions by multiple role IDs and resource ID.
@@ -90,4 +91,14 @@ public interface PermissionJpaRepository extends JpaRepository<PermissionEntity,
      * Find permissions where canRead is true.
      */
     List<PermissionEntity> findByCanReadTrue();
+
+    /**
+     * Loads every permission grant, joined to its role and resource, in a single statement.
+     *
+     * @return all permission grants that are bound to a role
+     */
+    @Query("SELECT new com.ocoelhogabriel.manager_user_security.infrastructure.persistence.projection.PermissionGrantView("
+            + "r.id, r.name, res.id, res.name, p.action, p.canRead, p.canCreate, p.canEdit, p.canDelete) "
+            + "FROM PermissionEntity p JOIN p.role r JOIN p.resource res")
+    List<PermissionGrantView> findAllGrants();
 }
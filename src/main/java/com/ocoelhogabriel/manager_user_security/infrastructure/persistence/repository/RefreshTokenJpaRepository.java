@@ -0,0 +1,61 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.RefreshTokenEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JPA repository for RefreshTokenEntity.
+ */
+@Repository
+public interface RefreshTokenJpaRepository extends JpaRepository<RefreshTokenEntity, String> {
+
+    /**
+     * Atomically mark a refresh token as used, if it is still unused, unrevoked and unexpired
+     *
+     * @param tokenHash The digest of the token
+     * @param now The current instant
+     * @return 1 if the token was claimed by this call, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE RefreshTokenEntity r SET r.usedAt = :now "
+            + "WHERE r.tokenHash = :tokenHash AND r.usedAt IS NULL AND r.revoked = false AND r.expiresAt > :now")
+    int markUsed(@Param("tokenHash") String tokenHash, @Param("now") Instant now);
+
+    /**
+     * Revoke every token of a family
+     *
+     * @param familyId The family id
+     * @return The number of revoked tokens
+     */
+    @Modifying
+    @Query("UPDATE RefreshTokenEntity r SET r.revoked = true WHERE r.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * Revoke every unrevoked token of a user
+     *
+     * @param userId The user id
+     * @return The number of revoked tokens
+     */
+    @Modifying
+    @Query("UPDATE RefreshTokenEntity r SET r.revoked = true WHERE r.userId = :userId AND r.revoked = false")
+    int revokeAllByUserId(@Param("userId") Long userId);
+
+    /**
+     * Find the digests of expired tokens, one page at a time
+     *
+     * @param now The current instant
+     * @param pageable The batch to load
+     * @return The digests of expired tokens
+     */
+    @Query("SELECT r.tokenHash FROM RefreshTokenEntity r WHERE r.expiresAt <= :now")
+    List<String> findExpiredTokenHashes(@Param("now") Instant now, Pageable pageable);
+}
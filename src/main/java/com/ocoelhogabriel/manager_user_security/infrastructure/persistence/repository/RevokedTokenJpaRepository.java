@@ -0,0 +1,47 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.RevokedTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JPA repository for RevokedTokenEntity.
+ */
+@Repository
+public interface RevokedTokenJpaRepository extends JpaRepository<RevokedTokenEntity, String> {
+
+    /**
+     * Find all revocations whose token has not expired yet
+     *
+     * @param now The current instant
+     * @return The revocations that are still relevant
+     */
+    List<RevokedTokenEntity> findByExpiresAtAfter(Instant now);
+
+    /**
+     * Find the revocations recorded after an instant whose token has not expired yet
+     *
+     * @param since The instant after which the revocations were recorded
+     * @param now The current instant
+     * @return The revocations recorded since that instant that are still relevant
+     */
+    List<RevokedTokenEntity> findByRevokedAtAfterAndExpiresAtAfter(Instant since, Instant now);
+
+    /**
+     * Delete, in a single statement, all revocations whose token has expired
+     *
+     * @param now The current instant
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedTokenEntity r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,38 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.SigningKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JPA repository for SigningKeyEntity.
+ */
+@Repository
+public interface SigningKeyJpaRepository extends JpaRepository<SigningKeyEntity, String> {
+
+    /**
+     * Find all keys that can still verify tokens, newest first
+     *
+     * @param now The current instant
+     * @return The live keys
+     */
+    List<SigningKeyEntity> findByExpiresAtAfterOrderByCreatedAtDesc(Instant now);
+
+    /**
+     * Delete all keys that can no longer have live tokens
+     *
+     * @param now The current instant
+     * @return The number of deleted keys
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SigningKeyEntity k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -1,13 +1,16 @@
 package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.UserEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.projection.AuthenticationGrantView;
 
 /**
  * JPA repository for UserEntity.
@@ -55,4 +58,29 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, Long> {
      */
     @Query("SELECT u FROM UserEntity u LEFT JOIN FETCH u.roles WHERE u.id = :id")
     Optional<UserEntity> findByIdWithRoles(@Param("id") Long id);
+
+    /**
+     * Loads a user together with its role names and resource/action pairs in a single statement.
+     * 
+     * @param username the username to search for
+     * @return one row per user/role/permission combination, empty if the user does not exist
+     */
+    @Query("SELECT new com.ocoelhogabriel.manager_user_security.infrastructure.persistence.projection.AuthenticationGrantView("
+            + "u.id, u.username, u.password, u.active, r.id, r.name, r.description, p.id, res.name, p.action) "
+            + "FROM UserEntity u LEFT JOIN u.roles r LEFT JOIN r.permissions p LEFT JOIN p.resource res "
+            + "WHERE u.username = :username")
+    List<AuthenticationGrantView> findAuthenticationGraph(@Param("username") String username);
+
+    /**
+     * Replaces the password hash of a user, but only if it still equals the expected hash.
+     * 
+     * @param id the user ID
+     * @param expectedHash the hash that must currently be stored
+     * @param newHash the replacement hash
+     * @return the number of updated rows, 0 if the stored hash changed in between
+     */
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.password = :newHash WHERE u.id = :id AND u.password = :expectedHash")
+    int replacePasswordHash(@Param("id") Long id, @Param("expectedHash") String expectedHash,
+            @Param("newHash") String newHash);
 }
@@ -2,16 +2,20 @@ package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repo
 
 import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
 import com.ocoelhogabriel.manager_user_security.domain.repository.LoggerRepository;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LogCursor;
 import com.ocoelhogabriel.manager_user_security.domain.valueobject.LoggerType;
 import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.LoggerEntity;
 import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.LoggerJpaRepository;
 import com.ocoelhogabriel.manager_user_security.interfaces.mapper.LoggerMapper;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the LoggerRepository interface using JPA.
@@ -62,8 +66,44 @@ public record LoggerRepositoryImpl(
         loggerJpaRepository.deleteById(id);
     }
 
+    @Override
+    public void delete(Logger logger) {
+        loggerJpaRepository.deleteByIdAndTimestamp(logger.getId(), logger.getTimestamp());
+    }
+
     @Override
     public List<Logger> findLatestLogs(int limit) {
         return loggerJpaRepository.findTop100ByOrderByTimestampDesc().stream().limit(limit).map(loggerMapper::toDomain).collect(Collectors.toList());
     }
+
+    @Override
+    public List<Logger> findPageBySerialNumber(String serialNumber, LogCursor after, int limit) {
+        return loggerJpaRepository.findPageBySerialNumber(serialNumber, after.timestamp(), after.id(),
+                PageRequest.of(0, limit)).stream().map(loggerMapper::toDomain).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Logger> findPageByType(LoggerType type, LogCursor after, int limit) {
+        return loggerJpaRepository.findPageByType(type, after.timestamp(), after.id(),
+                PageRequest.of(0, limit)).stream().map(loggerMapper::toDomain).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Logger> findPageByTimestampBetween(LocalDateTime startTime, LocalDateTime endTime, LogCursor after,
+            int limit) {
+        return loggerJpaRepository.findPageByTimestampBetween(startTime, endTime, after.timestamp(), after.id(),
+                PageRequest.of(0, limit)).stream().map(loggerMapper::toDomain).collect(Collectors.toList());
+    }
+
+    @Override
+    public void forEachByTimestampBetween(LocalDateTime startTime, LocalDateTime endTime, Consumer<Logger> action) {
+        try (Stream<LoggerEntity> entities = loggerJpaRepository.streamByTimestampBetween(startTime, endTime)) {
+            entities.map(loggerMapper::toDomain).forEach(action);
+        }
+    }
+
+    @Override
+    public void insertAll(List<Logger> loggers) {
+        loggerJpaRepository.saveAll(loggers.stream().map(loggerMapper::toPersistenceEntity).collect(Collectors.toList()));
+    }
 }
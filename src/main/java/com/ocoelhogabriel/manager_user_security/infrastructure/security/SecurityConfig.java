@@ -2,12 +2,17 @@ package com.ocoelhogabriel.manager_user_security.infrastructure.security;
 
 import com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt.JwtAuthenticationFilter;
 import com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt.JwtManager;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.password.AdaptiveBCryptPasswordEncoder;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.password.BCryptStrengthCalibrator;
 import com.ocoelhogabriel.manager_user_security.infrastructure.security.service.UserDetailsServiceImpl;
 import com.ocoelhogabriel.manager_user_security.infrastructure.security.util.SecurityConstants;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeIn;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,7 +23,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -26,6 +30,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -45,18 +50,24 @@ import java.util.List;
 )
 public class SecurityConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtManager jwtManager;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Constructor for SecurityConfig.
      *
      * @param userDetailsService the user details service
      * @param jwtManager the JWT manager
+     * @param meterRegistry the meter registry for the filter stage timers
      */
-    public SecurityConfig(UserDetailsServiceImpl userDetailsService, JwtManager jwtManager) {
+    public SecurityConfig(UserDetailsServiceImpl userDetailsService, JwtManager jwtManager,
+            MeterRegistry meterRegistry) {
         this.userDetailsService = userDetailsService;
         this.jwtManager = jwtManager;
+        this.meterRegistry = meterRegistry;
     }
 
     @Value("${api.security.public-urls}")
@@ -87,7 +98,7 @@ public class SecurityConfig {
                             response.getWriter().write("{\"error\": \"Access denied\"}");
                         }))
                 .authorizeHttpRequests(authorize -> authorize
-                        .requestMatchers(publicUrls).permitAll()
+                        .requestMatchers(SecurityConstants.publicPaths(publicUrls)).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
@@ -101,17 +112,26 @@ public class SecurityConfig {
      */
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtManager);
+        return new JwtAuthenticationFilter(jwtManager, meterRegistry, SecurityConstants.publicPaths(publicUrls));
     }
 
     /**
      * Creates a password encoder.
+     * The BCrypt strength is pinned so every instance produces hashes of the same cost; with a strength
+     * of 0 the cost is instead calibrated at startup so that a single hash takes at most the target
+     * latency on this machine.
      *
+     * @param strength the fixed BCrypt strength, 0 to calibrate
+     * @param targetHashLatency the target time for a single hash when calibrating
      * @return the password encoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${api.security.password.bcrypt.strength:12}") int strength,
+            @Value("${api.security.password.target-hash-latency:PT0.25S}") Duration targetHashLatency) {
+        int effectiveStrength = strength > 0 ? strength : BCryptStrengthCalibrator.calibrate(targetHashLatency);
+        logger.info("Using BCrypt strength {} for password hashing", effectiveStrength);
+        return new AdaptiveBCryptPasswordEncoder(effectiveStrength);
     }
 
     /**
@@ -0,0 +1,149 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Hashed index over a user's authorities, built once when the user is loaded.
+ * <p>
+ * {@code ROLE_x} authorities become a role set and {@code resource:ACTION} authorities become a
+ * resource to {@link PermissionBits} map, so role and permission checks are O(1) hash probes with no
+ * string concatenation. Actions that map to no bit are kept per resource and matched exactly.
+ */
+public final class AuthorityIndex {
+
+    public static final AuthorityIndex EMPTY = new AuthorityIndex(Set.of(), Map.of(), Map.of());
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final Set<String> roles;
+    private final Map<String, Integer> resourceBits;
+    private final Map<String, Set<String>> otherActions;
+
+    private AuthorityIndex(Set<String> roles, Map<String, Integer> resourceBits, Map<String, Set<String>> otherActions) {
+        this.roles = roles;
+        this.resourceBits = resourceBits;
+        this.otherActions = otherActions;
+    }
+
+    /**
+     * Builds the index from granted authorities.
+     *
+     * @param authorities the granted authorities
+     * @return the index
+     */
+    public static AuthorityIndex from(Collection<? extends GrantedAuthority> authorities) {
+        if (authorities == null || authorities.isEmpty()) {
+            return EMPTY;
+        }
+        Set<String> roles = new HashSet<>();
+        Map<String, Integer> resourceBits = new HashMap<>();
+        Map<String, Set<String>> otherActions = new HashMap<>();
+        for (GrantedAuthority grantedAuthority : authorities) {
+            String authority = grantedAuthority.getAuthority();
+            if (authority == null) {
+                continue;
+            }
+            if (authority.startsWith(ROLE_PREFIX)) {
+                roles.add(authority.substring(ROLE_PREFIX.length()));
+                continue;
+            }
+            int separator = authority.lastIndexOf(':');
+            if (separator <= 0 || separator == authority.length() - 1) {
+                continue;
+            }
+            String resource = authority.substring(0, separator);
+            String action = authority.substring(separator + 1);
+            int bit = PermissionBits.of(action);
+            if (bit != PermissionBits.NONE) {
+                resourceBits.merge(resource, bit, (a, b) -> a | b);
+            } else {
+                otherActions.computeIfAbsent(resource, key -> new HashSet<>()).add(action);
+            }
+        }
+        otherActions.replaceAll((resource, actions) -> Set.copyOf(actions));
+        return new AuthorityIndex(Set.copyOf(roles), Map.copyOf(resourceBits), Map.copyOf(otherActions));
+    }
+
+    /**
+     * Returns the index of an authentication: the one it carries when it was built by this
+     * application, otherwise one built from its authorities.
+     *
+     * @param authentication the authentication
+     * @return the index, never null
+     */
+    public static AuthorityIndex of(Authentication authentication) {
+        if (authentication == null) {
+            return EMPTY;
+        }
+        if (authentication instanceof IndexedAuthorities indexed) {
+            return indexed.getAuthorityIndex();
+        }
+        if (authentication.getPrincipal() instanceof IndexedAuthorities indexed) {
+            return indexed.getAuthorityIndex();
+        }
+        return from(authentication.getAuthorities());
+    }
+
+    /**
+     * Checks whether the user has a role.
+     *
+     * @param role the role name, without the {@code ROLE_} prefix
+     * @return true if the user has the role
+     */
+    public boolean hasRole(String role) {
+        return role != null && roles.contains(role);
+    }
+
+    /**
+     * Checks whether the user may perform an action on a resource.
+     *
+     * @param resource the resource name
+     * @param action the action name
+     * @return true if the action is granted
+     */
+    public boolean hasPermission(String resource, String action) {
+        if (resource == null || action == null) {
+            return false;
+        }
+        int bit = PermissionBits.of(action);
+        if (bit != PermissionBits.NONE) {
+            Integer granted = resourceBits.get(resource);
+            return granted != null && (granted & bit) != 0;
+        }
+        Set<String> actions = otherActions.get(resource);
+        return actions != null && actions.contains(action);
+    }
+
+    /**
+     * Gets the role names, without the {@code ROLE_} prefix.
+     *
+     * @return the immutable set of role names
+     */
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    /**
+     * Gets the granted {@link PermissionBits} per resource name.
+     *
+     * @return the immutable map of resource names to permission bits
+     */
+    public Map<String, Integer> getResourceBits() {
+        return resourceBits;
+    }
+
+    /**
+     * Implemented by authentications and principals that carry a prebuilt {@link AuthorityIndex}.
+     */
+    public interface IndexedAuthorities {
+
+        AuthorityIndex getAuthorityIndex();
+    }
+}
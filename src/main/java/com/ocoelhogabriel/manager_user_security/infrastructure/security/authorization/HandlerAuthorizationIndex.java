@@ -0,0 +1,255 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.util.PathPrefixTrie;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.util.SecurityConstants;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Permission requirements of every application controller method, resolved once at startup.
+ * <p>
+ * Each {@code @RequestMapping} of the {@code interfaces.controllers} package is classified from its path
+ * patterns exactly as {@link UrlClassifier} classifies a request URL. A mapping only gets a fixed
+ * requirement when every URL it can match leads to the same decision; otherwise, e.g. when a path variable
+ * may hold either an id or an action, it is indexed as {@link HandlerRequirement#PER_URL} and the request
+ * URL is classified at request time, as before this index existed.
+ * <p>
+ * The results are stored in an identity map keyed by the handler's {@link Method}, which Spring shares
+ * between the per-request copies of a {@link HandlerMethod}, so a lookup is a single identity hash probe.
+ * Mappings on public paths get no requirement.
+ */
+@Component
+public class HandlerAuthorizationIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(HandlerAuthorizationIndex.class);
+
+    private static final String CONTROLLER_PACKAGE = "com.ocoelhogabriel.manager_user_security.interfaces.controllers";
+    private static final Pattern PATH_VARIABLE = Pattern.compile("\\{[^/]+}");
+    // A numeric id and a non-numeric segment, which the classifier tells apart
+    private static final List<String> SAMPLE_VALUES = List.of("0", "x");
+    private static final int MAX_EXPANDED_VARIABLES = 4;
+    private static final List<RequestMethod> STANDARD_METHODS = List.of(
+            RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE);
+
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMapping;
+    private final PathPrefixTrie publicPaths;
+
+    private volatile Map<Method, HandlerRequirement> requirements;
+
+    /**
+     * Constructor for HandlerAuthorizationIndex.
+     *
+     * @param handlerMapping the MVC handler mapping, resolved lazily since it is built after this index
+     * @param publicUrls the configured public URL patterns, merged with {@link SecurityConstants#AUTH_WHITELIST}
+     */
+    public HandlerAuthorizationIndex(
+            @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMapping,
+            @Value("${api.security.public-urls:}") String[] publicUrls) {
+        this.handlerMapping = handlerMapping;
+        PathPrefixTrie.Builder builder = PathPrefixTrie.builder();
+        for (String pattern : SecurityConstants.publicPaths(publicUrls)) {
+            builder.add(pattern);
+        }
+        this.publicPaths = builder.build();
+    }
+
+    /**
+     * Resolves every controller method once all singletons, including the handler mapping, exist.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<Method, HandlerRequirement> resolved = new IdentityHashMap<>();
+        handlerMapping.getObject().getHandlerMethods().forEach((info, handlerMethod) -> {
+            if (!handlerMethod.getBeanType().getPackageName().startsWith(CONTROLLER_PACKAGE)) {
+                return;
+            }
+            HandlerRequirement requirement = resolve(info);
+            if (requirement != null) {
+                resolved.put(handlerMethod.getMethod(), requirement);
+            }
+        });
+        this.requirements = resolved;
+        log.debug("Resolved authorization requirements of {} controller methods", resolved.size());
+    }
+
+    /**
+     * Returns the requirement of a handler.
+     *
+     * @param handlerMethod the matched handler
+     * @return the requirement, or null for public endpoints and handlers outside the application controllers
+     */
+    public HandlerRequirement find(HandlerMethod handlerMethod) {
+        Map<Method, HandlerRequirement> current = requirements;
+        return current != null ? current.get(handlerMethod.getMethod()) : null;
+    }
+
+    /**
+     * Classifies the request URL, for handlers indexed as {@link HandlerRequirement#PER_URL}.
+     *
+     * @param request the request
+     * @return the requirement, or null for public paths
+     */
+    public HandlerRequirement resolve(HttpServletRequest request) {
+        if (publicPaths.matches(request.getServletPath())) {
+            return null;
+        }
+        String method = request.getMethod();
+        UrlClassification classification = UrlClassifier.classify(
+                request.getRequestURI(), request.getContextPath().length(), method);
+        if (!classification.isValid()) {
+            return HandlerRequirement.INVALID_FORMAT;
+        }
+        return new HandlerRequirement(classification.getResourceKey(), classification.isIdPresent(),
+                PermissionBits.forRequest(method, classification.isIdPresent()));
+    }
+
+    /**
+     * Classifies every path pattern of a mapping, with each path variable standing in for both a numeric
+     * id and a non-numeric segment, as far as the variable's regex admits them. Returns null when every
+     * resulting path is public, and {@link HandlerRequirement#PER_URL} unless all of them lead to the same
+     * decision for every HTTP method of the mapping. Patterns that do not follow the
+     * /api/{resource}/{version} layout are always denied, as their URLs were before.
+     */
+    HandlerRequirement resolve(RequestMappingInfo info) {
+        Set<String> patterns = info.getPatternValues();
+        if (patterns.isEmpty()) {
+            return HandlerRequirement.PER_URL;
+        }
+        Set<RequestMethod> declared = info.getMethodsCondition().getMethods();
+        Collection<RequestMethod> methods = declared.isEmpty() ? STANDARD_METHODS : declared;
+
+        HandlerRequirement resolved = null;
+        boolean first = true;
+        for (String pattern : patterns) {
+            List<String> concretePaths = concretePaths(pattern);
+            if (concretePaths.isEmpty()) {
+                log.debug("Mapping {} is authorized per request", pattern);
+                return HandlerRequirement.PER_URL;
+            }
+            for (String concretePath : concretePaths) {
+                HandlerRequirement requirement = classify(concretePath, declared);
+                if (first) {
+                    resolved = requirement;
+                    first = false;
+                } else if (!sameDecision(resolved, requirement, methods)) {
+                    log.debug("Mapping {} is ambiguous and is authorized per request", info);
+                    return HandlerRequirement.PER_URL;
+                }
+            }
+        }
+        if (resolved == HandlerRequirement.INVALID_FORMAT) {
+            log.warn("Mapping {} does not follow the /api/{resource}/{version} layout and will be denied", info);
+        }
+        return resolved;
+    }
+
+    private HandlerRequirement classify(String concretePath, Set<RequestMethod> methods) {
+        if (publicPaths.matches(concretePath)) {
+            return null;
+        }
+        String method = methods.size() == 1 ? methods.iterator().next().name() : RequestMethod.POST.name();
+        UrlClassification classification = UrlClassifier.classify(concretePath, 0, method);
+        if (!classification.isValid()) {
+            return HandlerRequirement.INVALID_FORMAT;
+        }
+        int requiredBits = methods.size() == 1
+                ? PermissionBits.forRequest(method, classification.isIdPresent())
+                : HandlerRequirement.PER_REQUEST;
+        return new HandlerRequirement(classification.getResourceKey(), classification.isIdPresent(), requiredBits);
+    }
+
+    /**
+     * Checks whether two requirements grant and deny exactly the same requests of the given methods.
+     */
+    private static boolean sameDecision(HandlerRequirement a, HandlerRequirement b, Collection<RequestMethod> methods) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (!Objects.equals(a.resourceKey(), b.resourceKey())) {
+            return false;
+        }
+        for (RequestMethod method : methods) {
+            if (a.requiredBits(method.name()) != b.requiredBits(method.name())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Expands a path pattern into the concrete paths its variables can produce from {@link #SAMPLE_VALUES}.
+     * Returns an empty list when the pattern cannot be expanded: wildcards, a variable no sample value
+     * matches, or too many variables.
+     */
+    private static List<String> concretePaths(String pattern) {
+        if (pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0) {
+            return List.of();
+        }
+        List<String> paths = new ArrayList<>(List.of(""));
+        Matcher variable = PATH_VARIABLE.matcher(pattern);
+        int literalStart = 0;
+        int variables = 0;
+        while (variable.find()) {
+            if (++variables > MAX_EXPANDED_VARIABLES) {
+                return List.of();
+            }
+            List<String> samples = samplesFor(variable.group());
+            if (samples.isEmpty()) {
+                return List.of();
+            }
+            String literal = pattern.substring(literalStart, variable.start());
+            List<String> expanded = new ArrayList<>(paths.size() * samples.size());
+            for (String path : paths) {
+                for (String sample : samples) {
+                    expanded.add(path + literal + sample);
+                }
+            }
+            paths = expanded;
+            literalStart = variable.end();
+        }
+        String tail = pattern.substring(literalStart);
+        paths.replaceAll(path -> path + tail);
+        return paths;
+    }
+
+    /**
+     * Returns the sample values a {@code {name}} or {@code {name:regex}} variable admits.
+     */
+    private static List<String> samplesFor(String variable) {
+        int colon = variable.indexOf(':');
+        if (colon < 0) {
+            return SAMPLE_VALUES;
+        }
+        Pattern regex;
+        try {
+            regex = Pattern.compile(variable.substring(colon + 1, variable.length() - 1));
+        } catch (PatternSyntaxException e) {
+            return List.of();
+        }
+        return SAMPLE_VALUES.stream().filter(sample -> regex.matcher(sample).matches()).toList();
+    }
+}
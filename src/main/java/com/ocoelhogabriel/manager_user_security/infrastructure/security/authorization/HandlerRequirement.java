@@ -0,0 +1,49 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization;
+
+/**
+ * Permission a controller method requires, resolved once from its request mapping.
+ *
+ * @param resourceKey the resource name the permission is looked up by, e.g. {@code /API/USERS},
+ *        or null for mappings outside the /api/{resource}/{version} layout
+ * @param idPresent whether the mapping addresses a single element by id
+ * @param requiredBits the {@link PermissionBits} required when the mapping declares a single HTTP method,
+ *        or {@link #PER_REQUEST} when the bits depend on the request method
+ */
+public record HandlerRequirement(String resourceKey, boolean idPresent, int requiredBits) {
+
+    /**
+     * Marker for mappings that accept several HTTP methods.
+     */
+    public static final int PER_REQUEST = -1;
+
+    /**
+     * Requirement of mappings that do not follow the /api/{resource}/{version} layout; never satisfied.
+     */
+    public static final HandlerRequirement INVALID_FORMAT = new HandlerRequirement(null, false, PermissionBits.NONE);
+
+    /**
+     * Marker for mappings whose requirement cannot be told from the mapping alone, e.g. because a path
+     * variable may hold an id or an action; the request URL is classified instead. Compared by identity,
+     * and never satisfied if it reaches the permission check.
+     */
+    public static final HandlerRequirement PER_URL = new HandlerRequirement(null, false, PER_REQUEST);
+
+    /**
+     * Checks whether the mapping follows the /api/{resource}/{version} layout.
+     *
+     * @return true if the requirement names a resource
+     */
+    public boolean isValid() {
+        return resourceKey != null;
+    }
+
+    /**
+     * Returns the bits a request on this handler requires.
+     *
+     * @param method the HTTP method of the request
+     * @return the required bits
+     */
+    public int requiredBits(String method) {
+        return requiredBits != PER_REQUEST ? requiredBits : PermissionBits.forRequest(method, idPresent);
+    }
+}
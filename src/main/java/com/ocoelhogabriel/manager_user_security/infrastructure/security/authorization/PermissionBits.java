@@ -0,0 +1,148 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compact bit encoding of the actions a permission grants on a resource.
+ * EDIT and UPDATE are synonyms and share the same bit, as in {@code SecurityPermissionMapper}.
+ */
+public final class PermissionBits {
+
+    public static final int NONE = 0;
+    public static final int READ = 1;
+    public static final int CREATE = 1 << 1;
+    public static final int EDIT = 1 << 2;
+    public static final int DELETE = 1 << 3;
+    public static final int LIST = 1 << 4;
+
+    private PermissionBits() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Returns the bit of a single action name, or {@link #NONE} for unknown actions.
+     *
+     * @param action the action name (case-insensitive)
+     * @return the action bit
+     */
+    public static int of(String action) {
+        if (action == null) {
+            return NONE;
+        }
+        return switch (action.trim().toUpperCase(Locale.ROOT)) {
+            case "READ" -> READ;
+            case "CREATE" -> CREATE;
+            case "EDIT", "UPDATE" -> EDIT;
+            case "DELETE" -> DELETE;
+            case "LIST" -> LIST;
+            default -> NONE;
+        };
+    }
+
+    /**
+     * Returns the union of the bits of the given action names.
+     *
+     * @param actions the action names
+     * @return the combined bits
+     */
+    public static int of(Collection<String> actions) {
+        int bits = NONE;
+        if (actions != null) {
+            for (String action : actions) {
+                bits |= of(action);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the bit an HTTP request requires: GET on a single element needs READ, GET on a
+     * collection needs LIST, POST needs CREATE, PUT needs EDIT and DELETE needs DELETE.
+     *
+     * @param method the HTTP method
+     * @param search whether the request addresses a single element
+     * @return the required bit, or {@link #NONE} for methods that map to no action
+     */
+    public static int forRequest(String method, boolean search) {
+        if (method == null) {
+            return NONE;
+        }
+        return switch (method.toUpperCase(Locale.ROOT)) {
+            case "GET" -> search ? READ : LIST;
+            case "POST" -> CREATE;
+            case "PUT" -> EDIT;
+            case "DELETE" -> DELETE;
+            default -> NONE;
+        };
+    }
+
+    /**
+     * Returns the bits granted by a security permission.
+     *
+     * @param permission the security permission
+     * @return the combined bits
+     */
+    public static int of(Permission permission) {
+        if (permission == null) {
+            return NONE;
+        }
+        int bits = NONE;
+        if (permission.canRead()) {
+            bits |= READ;
+        }
+        if (permission.canCreate()) {
+            bits |= CREATE;
+        }
+        if (permission.canEdit()) {
+            bits |= EDIT;
+        }
+        if (permission.canDelete()) {
+            bits |= DELETE;
+        }
+        if (permission.canList()) {
+            bits |= LIST;
+        }
+        return bits;
+    }
+
+    /**
+     * Expands bits back into action names. The EDIT bit yields both EDIT and UPDATE.
+     *
+     * @param bits the combined bits
+     * @return the action names
+     */
+    public static List<String> toActions(int bits) {
+        List<String> actions = new ArrayList<>(6);
+        if ((bits & READ) != 0) {
+            actions.add("READ");
+        }
+        if ((bits & CREATE) != 0) {
+            actions.add("CREATE");
+        }
+        if ((bits & EDIT) != 0) {
+            actions.add("EDIT");
+            actions.add("UPDATE");
+        }
+        if ((bits & DELETE) != 0) {
+            actions.add("DELETE");
+        }
+        if ((bits & LIST) != 0) {
+            actions.add("LIST");
+        }
+        return actions;
+    }
+
+    /**
+     * Checks whether all the required bits are granted.
+     *
+     * @param granted the granted bits
+     * @param required the required bits
+     * @return true if every required bit is granted
+     */
+    public static boolean allows(int granted, int required) {
+        return required != NONE && (granted & required) == required;
+    }
+}
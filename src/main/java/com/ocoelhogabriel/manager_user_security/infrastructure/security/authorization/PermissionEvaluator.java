@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -23,24 +24,69 @@ public class PermissionEvaluator {
     @Autowired
     private RolePermissionService rolePermissionService;
 
+    @Autowired
+    private PermissionMatrixProvider permissionMatrixProvider;
+
     /**
-     * Checks if a role has permission to access a resource with a specific method
+     * Checks if any of the roles has permission to access a resource with a specific method.
+     * The permissions of all roles are merged, so the decision does not depend on role order.
      *
-     * @param roleName   The role name
-     * @param urlMatcher The URL matcher containing the resource
-     * @param method     The HTTP method
+     * @param roleNames      The role names
+     * @param classification The URL classification containing the resource key
+     * @param method         The HTTP method
      * @return True if the role has permission, false otherwise
      */
-    public boolean checkPermission(String roleName, UrlPathMatcher urlMatcher, String method) {
-        // Extract resource name
-        Resource resource = urlMatcher.getResource();
-        String resourceName = resource.name();
-
+    public boolean checkPermission(Collection<String> roleNames, UrlClassification classification, String method) {
         // Validate parameters
+        Objects.requireNonNull(classification, "URL classification cannot be null");
+        Objects.requireNonNull(roleNames, "Role names cannot be null");
+
+        // Extract resource name
+        String resourceName = classification.getResourceKey();
         Objects.requireNonNull(resourceName, "Resource name cannot be null");
-        Objects.requireNonNull(roleName, "Role name cannot be null");
-        Objects.requireNonNull(urlMatcher, "URL matcher cannot be null");
+        Objects.requireNonNull(method, "Method cannot be null");
+
+        return check(roleNames, resourceName, PermissionBits.forRequest(method, classification.isSearch()),
+                method, classification.isSearch());
+    }
+
+    /**
+     * Checks if any of the roles satisfies the pre-resolved requirement of a controller method.
+     *
+     * @param roleNames   The role names
+     * @param requirement The requirement resolved from the handler's request mapping
+     * @param method      The HTTP method
+     * @return True if the role has permission, false otherwise
+     */
+    public boolean checkPermission(Collection<String> roleNames, HandlerRequirement requirement, String method) {
+        Objects.requireNonNull(roleNames, "Role names cannot be null");
+        Objects.requireNonNull(requirement, "Handler requirement cannot be null");
+        if (!requirement.isValid()) {
+            return false;
+        }
+        return check(roleNames, requirement.resourceKey(), requirement.requiredBits(method),
+                method, requirement.idPresent());
+    }
 
+    private boolean check(Collection<String> roleNames, String resourceName, int required, String method, boolean search) {
+        PermissionMatrix matrix = permissionMatrixProvider.current();
+        if (matrix != null) {
+            return permissionMatrixProvider.record(true,
+                    PermissionBits.allows(matrix.effectiveBitsForRoleNames(roleNames, resourceName), required));
+        }
+        // The matrix is built once the application is ready; until then, ask the database
+        for (String roleName : roleNames) {
+            if (evaluate(roleName, resourceName, method, search)) {
+                return permissionMatrixProvider.record(false, true);
+            }
+        }
+        return permissionMatrixProvider.record(false, false);
+    }
+
+    /**
+     * Evaluates a decision against the stored permissions.
+     */
+    private boolean evaluate(String roleName, String resourceName, String method, boolean search) {
         // Get resource and role entities
         Optional<com.ocoelhogabriel.manager_user_security.domain.entity.Resource> resourceEntityOpt = resourceService.findByName(resourceName);
 
@@ -58,7 +104,7 @@ public class PermissionEvaluator {
         // Check permission based on HTTP method
         return switch (method.toUpperCase()) {
             case "GET" -> {
-                if (urlMatcher.getMessage().equalsIgnoreCase("SEARCH")) {
+                if (search) {
                     yield permission.canRead();
                 } else {
                     yield permission.canList();
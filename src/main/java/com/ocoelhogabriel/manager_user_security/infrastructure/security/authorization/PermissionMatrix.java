@@ -0,0 +1,272 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.projection.PermissionGrantView;
+
+/**
+ * Immutable role x resource matrix of {@link PermissionBits}.
+ * <p>
+ * Rows are roles and columns are resources; each cell is one byte holding the union of the bits
+ * granted by every permission of that role on that resource. Lookups are two hash probes and an
+ * array index. A thousand roles by a thousand resources take about 1 MB, a hundred roles by five
+ * thousand resources about 500 KB.
+ * <p>
+ * For users with several roles the rows are merged bitwise. The merged row of each distinct role set
+ * is cached inside the snapshot, keyed by the sorted row indexes, so it is discarded with the snapshot
+ * and a user with many roles costs the same as a user with one.
+ */
+public final class PermissionMatrix {
+
+    private static final int MAX_CACHED_ROLE_SETS = 4096;
+
+    static final PermissionMatrix EMPTY = new PermissionMatrix(Map.of(), Map.of(), Map.of(), Map.of(), new byte[0], 0);
+
+    private final Map<Long, Integer> rowsByRoleId;
+    private final Map<String, Integer> rowsByRoleName;
+    private final Map<Long, Integer> columnsByResourceId;
+    private final Map<String, Integer> columnsByResourceName;
+    private final byte[] cells;
+    private final int columns;
+    private final Map<RoleSet, byte[]> mergedRows = new ConcurrentHashMap<>();
+
+    private PermissionMatrix(Map<Long, Integer> rowsByRoleId, Map<String, Integer> rowsByRoleName,
+            Map<Long, Integer> columnsByResourceId, Map<String, Integer> columnsByResourceName,
+            byte[] cells, int columns) {
+        this.rowsByRoleId = rowsByRoleId;
+        this.rowsByRoleName = rowsByRoleName;
+        this.columnsByResourceId = columnsByResourceId;
+        this.columnsByResourceName = columnsByResourceName;
+        this.cells = cells;
+        this.columns = columns;
+    }
+
+    /**
+     * Builds a matrix from the flat list of grants.
+     *
+     * @param grants every permission grant joined to its role and resource
+     * @return the matrix
+     */
+    public static PermissionMatrix build(List<PermissionGrantView> grants) {
+        Map<Long, Integer> rowsByRoleId = new HashMap<>();
+        Map<String, Integer> rowsByRoleName = new HashMap<>();
+        Map<Long, Integer> columnsByResourceId = new HashMap<>();
+        Map<String, Integer> columnsByResourceName = new HashMap<>();
+        for (PermissionGrantView grant : grants) {
+            Integer row = rowsByRoleId.computeIfAbsent(grant.roleId(), id -> rowsByRoleId.size());
+            rowsByRoleName.putIfAbsent(grant.roleName(), row);
+            Integer column = columnsByResourceId.computeIfAbsent(grant.resourceId(), id -> columnsByResourceId.size());
+            columnsByResourceName.putIfAbsent(grant.resourceName(), column);
+        }
+
+        int columns = columnsByResourceId.size();
+        byte[] cells = new byte[rowsByRoleId.size() * columns];
+        for (PermissionGrantView grant : grants) {
+            int index = rowsByRoleId.get(grant.roleId()) * columns + columnsByResourceId.get(grant.resourceId());
+            cells[index] |= (byte) bitsOf(grant);
+        }
+        return new PermissionMatrix(Map.copyOf(rowsByRoleId), Map.copyOf(rowsByRoleName),
+                Map.copyOf(columnsByResourceId), Map.copyOf(columnsByResourceName), cells, columns);
+    }
+
+    private static int bitsOf(PermissionGrantView grant) {
+        int bits = PermissionBits.of(grant.action());
+        if (grant.canRead()) {
+            bits |= PermissionBits.READ;
+        }
+        if (grant.canCreate()) {
+            bits |= PermissionBits.CREATE;
+        }
+        if (grant.canEdit()) {
+            bits |= PermissionBits.EDIT;
+        }
+        if (grant.canDelete()) {
+            bits |= PermissionBits.DELETE;
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the bits granted to a role on a resource.
+     *
+     * @param roleId the role id
+     * @param resourceId the resource id
+     * @return the granted bits, {@link PermissionBits#NONE} if unknown
+     */
+    public int bits(Long roleId, Long resourceId) {
+        if (roleId == null || resourceId == null) {
+            return PermissionBits.NONE;
+        }
+        return cell(rowsByRoleId.get(roleId), columnsByResourceId.get(resourceId));
+    }
+
+    /**
+     * Returns the bits granted to a role on a resource, both identified by name.
+     *
+     * @param roleName the role name
+     * @param resourceName the resource name
+     * @return the granted bits, {@link PermissionBits#NONE} if unknown
+     */
+    public int bits(String roleName, String resourceName) {
+        if (roleName == null || resourceName == null) {
+            return PermissionBits.NONE;
+        }
+        return cell(rowsByRoleName.get(roleName), columnsByResourceName.get(resourceName));
+    }
+
+    /**
+     * Returns the bits granted to a role, identified by id, on a resource identified by name.
+     *
+     * @param roleId the role id
+     * @param resourceName the resource name
+     * @return the granted bits, {@link PermissionBits#NONE} if unknown
+     */
+    public int bits(Long roleId, String resourceName) {
+        if (roleId == null || resourceName == null) {
+            return PermissionBits.NONE;
+        }
+        return cell(rowsByRoleId.get(roleId), columnsByResourceName.get(resourceName));
+    }
+
+    /**
+     * Returns the union of the bits granted to any of the roles on a resource.
+     *
+     * @param roleIds the role ids
+     * @param resourceId the resource id
+     * @return the granted bits, {@link PermissionBits#NONE} if none
+     */
+    public int effectiveBitsForRoleIds(Collection<Long> roleIds, Long resourceId) {
+        if (resourceId == null) {
+            return PermissionBits.NONE;
+        }
+        return effectiveBits(rowsOf(roleIds, rowsByRoleId::get), columnsByResourceId.get(resourceId));
+    }
+
+    /**
+     * Returns the union of the bits granted to any of the roles on a resource identified by name.
+     *
+     * @param roleIds the role ids
+     * @param resourceName the resource name
+     * @return the granted bits, {@link PermissionBits#NONE} if none
+     */
+    public int effectiveBitsForRoleIds(Collection<Long> roleIds, String resourceName) {
+        if (resourceName == null) {
+            return PermissionBits.NONE;
+        }
+        return effectiveBits(rowsOf(roleIds, rowsByRoleId::get), columnsByResourceName.get(resourceName));
+    }
+
+    /**
+     * Returns the union of the bits granted to any of the named roles on a resource identified by name.
+     *
+     * @param roleNames the role names
+     * @param resourceName the resource name
+     * @return the granted bits, {@link PermissionBits#NONE} if none
+     */
+    public int effectiveBitsForRoleNames(Collection<String> roleNames, String resourceName) {
+        if (resourceName == null) {
+            return PermissionBits.NONE;
+        }
+        return effectiveBits(rowsOf(roleNames, rowsByRoleName::get), columnsByResourceName.get(resourceName));
+    }
+
+    private int effectiveBits(int[] rows, Integer column) {
+        if (column == null || rows.length == 0) {
+            return PermissionBits.NONE;
+        }
+        if (rows.length == 1) {
+            return cells[rows[0] * columns + column];
+        }
+        RoleSet roleSet = new RoleSet(rows);
+        byte[] merged = mergedRows.get(roleSet);
+        if (merged == null) {
+            merged = mergeRows(rows);
+            if (mergedRows.size() < MAX_CACHED_ROLE_SETS) {
+                mergedRows.putIfAbsent(roleSet, merged);
+            }
+        }
+        return merged[column];
+    }
+
+    private byte[] mergeRows(int[] rows) {
+        byte[] merged = new byte[columns];
+        for (int row : rows) {
+            int offset = row * columns;
+            for (int column = 0; column < columns; column++) {
+                merged[column] |= cells[offset + column];
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Maps role keys to their sorted, distinct row indexes, skipping roles without grants.
+     */
+    private static <K> int[] rowsOf(Collection<K> roles, Function<K, Integer> rowLookup) {
+        if (roles == null || roles.isEmpty()) {
+            return new int[0];
+        }
+        int[] rows = new int[roles.size()];
+        int count = 0;
+        for (K role : roles) {
+            Integer row = role == null ? null : rowLookup.apply(role);
+            if (row != null) {
+                rows[count++] = row;
+            }
+        }
+        Arrays.sort(rows, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || rows[distinct - 1] != rows[i]) {
+                rows[distinct++] = rows[i];
+            }
+        }
+        return distinct == rows.length ? rows : Arrays.copyOf(rows, distinct);
+    }
+
+    private int cell(Integer row, Integer column) {
+        if (row == null || column == null) {
+            return PermissionBits.NONE;
+        }
+        return cells[row * columns + column];
+    }
+
+    /**
+     * Gets the number of bytes used by the cells.
+     *
+     * @return the cell array size
+     */
+    public int sizeInBytes() {
+        return cells.length;
+    }
+
+    /**
+     * Fingerprint of a role set: its sorted, distinct row indexes.
+     */
+    private static final class RoleSet {
+
+        private final int[] rows;
+        private final int hash;
+
+        RoleSet(int[] rows) {
+            this.rows = rows;
+            this.hash = Arrays.hashCode(rows);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof RoleSet other && Arrays.equals(rows, other.rows));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
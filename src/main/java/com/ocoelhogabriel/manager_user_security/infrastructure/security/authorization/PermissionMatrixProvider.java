@@ -0,0 +1,181 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ocoelhogabriel.manager_user_security.application.event.AuthorizationChangedEvent;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.PermissionJpaRepository;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt.AuthorityVersion;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Publishes the current {@link PermissionMatrix} snapshot.
+ * <p>
+ * The matrix is built from one bulk query once the application is ready, and rebuilt on a background
+ * thread after every committed role, permission or resource change. Bursts of changes are coalesced
+ * into a single rebuild. Changes committed through other instances are picked up by polling the shared
+ * {@link AuthorityVersion}: when it differs from the version the matrix was built at, the matrix is
+ * rebuilt. Readers only dereference a volatile field and never lock.
+ * <p>
+ * Decisions are counted under {@code authorization.decisions}, tagged with the {@code source} that
+ * answered them ({@code matrix}, or {@code database} before the first build) and their {@code result}.
+ * The matrix-to-database ratio plays the role of a cache hit rate.
+ */
+@Component
+public class PermissionMatrixProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(PermissionMatrixProvider.class);
+
+    private final PermissionJpaRepository permissionJpaRepository;
+    private final AuthorityVersion authorityVersion;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "permission-matrix-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final Counter matrixGranted;
+    private final Counter matrixDenied;
+    private final Counter databaseGranted;
+    private final Counter databaseDenied;
+    private final Counter rebuilds;
+
+    private volatile PermissionMatrix snapshot;
+    private volatile long builtVersion = -1;
+
+    /**
+     * Constructor for PermissionMatrixProvider.
+     *
+     * @param permissionJpaRepository the repository the grants are loaded from
+     * @param authorityVersion the shared version of the role, permission and resource data
+     * @param meterRegistry the registry the matrix size and decision counts are published to
+     */
+    public PermissionMatrixProvider(PermissionJpaRepository permissionJpaRepository,
+            AuthorityVersion authorityVersion, MeterRegistry meterRegistry) {
+        this.permissionJpaRepository = permissionJpaRepository;
+        this.authorityVersion = authorityVersion;
+        Gauge.builder("authorization.permission-matrix.size", this,
+                        provider -> provider.snapshot == null ? 0 : provider.snapshot.sizeInBytes())
+                .description("Bytes used by the cells of the permission matrix")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.matrixGranted = decisionCounter(meterRegistry, "matrix", "granted");
+        this.matrixDenied = decisionCounter(meterRegistry, "matrix", "denied");
+        this.databaseGranted = decisionCounter(meterRegistry, "database", "granted");
+        this.databaseDenied = decisionCounter(meterRegistry, "database", "denied");
+        this.rebuilds = Counter.builder("authorization.permission-matrix.rebuilds")
+                .description("Number of times the permission matrix was rebuilt")
+                .register(meterRegistry);
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, String source, String result) {
+        return Counter.builder("authorization.decisions")
+                .description("Authorization decisions by the source that answered them")
+                .tag("source", source)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the current matrix.
+     *
+     * @return the matrix, or null until the first build completes
+     */
+    public PermissionMatrix current() {
+        return snapshot;
+    }
+
+    /**
+     * Counts a decision.
+     *
+     * @param fromMatrix true if the matrix answered, false if the database was asked
+     * @param granted the decision
+     * @return the decision, for chaining
+     */
+    public boolean record(boolean fromMatrix, boolean granted) {
+        if (fromMatrix) {
+            (granted ? matrixGranted : matrixDenied).increment();
+        } else {
+            (granted ? databaseGranted : databaseDenied).increment();
+        }
+        return granted;
+    }
+
+    /**
+     * Builds the first matrix once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Schedules a background rebuild after an authorization change has been committed.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        if (event.scope() == AuthorizationChangedEvent.Scope.USER
+                || event.scope() == AuthorizationChangedEvent.Scope.CREDENTIALS) {
+            return; // users are not part of the matrix
+        }
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildPending.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    /**
+     * Rebuilds the matrix when another instance has committed an authorization change since the last build.
+     */
+    @Scheduled(fixedDelayString = "${api.security.authorization.refresh-interval:PT10S}",
+            initialDelayString = "${api.security.authorization.refresh-interval:PT10S}")
+    public void refreshIfStale() {
+        try {
+            if (snapshot != null && authorityVersion.current() != builtVersion) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not check the authority version, keeping the current matrix: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Loads all grants and publishes a new matrix. Builds are serialized so an older load never
+     * replaces a newer one.
+     */
+    public synchronized void rebuild() {
+        try {
+            // Read the version first, so a change committed during the load triggers another rebuild
+            long version = authorityVersion.current();
+            PermissionMatrix matrix = PermissionMatrix.build(permissionJpaRepository.findAllGrants());
+            this.snapshot = matrix;
+            this.builtVersion = version;
+            rebuilds.increment();
+            log.debug("Permission matrix rebuilt ({} bytes)", matrix.sizeInBytes());
+        } catch (RuntimeException e) {
+            log.error("Could not rebuild the permission matrix, keeping the previous one", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
@@ -1,7 +1,7 @@
 package com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization;
 
 /**
- * Simple implementation of Resource for the UrlPathMatcher
+ * Simple implementation of Resource for the security module
  */
 public record Resource(
         String name,
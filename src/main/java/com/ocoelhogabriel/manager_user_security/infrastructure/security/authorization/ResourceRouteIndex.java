@@ -0,0 +1,300 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ocoelhogabriel.manager_user_security.application.event.AuthorizationChangedEvent;
+import com.ocoelhogabriel.manager_user_security.domain.entity.Resource;
+import com.ocoelhogabriel.manager_user_security.domain.repository.ResourceRepository;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt.AuthorityVersion;
+
+/**
+ * In-memory route index resolving a URL and HTTP method to the resources whose URL pattern matches.
+ * <p>
+ * Resource URL patterns use SQL {@code LIKE} syntax ({@code %}, {@code _} and {@code \} as escape).
+ * The literal prefix of every pattern is stored in a character trie whose nodes carry the union of the
+ * HTTP-method bits of the resources below them, so a lookup walks the URL once, prunes branches that
+ * cannot match the method, and only evaluates the wildcard remainder of the candidates it reaches.
+ * <p>
+ * The index is immutable and published through a volatile field; it is rebuilt from the repository at
+ * startup, after every resource change committed locally, and when the shared {@link AuthorityVersion}
+ * shows a change committed through another instance, so readers never block.
+ */
+@Component
+public class ResourceRouteIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceRouteIndex.class);
+
+    private static final String[] METHODS = {"GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE"};
+
+    private final ResourceRepository resourceRepository;
+    private final AuthorityVersion authorityVersion;
+
+    private volatile Node root;
+    private volatile long builtVersion = -1;
+
+    /**
+     * Constructor for ResourceRouteIndex.
+     *
+     * @param resourceRepository the repository the index is built from
+     * @param authorityVersion the shared version of the role, permission and resource data
+     */
+    public ResourceRouteIndex(ResourceRepository resourceRepository, AuthorityVersion authorityVersion) {
+        this.resourceRepository = resourceRepository;
+        this.authorityVersion = authorityVersion;
+    }
+
+    /**
+     * Checks whether the index has been built and can answer lookups.
+     *
+     * @return true if the index is ready
+     */
+    public boolean isReady() {
+        return root != null;
+    }
+
+    /**
+     * Finds the resources whose URL pattern matches the URL and whose allowed methods include the method.
+     *
+     * @param url the URL to resolve
+     * @param method the HTTP method
+     * @return copies of the matching resources, empty if none match or the index is not built yet
+     */
+    public List<Resource> findMatching(String url, String method) {
+        Node node = root;
+        int methodBit = methodBit(method);
+        if (node == null || url == null || methodBit == 0) {
+            return List.of();
+        }
+        List<Resource> matches = null;
+        int length = url.length();
+        for (int i = 0; node != null && (node.methodMask & methodBit) != 0; i++) {
+            for (Route route : node.routes) {
+                if ((route.methodMask & methodBit) != 0 && route.matchesRemainder(url, i)) {
+                    if (matches == null) {
+                        matches = new ArrayList<>(2);
+                    }
+                    matches.add(copyOf(route.resource));
+                }
+            }
+            if (i == length) {
+                break;
+            }
+            node = node.child(url.charAt(i));
+        }
+        return matches != null ? matches : List.of();
+    }
+
+    /**
+     * Builds the index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the index after a resource change has been committed.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        if (event.scope() == AuthorizationChangedEvent.Scope.RESOURCE) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the index when another instance has committed an authorization change since the last build.
+     */
+    @Scheduled(fixedDelayString = "${api.security.authorization.refresh-interval:PT10S}",
+            initialDelayString = "${api.security.authorization.refresh-interval:PT10S}")
+    public void refreshIfStale() {
+        try {
+            if (root != null && authorityVersion.current() != builtVersion) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the resource route index, keeping the current one: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Loads all resources and atomically replaces the index. Rebuilds are serialized so the last one
+     * always reflects the latest committed state.
+     */
+    public synchronized void rebuild() {
+        // Read the version first, so a change committed during the load triggers another rebuild
+        long version = authorityVersion.current();
+        Node newRoot = new Node();
+        int count = 0;
+        for (Resource resource : resourceRepository.findAll()) {
+            if (resource.getUrlPattern() == null) {
+                continue;
+            }
+            int methodMask = 0;
+            for (String allowed : resource.getAllowedMethods()) {
+                methodMask |= methodBit(allowed);
+            }
+            if (methodMask == 0) {
+                continue;
+            }
+            insert(newRoot, new Route(copyOf(resource), resource.getUrlPattern(), methodMask));
+            count++;
+        }
+        this.root = newRoot;
+        this.builtVersion = version;
+        log.debug("Resource route index rebuilt with {} routes", count);
+    }
+
+    private static void insert(Node root, Route route) {
+        Node node = root;
+        node.methodMask |= route.methodMask;
+        String prefix = route.literalPrefix;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.childOrCreate(prefix.charAt(i));
+            node.methodMask |= route.methodMask;
+        }
+        node.routes = Arrays.copyOf(node.routes, node.routes.length + 1);
+        node.routes[node.routes.length - 1] = route;
+    }
+
+    private static int methodBit(String method) {
+        if (method == null) {
+            return 0;
+        }
+        for (int i = 0; i < METHODS.length; i++) {
+            if (METHODS[i].equalsIgnoreCase(method.trim())) {
+                return 1 << i;
+            }
+        }
+        return 0;
+    }
+
+    private static Resource copyOf(Resource resource) {
+        return new Resource(resource.getId(), resource.getName(), resource.getDescription(),
+                resource.getUrlPattern(), resource.getVersion(), resource.getAllowedMethods());
+    }
+
+    /**
+     * A resource together with its pattern split into a literal prefix and a compiled remainder.
+     */
+    private static final class Route {
+
+        private final Resource resource;
+        private final String literalPrefix;
+        private final char[] remainder;
+        private final boolean[] literal;
+        private final int methodMask;
+
+        Route(Resource resource, String pattern, int methodMask) {
+            this.resource = resource;
+            this.methodMask = methodMask;
+            StringBuilder prefix = new StringBuilder();
+            StringBuilder rest = new StringBuilder();
+            List<Boolean> literalFlags = new ArrayList<>();
+            boolean inPrefix = true;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                boolean escaped = c == '\\' && i + 1 < pattern.length();
+                if (escaped) {
+                    c = pattern.charAt(++i);
+                } else if (c == '%' || c == '_') {
+                    inPrefix = false;
+                }
+                if (inPrefix) {
+                    prefix.append(c);
+                } else {
+                    rest.append(c);
+                    literalFlags.add(escaped || (c != '%' && c != '_'));
+                }
+            }
+            this.literalPrefix = prefix.toString();
+            this.remainder = rest.toString().toCharArray();
+            this.literal = new boolean[literalFlags.size()];
+            for (int i = 0; i < literal.length; i++) {
+                literal[i] = literalFlags.get(i);
+            }
+        }
+
+        /**
+         * Matches the wildcard remainder against the URL from {@code start}, with the usual
+         * greedy-with-backtrack algorithm for {@code %} and {@code _}.
+         */
+        boolean matchesRemainder(String url, int start) {
+            int u = start;
+            int p = 0;
+            int starP = -1;
+            int starU = -1;
+            int length = url.length();
+            while (u < length) {
+                if (p < remainder.length && !literal[p] && remainder[p] == '%') {
+                    starP = p++;
+                    starU = u;
+                } else if (p < remainder.length && (literal[p] ? remainder[p] == url.charAt(u) : remainder[p] == '_')) {
+                    p++;
+                    u++;
+                } else if (starP >= 0) {
+                    p = starP + 1;
+                    u = ++starU;
+                } else {
+                    return false;
+                }
+            }
+            while (p < remainder.length && !literal[p] && remainder[p] == '%') {
+                p++;
+            }
+            return p == remainder.length;
+        }
+    }
+
+    /**
+     * Trie node. Mutated only while building a new index, before it is published.
+     */
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Route[] NO_ROUTES = new Route[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private Route[] routes = NO_ROUTES;
+        private int methodMask;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+    }
+}
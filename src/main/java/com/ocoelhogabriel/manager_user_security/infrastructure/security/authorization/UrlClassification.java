@@ -0,0 +1,91 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization;
+
+/**
+ * Immutable result of classifying a request URL.
+ * All strings it holds are canonical instances shared between requests, and invalid
+ * results are shared constants, so classifying a URL creates no intermediate strings.
+ */
+public final class UrlClassification {
+
+    /**
+     * Outcome of the classification.
+     */
+    public enum Result {
+        /** A valid URL that addresses a collection or a named action. */
+        VALID,
+        /** A GET on a single element, identified by a numeric id. */
+        SEARCH,
+        /** The URL does not follow the /api/{resource}/{version}[/{action}] layout. */
+        INVALID_FORMAT
+    }
+
+    static final UrlClassification INVALID_FORMAT = new UrlClassification(Result.INVALID_FORMAT, null, null, null, false);
+
+    private final Result result;
+    private final String resourceKey;
+    private final String version;
+    private final String action;
+    private final boolean idPresent;
+
+    UrlClassification(Result result, String resourceKey, String version, String action, boolean idPresent) {
+        this.result = result;
+        this.resourceKey = resourceKey;
+        this.version = version;
+        this.action = action;
+        this.idPresent = idPresent;
+    }
+
+    public Result getResult() {
+        return result;
+    }
+
+    public boolean isValid() {
+        return result != Result.INVALID_FORMAT;
+    }
+
+    public boolean isSearch() {
+        return result == Result.SEARCH;
+    }
+
+    /**
+     * Gets the resource key, e.g. {@code /API/USERS}.
+     *
+     * @return the resource key, or null for invalid URLs
+     */
+    public String getResourceKey() {
+        return resourceKey;
+    }
+
+    /**
+     * Gets the version segment, e.g. {@code /V1}.
+     *
+     * @return the version, or null for invalid URLs
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the named action segment, e.g. {@code /PASSWORD}.
+     *
+     * @return the action, or null when the URL has no action or addresses an id
+     */
+    public String getAction() {
+        return action;
+    }
+
+    public boolean isIdPresent() {
+        return idPresent;
+    }
+
+    @Override
+    public String toString() {
+        return "UrlClassification{" +
+                "result=" + result +
+                ", resourceKey='" + resourceKey + '\'' +
+                ", version='" + version + '\'' +
+                ", action='" + action + '\'' +
+                ", idPresent=" + idPresent +
+                '}';
+    }
+}
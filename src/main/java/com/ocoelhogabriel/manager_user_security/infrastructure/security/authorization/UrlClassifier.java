@@ -0,0 +1,143 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Single-pass, index-based classifier for request URLs of the form
+ * {@code /api/{resource}/{version}[/{action-or-id}]}.
+ * <p>
+ * Segments are located with {@code indexOf} and compared in place; the resource, version and action
+ * keys are resolved against tables of canonical upper-case strings, so known segments never allocate.
+ * A segment seen for the first time is added to its table, up to a fixed bound per table.
+ */
+public final class UrlClassifier {
+
+    private static final int MAX_KEYS_PER_TABLE = 256;
+
+    private static final KeyTable RESOURCES = new KeyTable("/API/");
+    private static final KeyTable VERSIONS = new KeyTable("/");
+    private static final KeyTable ACTIONS = new KeyTable("/");
+
+    private UrlClassifier() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Classifies a request path.
+     *
+     * @param path the request URI
+     * @param offset the index where the application path starts, i.e. the context path length
+     * @param method the HTTP method
+     * @return the classification
+     */
+    public static UrlClassification classify(String path, int offset, String method) {
+        if (path == null || offset < 0 || offset >= path.length() || path.charAt(offset) != '/') {
+            return UrlClassification.INVALID_FORMAT;
+        }
+        int end = path.length();
+        if (end - offset > 1 && path.charAt(end - 1) == '/') {
+            end--; // tolerate a single trailing slash
+        }
+
+        // segment 1: "api" (not checked, as before)
+        int apiStart = offset + 1;
+        int apiEnd = segmentEnd(path, apiStart, end);
+        // segment 2: resource
+        int resourceStart = apiEnd + 1;
+        int resourceEnd = segmentEnd(path, resourceStart, end);
+        // segment 3: version
+        int versionStart = resourceEnd + 1;
+        int versionEnd = segmentEnd(path, versionStart, end);
+        if (apiEnd <= apiStart || resourceEnd <= resourceStart || versionEnd <= versionStart) {
+            return UrlClassification.INVALID_FORMAT;
+        }
+
+        String resourceKey = RESOURCES.resolve(path, resourceStart, resourceEnd);
+        String version = VERSIONS.resolve(path, versionStart, versionEnd);
+
+        // segment 4: optional action or id; deeper segments do not change the classification
+        if (versionEnd >= end) {
+            return new UrlClassification(UrlClassification.Result.VALID, resourceKey, version, null, false);
+        }
+        int actionStart = versionEnd + 1;
+        int actionEnd = segmentEnd(path, actionStart, end);
+        if (actionEnd <= actionStart) {
+            return UrlClassification.INVALID_FORMAT;
+        }
+        if (isDigits(path, actionStart, actionEnd)) {
+            UrlClassification.Result result = "GET".equalsIgnoreCase(method)
+                    ? UrlClassification.Result.SEARCH
+                    : UrlClassification.Result.VALID;
+            return new UrlClassification(result, resourceKey, version, null, true);
+        }
+        String action = ACTIONS.resolve(path, actionStart, actionEnd);
+        return new UrlClassification(UrlClassification.Result.VALID, resourceKey, version, action, false);
+    }
+
+    /**
+     * Returns the index of the '/' ending the segment starting at {@code start}, or {@code end}.
+     * Returns -1 when there is no segment at {@code start}.
+     */
+    private static int segmentEnd(String path, int start, int end) {
+        if (start > end) {
+            return -1;
+        }
+        int slash = path.indexOf('/', start);
+        return slash < 0 || slash > end ? end : slash;
+    }
+
+    private static boolean isDigits(String path, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copy-on-write table of canonical keys, each the prefix followed by an upper-cased segment.
+     * Reads scan a volatile array without locking; writes are rare and synchronized.
+     */
+    private static final class KeyTable {
+
+        private final String prefix;
+        private volatile String[] keys = new String[0];
+
+        KeyTable(String prefix) {
+            this.prefix = prefix;
+        }
+
+        String resolve(String path, int start, int end) {
+            String key = find(keys, path, start, end);
+            return key != null ? key : add(path, start, end);
+        }
+
+        private String find(String[] table, String path, int start, int end) {
+            int length = prefix.length() + end - start;
+            for (String key : table) {
+                if (key.length() == length && key.regionMatches(true, prefix.length(), path, start, end - start)) {
+                    return key;
+                }
+            }
+            return null;
+        }
+
+        private synchronized String add(String path, int start, int end) {
+            String[] table = keys;
+            String key = find(table, path, start, end);
+            if (key != null) {
+                return key;
+            }
+            key = prefix + path.substring(start, end).toUpperCase(Locale.ROOT);
+            if (table.length < MAX_KEYS_PER_TABLE) {
+                String[] grown = Arrays.copyOf(table, table.length + 1);
+                grown[table.length] = key;
+                keys = grown;
+            }
+            return key;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.ocoelhogabriel.manager_user_security.application.event.AuthorizationChangedEvent;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.AuthorityChangeJpaRepository;
+
+/**
+ * Tracks when the authorization data embedded in stateless tokens goes stale.
+ * Role, permission and resource changes increment a global version; user changes record a per-user
+ * change instant. Both live in the shared {@code authority_changes} table and are written in the
+ * transaction that makes the change, so they survive restarts and are seen by every instance.
+ * Reads go through a short-lived local cache, which the writing instance clears once the change commits;
+ * other instances pick the change up when their cached entry expires.
+ */
+@Component
+public class AuthorityVersion {
+
+    private static final String GLOBAL_SCOPE = "global";
+    private static final String USER_SCOPE_PREFIX = "user:";
+
+    private final AuthorityChangeJpaRepository repository;
+    private final LoadingCache<String, Optional<Change>> changes;
+    private final Duration tokenLifetime;
+
+    /**
+     * Constructor for AuthorityVersion.
+     *
+     * @param repository the repository of the shared change records
+     * @param expirationTimeInMinutes the access token lifetime, after which a user change no longer matters
+     * @param cacheTtl how long a change record read from the database is trusted locally
+     */
+    public AuthorityVersion(AuthorityChangeJpaRepository repository,
+            @Value("${api.security.expiration.time.minutes}") long expirationTimeInMinutes,
+            @Value("${api.security.authority-version.cache-ttl:PT5S}") Duration cacheTtl) {
+        this.repository = repository;
+        this.tokenLifetime = Duration.ofMinutes(expirationTimeInMinutes);
+        this.changes = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(cacheTtl)
+                .build(scope -> repository.findById(scope)
+                        .map(entity -> new Change(entity.getVersion(), entity.getChangedAt())));
+    }
+
+    /**
+     * Returns the current global authority version.
+     *
+     * @return the version stamped into newly issued tokens
+     */
+    public long current() {
+        return changes.get(GLOBAL_SCOPE).map(Change::version).orElse(0L);
+    }
+
+    /**
+     * Reads the current global authority version from the database, bypassing the local cache, and
+     * refreshes the cache with it.
+     *
+     * @return the global version as committed in the shared table
+     */
+    public long latest() {
+        Optional<Change> change = repository.findById(GLOBAL_SCOPE)
+                .map(entity -> new Change(entity.getVersion(), entity.getChangedAt()));
+        changes.put(GLOBAL_SCOPE, change);
+        return change.map(Change::version).orElse(0L);
+    }
+
+    /**
+     * Returns the latest recorded change of a user, as seen through the local cache.
+     *
+     * @param userId the user id, may be null
+     * @return the latest change, empty if none is recorded
+     */
+    public Optional<Change> userChange(Long userId) {
+        return userId == null ? Optional.empty() : changes.get(USER_SCOPE_PREFIX + userId);
+    }
+
+    /**
+     * Checks whether a token's embedded authorities are still current.
+     *
+     * @param tokenVersion the version stamped into the token
+     * @param userId the id of the token subject, may be null
+     * @param issuedAt when the token was issued
+     * @return true if neither the global authorities nor the user changed since the token was issued
+     */
+    public boolean isCurrent(long tokenVersion, Long userId, Instant issuedAt) {
+        if (tokenVersion != current()) {
+            return false;
+        }
+        if (userId == null || issuedAt == null) {
+            return true;
+        }
+        Optional<Change> change = changes.get(USER_SCOPE_PREFIX + userId);
+        // iat has second precision, so a change within the issuing second counts as newer
+        return change.isEmpty() || issuedAt.isAfter(change.get().changedAt());
+    }
+
+    /**
+     * Writes an authorization change to the shared table inside the publishing transaction, so the
+     * change and its record commit or roll back together.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void recordAuthorizationChange(AuthorizationChangedEvent event) {
+        String scope = scopeOf(event);
+        if (scope != null) {
+            repository.increment(scope, Instant.now());
+        }
+    }
+
+    /**
+     * Drops the locally cached record of a change once the surrounding transaction has committed.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        String scope = scopeOf(event);
+        if (scope != null) {
+            changes.invalidate(scope);
+        }
+    }
+
+    /**
+     * Deletes user change records older than any token that could still be affected by them.
+     */
+    @Scheduled(fixedDelayString = "${api.security.authority-version.cleanup-interval:PT1H}",
+            initialDelayString = "${api.security.authority-version.cleanup-interval:PT1H}")
+    public void purgeUserChanges() {
+        repository.deleteChangedBefore(USER_SCOPE_PREFIX, Instant.now().minus(tokenLifetime));
+    }
+
+    private static String scopeOf(AuthorizationChangedEvent event) {
+        if (event.scope() == AuthorizationChangedEvent.Scope.CREDENTIALS) {
+            return null; // a re-encoded hash leaves the embedded authorities valid
+        }
+        if (event.scope() == AuthorizationChangedEvent.Scope.USER) {
+            return event.id() != null ? USER_SCOPE_PREFIX + event.id() : null;
+        }
+        return GLOBAL_SCOPE;
+    }
+
+    /**
+     * The latest recorded change of a scope.
+     *
+     * @param version the number of changes recorded for the scope
+     * @param changedAt when the latest change was recorded
+     */
+    public record Change(long version, Instant changedAt) {
+    }
+}
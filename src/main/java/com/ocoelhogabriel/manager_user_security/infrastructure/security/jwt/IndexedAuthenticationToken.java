@@ -0,0 +1,43 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.AuthorityIndex;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.service.SecurityUser;
+
+/**
+ * Authentication built from a verified token. It exposes the principal's prebuilt
+ * {@link AuthorityIndex} so authorization checks never scan the authority list.
+ */
+public class IndexedAuthenticationToken extends AbstractAuthenticationToken implements AuthorityIndex.IndexedAuthorities {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SecurityUser principal;
+
+    /**
+     * Constructor for IndexedAuthenticationToken.
+     *
+     * @param principal the authenticated user
+     */
+    public IndexedAuthenticationToken(SecurityUser principal) {
+        super(principal.getAuthorities());
+        this.principal = principal;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Object getCredentials() {
+        return "";
+    }
+
+    @Override
+    public SecurityUser getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public AuthorityIndex getAuthorityIndex() {
+        return principal.getAuthorityIndex();
+    }
+}
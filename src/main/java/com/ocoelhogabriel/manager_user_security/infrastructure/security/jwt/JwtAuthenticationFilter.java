@@ -1,15 +1,18 @@
 package com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-import org.springframework.security.core.Authentication;
+import org.springframework.lang.NonNull;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.HandlerAuthorizationInterceptor;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.util.PathPrefixTrie;
 import com.ocoelhogabriel.manager_user_security.infrastructure.security.util.SecurityConstants;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,75 +20,90 @@ import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * Filter for JWT authentication.
- * Intercepts requests and authenticates users based on JWT tokens.
+ * Runs the security pipeline in order: token extraction and token verification. Public paths are
+ * matched against a trie compiled once at startup and leave the pipeline before any work is done.
+ * Each stage is timed under {@code security.filter.stage}. URL-based authorization runs later, once
+ * the controller method is known, in {@link HandlerAuthorizationInterceptor}.
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String STAGE_TIMER = "security.filter.stage";
+
     private final JwtManager jwtManager;
-    private final List<String> excludedPaths;
+    private final PathPrefixTrie publicPaths;
+    private final Timer extractTimer;
+    private final Timer verifyTimer;
 
     /**
      * Constructor for JwtAuthenticationFilter.
-     * 
+     *
      * @param jwtManager the JWT manager
+     * @param meterRegistry the registry the stage timers are published to
+     * @param publicPaths the public URL patterns, as built by {@link SecurityConstants#publicPaths(String[])}
      */
-    public JwtAuthenticationFilter(JwtManager jwtManager) {
+    public JwtAuthenticationFilter(JwtManager jwtManager, MeterRegistry meterRegistry, String[] publicPaths) {
         this.jwtManager = jwtManager;
-        this.excludedPaths = Arrays.asList(
-                SecurityConstants.AUTH_WHITELIST
-        );
+        this.publicPaths = PathPrefixTrie.compile(publicPaths);
+        this.extractTimer = stageTimer(meterRegistry, "extract");
+        this.verifyTimer = stageTimer(meterRegistry, "verify");
     }
 
     @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
-            throws ServletException, IOException {
-        
-        // Skip authentication for excluded paths
-        if (isPathExcluded(request)) {
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        // Skip authentication for public paths
+        if (publicPaths.matches(request.getServletPath())) {
             filterChain.doFilter(request, response);
             return;
         }
-        
+
+        long start = System.nanoTime();
         String token = extractToken(request);
-        
-        if (token != null) {
-            try {
-                Authentication authentication = jwtManager.getAuthentication(token);
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            } catch (Exception e) {
-                SecurityContextHolder.clearContext();
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.setContentType("application/json");
-                response.getWriter().write("{\"error\": \"" + e.getMessage() + "\"}");
-                return;
-            }
+        long extracted = System.nanoTime();
+        extractTimer.record(extracted - start, TimeUnit.NANOSECONDS);
+
+        if (token == null) {
+            filterChain.doFilter(request, response);
+            return;
         }
-        
+
+        try {
+            SecurityContextHolder.getContext().setAuthentication(jwtManager.getAuthentication(token));
+        } catch (Exception e) {
+            SecurityContextHolder.clearContext();
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"" + e.getMessage() + "\"}");
+            return;
+        } finally {
+            verifyTimer.record(System.nanoTime() - extracted, TimeUnit.NANOSECONDS);
+        }
+
         filterChain.doFilter(request, response);
     }
-    
+
     /**
      * Extracts the JWT token from the Authorization header.
-     * 
+     *
      * @param request the HTTP request
      * @return the token, or null if no valid token is found
      */
     private String extractToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
-        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
+        if (bearerToken != null && bearerToken.startsWith(BEARER_PREFIX)) {
+            return bearerToken.substring(BEARER_PREFIX.length());
         }
         return null;
     }
-    
-    /**
-     * Checks if the request path should be excluded from authentication.
-     * 
-     * @param request the HTTP request
-     * @return true if the path should be excluded, false otherwise
-     */
-    private boolean isPathExcluded(HttpServletRequest request) {
-        String path = request.getServletPath();
-        return excludedPaths.stream().anyMatch(path::startsWith);
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent in each stage of the JWT security filter")
+                .tag("stage", stage)
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,389 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.SigningKeyEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.SigningKeyJpaRepository;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.util.TokenDigest;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Ring of asymmetric JWT signing keys shared by all instances through the {@code jwt_signing_keys} table.
+ * <p>
+ * Tokens carry the id of their signing key in the {@code kid} header. A scheduled check adds a new key
+ * once the newest one is older than the rotation period, and deletes keys once no token signed with them
+ * can still be alive. A new key is published in the JWKS document first and only signs once it has been
+ * published for the document's cache lifetime, so clients holding a cached copy can verify every token
+ * they receive. Everything derived from the keys (one verifier per kid, the signing key and its successor,
+ * and the serialized JWKS document with its ETag) is built once per reload into an immutable snapshot.
+ * <p>
+ * When a key-encryption key is configured, private keys are stored AES-GCM encrypted; otherwise they
+ * are stored as plain PKCS#8 and the table must be protected like any other secret.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+    private static final long UNKNOWN_KID_RELOAD_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final SigningKeyJpaRepository signingKeyRepository;
+    private final SigningAlgorithm signingAlgorithm;
+    private final Duration rotationPeriod;
+    private final Duration publishDelay;
+    private final Duration keyLifetime;
+    private final SigningKeyCipher cipher;
+    private final Clock clock;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile KeySet keySet;
+    private volatile long lastReloadNanos;
+
+    /**
+     * Constructor for JwtKeyRing.
+     *
+     * @param signingKeyRepository the repository the keys are shared through
+     * @param signingAlgorithm the signing algorithm for new keys, RS256 or ES256
+     * @param rotationPeriod how long a key is used for signing before a new one replaces it
+     * @param checkInterval how often the ring is reloaded and rotated
+     * @param publishDelay how long a new key is published before it signs, at least the JWKS cache lifetime
+     * @param encryptionKey the Base64 AES key private keys are encrypted with; blank stores them unencrypted
+     * @param expirationTimeInMinutes the access token lifetime, for which retired keys stay verifiable
+     */
+    @Autowired
+    public JwtKeyRing(
+            SigningKeyJpaRepository signingKeyRepository,
+            @Value("${api.security.token.signing-algorithm:RS256}") String signingAlgorithm,
+            @Value("${api.security.token.keys.rotation-period:P7D}") Duration rotationPeriod,
+            @Value("${api.security.token.keys.check-interval:PT10M}") Duration checkInterval,
+            @Value("${api.security.jwks.max-age:PT5M}") Duration publishDelay,
+            @Value("${api.security.token.keys.encryption-key:}") String encryptionKey,
+            @Value("${api.security.expiration.time.minutes}") long expirationTimeInMinutes) {
+        this(signingKeyRepository, signingAlgorithm, rotationPeriod, checkInterval, publishDelay, encryptionKey,
+                expirationTimeInMinutes, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor for JwtKeyRing with the clock key ages are read from.
+     *
+     * @param signingKeyRepository the repository the keys are shared through
+     * @param signingAlgorithm the signing algorithm for new keys, RS256 or ES256
+     * @param rotationPeriod how long a key is used for signing before a new one replaces it
+     * @param checkInterval how often the ring is reloaded and rotated
+     * @param publishDelay how long a new key is published before it signs, at least the JWKS cache lifetime
+     * @param encryptionKey the Base64 AES key private keys are encrypted with; blank stores them unencrypted
+     * @param expirationTimeInMinutes the access token lifetime, for which retired keys stay verifiable
+     * @param clock the clock key ages are read from
+     */
+    JwtKeyRing(SigningKeyJpaRepository signingKeyRepository, String signingAlgorithm, Duration rotationPeriod,
+            Duration checkInterval, Duration publishDelay, String encryptionKey, long expirationTimeInMinutes,
+            Clock clock) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.signingAlgorithm = SigningAlgorithm.valueOf(signingAlgorithm.trim().toUpperCase());
+        this.rotationPeriod = rotationPeriod;
+        this.publishDelay = publishDelay;
+        // A key starts signing one publish delay after its creation and may sign for up to one check
+        // interval past the rotation of its successor, whose publish delay it also covers; its tokens
+        // live on after that
+        this.keyLifetime = rotationPeriod.plus(checkInterval).plus(publishDelay).plusMinutes(expirationTimeInMinutes);
+        this.cipher = new SigningKeyCipher(encryptionKey);
+        this.clock = clock;
+    }
+
+    /**
+     * Loads the ring, creating the first key if there is none.
+     */
+    @PostConstruct
+    void initialize() {
+        reload(true);
+    }
+
+    /**
+     * Reloads the ring, adds a key when the newest one is due for rotation and drops expired keys.
+     */
+    @Scheduled(fixedDelayString = "${api.security.token.keys.check-interval:PT10M}",
+            initialDelayString = "${api.security.token.keys.check-interval:PT10M}")
+    public void rotate() {
+        try {
+            reload(true);
+        } catch (RuntimeException e) {
+            log.warn("Could not rotate JWT signing keys, keeping the current ring: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the key new tokens are signed with. A pending key takes over as soon as it has been
+     * published for the publish delay, without waiting for the next reload.
+     *
+     * @return the active signing key
+     */
+    public ActiveKey signingKey() {
+        KeySet current = keySet;
+        if (current.next() != null && !clock.instant().isBefore(current.promoteAt())) {
+            return current.next();
+        }
+        return current.active();
+    }
+
+    /**
+     * Returns the verifier for a key id. An unknown id triggers a rate-limited reload, so keys
+     * created by another instance are picked up without waiting for the next scheduled check.
+     *
+     * @param kid the key id from the token header
+     * @return the verifier, or null if no live key has this id
+     */
+    public JWTVerifier verifier(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        JWTVerifier verifier = keySet.verifiers().get(kid);
+        if (verifier == null && System.nanoTime() - lastReloadNanos > UNKNOWN_KID_RELOAD_COOLDOWN_NANOS) {
+            try {
+                reload(false);
+            } catch (RuntimeException e) {
+                log.warn("Could not reload JWT signing keys: {}", e.getMessage());
+            }
+            verifier = keySet.verifiers().get(kid);
+        }
+        return verifier;
+    }
+
+    /**
+     * Returns the public keys of the ring as a JWKS document.
+     *
+     * @return the serialized document and its strong ETag
+     */
+    public Jwks jwks() {
+        return keySet.jwks();
+    }
+
+    private synchronized void reload(boolean maintain) {
+        Instant now = clock.instant();
+        if (maintain) {
+            signingKeyRepository.deleteExpired(now);
+        }
+        List<SigningKeyEntity> keys = new ArrayList<>(signingKeyRepository.findByExpiresAtAfterOrderByCreatedAtDesc(now));
+        SigningKeyEntity newest = keys.stream()
+                .filter(key -> signingAlgorithm.name().equals(key.getAlgorithm()))
+                .findFirst()
+                .orElse(null);
+        if (newest == null || (maintain && !newest.getCreatedAt().plus(rotationPeriod).isAfter(now))) {
+            SigningKeyEntity created = signingKeyRepository.save(
+                    signingAlgorithm.generate(now, now.plus(keyLifetime), cipher));
+            log.info("Created JWT signing key {} ({}), published from now and signing from {}", created.getKid(),
+                    created.getAlgorithm(), newest == null ? now : now.plus(publishDelay));
+            keys.add(0, created);
+        }
+        this.keySet = buildKeySet(keys, now);
+        this.lastReloadNanos = System.nanoTime();
+    }
+
+    private KeySet buildKeySet(List<SigningKeyEntity> keys, Instant now) {
+        ActiveKey active = null;
+        ActiveKey next = null;
+        Instant promoteAt = null;
+        Map<String, JWTVerifier> verifiers = new HashMap<>();
+        List<Map<String, String>> jwks = new ArrayList<>();
+        for (SigningKeyEntity key : keys) {
+            SigningAlgorithm keyAlgorithm;
+            PublicKey publicKey;
+            PrivateKey privateKey;
+            try {
+                keyAlgorithm = SigningAlgorithm.valueOf(key.getAlgorithm());
+                publicKey = keyAlgorithm.decodePublic(key.getPublicKey());
+                privateKey = keyAlgorithm.decodePrivate(cipher.open(key.getKid(), key.getPrivateKey()));
+            } catch (IllegalArgumentException | GeneralSecurityException e) {
+                log.warn("Ignoring unreadable JWT signing key {}: {}", key.getKid(), e.getMessage());
+                continue;
+            }
+            Algorithm algorithm = keyAlgorithm.algorithm(publicKey, privateKey);
+            verifiers.put(key.getKid(), JWT.require(algorithm).withIssuer(JwtManager.TOKEN_ISSUER).build());
+            jwks.add(keyAlgorithm.jwk(key.getKid(), publicKey));
+            if (active == null && keyAlgorithm == signingAlgorithm) {
+                Instant publishedAt = key.getCreatedAt().plus(publishDelay);
+                if (!publishedAt.isAfter(now)) {
+                    active = new ActiveKey(key.getKid(), algorithm);
+                } else if (next == null) {
+                    next = new ActiveKey(key.getKid(), algorithm);
+                    promoteAt = publishedAt;
+                }
+            }
+        }
+        if (active == null) {
+            if (next == null) {
+                throw new IllegalStateException("No usable JWT signing key");
+            }
+            // No older key to sign with, on first start or after an algorithm change: sign with the new one now
+            active = next;
+            next = null;
+            promoteAt = null;
+        }
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(Map.of("keys", jwks));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize JWKS", e);
+        }
+        String etag = "\"" + TokenDigest.sha256(new String(json, StandardCharsets.UTF_8)) + "\"";
+        return new KeySet(active, next, promoteAt, Map.copyOf(verifiers), new Jwks(json, etag));
+    }
+
+    /**
+     * The key new tokens are signed with.
+     *
+     * @param kid the key id written to the token header
+     * @param algorithm the signing algorithm bound to the key
+     */
+    public record ActiveKey(String kid, Algorithm algorithm) {
+    }
+
+    /**
+     * A serialized JWKS document.
+     *
+     * @param json the document bytes
+     * @param etag the strong, quoted ETag of the document
+     */
+    public record Jwks(byte[] json, String etag) {
+    }
+
+    private record KeySet(ActiveKey active, ActiveKey next, Instant promoteAt, Map<String, JWTVerifier> verifiers,
+            Jwks jwks) {
+    }
+
+    /**
+     * Supported asymmetric signing algorithms.
+     */
+    private enum SigningAlgorithm {
+        RS256("RSA") {
+            @Override
+            void initialize(KeyPairGenerator generator) {
+                generator.initialize(2048);
+            }
+
+            @Override
+            Algorithm algorithm(PublicKey publicKey, PrivateKey privateKey) {
+                return Algorithm.RSA256((RSAPublicKey) publicKey, (RSAPrivateKey) privateKey);
+            }
+
+            @Override
+            void addJwkParameters(Map<String, String> jwk, PublicKey publicKey) {
+                RSAPublicKey rsaKey = (RSAPublicKey) publicKey;
+                jwk.put("n", base64Url(rsaKey.getModulus(), 0));
+                jwk.put("e", base64Url(rsaKey.getPublicExponent(), 0));
+            }
+        },
+        ES256("EC") {
+            @Override
+            void initialize(KeyPairGenerator generator) throws GeneralSecurityException {
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            }
+
+            @Override
+            Algorithm algorithm(PublicKey publicKey, PrivateKey privateKey) {
+                return Algorithm.ECDSA256((ECPublicKey) publicKey, (ECPrivateKey) privateKey);
+            }
+
+            @Override
+            void addJwkParameters(Map<String, String> jwk, PublicKey publicKey) {
+                ECPublicKey ecKey = (ECPublicKey) publicKey;
+                jwk.put("crv", "P-256");
+                jwk.put("x", base64Url(ecKey.getW().getAffineX(), 32));
+                jwk.put("y", base64Url(ecKey.getW().getAffineY(), 32));
+            }
+        };
+
+        private final String keyType;
+
+        SigningAlgorithm(String keyType) {
+            this.keyType = keyType;
+        }
+
+        abstract void initialize(KeyPairGenerator generator) throws GeneralSecurityException;
+
+        abstract Algorithm algorithm(PublicKey publicKey, PrivateKey privateKey);
+
+        abstract void addJwkParameters(Map<String, String> jwk, PublicKey publicKey);
+
+        SigningKeyEntity generate(Instant createdAt, Instant expiresAt, SigningKeyCipher cipher) {
+            try {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance(keyType);
+                initialize(generator);
+                KeyPair keyPair = generator.generateKeyPair();
+                String kid = UUID.randomUUID().toString();
+                return new SigningKeyEntity(kid, name(),
+                        Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()),
+                        cipher.seal(kid, keyPair.getPrivate().getEncoded()),
+                        createdAt, expiresAt);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Could not generate " + name() + " signing key", e);
+            }
+        }
+
+        PublicKey decodePublic(String encoded) throws GeneralSecurityException {
+            return KeyFactory.getInstance(keyType).generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+        }
+
+        PrivateKey decodePrivate(byte[] encoded) throws GeneralSecurityException {
+            return KeyFactory.getInstance(keyType).generatePrivate(new PKCS8EncodedKeySpec(encoded));
+        }
+
+        Map<String, String> jwk(String kid, PublicKey publicKey) {
+            Map<String, String> jwk = new LinkedHashMap<>();
+            jwk.put("kty", keyType);
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", name());
+            addJwkParameters(jwk, publicKey);
+            return jwk;
+        }
+
+        /**
+         * Encodes an unsigned big-endian integer, left-padded to {@code length} bytes when length is positive.
+         */
+        private static String base64Url(BigInteger value, int length) {
+            byte[] bytes = value.toByteArray();
+            int start = bytes.length > 1 && bytes[0] == 0 ? 1 : 0;
+            int size = Math.max(bytes.length - start, length);
+            byte[] unsigned = new byte[size];
+            System.arraycopy(bytes, start, unsigned, size - (bytes.length - start), bytes.length - start);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(unsigned);
+        }
+    }
+}
@@ -1,67 +1,114 @@
 package com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.exceptions.JWTCreationException;
+import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.auth0.jwt.interfaces.JWTVerifier;
 import com.ocoelhogabriel.manager_user_security.application.dto.TokenDetails;
-import com.ocoelhogabriel.manager_user_security.domain.entity.Role;
-import com.ocoelhogabriel.manager_user_security.domain.entity.User;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.PermissionBits;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.service.SecurityUser;
 import com.ocoelhogabriel.manager_user_security.infrastructure.security.service.UserDetailsServiceImpl;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.util.TokenDigest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtManager {
 
-    private static final String TOKEN_ISSUER = "user-security-api";
+    static final String TOKEN_ISSUER = "user-security-api";
     private static final String ROLES_CLAIM = "roles";
     private static final String USER_ID_CLAIM = "userId";
-
-    @Value("${api.security.token.secret}")
-    private String secret;
+    private static final String ROLE_IDS_CLAIM = "rid";
+    private static final String PERMISSIONS_CLAIM = "perm";
+    private static final String AUTHORITY_VERSION_CLAIM = "av";
 
     @Value("${api.security.expiration.time.minutes}")
     private long expirationTimeInMinutes;
 
+    @Value("${api.security.token.stateless-claims:false}")
+    private boolean statelessClaims;
+
     private final UserDetailsServiceImpl userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthorityVersion authorityVersion;
+    private final TokenRevocationStore revocationStore;
+    private final JwtKeyRing keyRing;
 
-    public JwtManager(UserDetailsServiceImpl userDetailsService) {
+    public JwtManager(UserDetailsServiceImpl userDetailsService, VerifiedTokenCache verifiedTokenCache,
+            AuthorityVersion authorityVersion, TokenRevocationStore revocationStore, JwtKeyRing keyRing) {
         this.userDetailsService = userDetailsService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.authorityVersion = authorityVersion;
+        this.revocationStore = revocationStore;
+        this.keyRing = keyRing;
+    }
+
+    /**
+     * Reads the authority version a token is about to be issued under. Must be called before the principal
+     * is loaded, so the version stamped into the token is never newer than the authorities it carries. The
+     * version is read from the database, since the locally cached one can lag behind a committed change.
+     *
+     * @return the version to pass to {@link #generateToken(SecurityUser, long)}; 0 when tokens carry no
+     *         authority claims
+     */
+    public long readAuthorityVersion() {
+        return statelessClaims ? authorityVersion.latest() : 0L;
     }
 
-    public TokenDetails generateToken(User user) {
+    /**
+     * Issues a token for an authenticated principal, using only the data the principal already carries.
+     *
+     * @param user the principal loaded during authentication
+     * @param version the authority version read by {@link #readAuthorityVersion()} before the principal was loaded
+     * @return the issued token and its timestamps
+     */
+    public TokenDetails generateToken(SecurityUser user, long version) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             Instant now = Instant.now();
             Instant expirationInstant = now.plusSeconds(expirationTimeInMinutes * 60);
 
             String roles = user.getRoles().stream()
-                    .map(Role::getName)
+                    .map(SecurityUser.RoleSummary::name)
                     .collect(Collectors.joining(","));
 
-            String token = JWT.create()
+            JwtKeyRing.ActiveKey signingKey = keyRing.signingKey();
+            JWTCreator.Builder builder = JWT.create()
+                    .withKeyId(signingKey.kid())
                     .withIssuer(TOKEN_ISSUER)
+                    .withJWTId(UUID.randomUUID().toString())
                     .withSubject(user.getUsername())
                     .withIssuedAt(Date.from(now))
                     .withExpiresAt(Date.from(expirationInstant))
                     .withClaim(ROLES_CLAIM, roles)
-                    .withClaim(USER_ID_CLAIM, user.getId().toString())
-                    .sign(algorithm);
+                    .withClaim(USER_ID_CLAIM, user.getId().toString());
+
+            if (statelessClaims) {
+                addAuthorityClaims(builder, user, version);
+            }
+
+            String token = builder.sign(signingKey.algorithm());
 
             return new TokenDetails(
                     user.getUsername(),
@@ -74,55 +121,181 @@ public class JwtManager {
         }
     }
 
+    /**
+     * Embeds the user's role ids, a per-resource action bitmap and the authority version,
+     * so the token alone is enough to build the authentication on later requests.
+     *
+     * @param builder the token builder
+     * @param user the user the token is issued for
+     * @param version the authority version read before the user was loaded
+     */
+    private void addAuthorityClaims(JWTCreator.Builder builder, SecurityUser user, long version) {
+        List<Long> roleIds = new ArrayList<>(user.getRoles().size());
+        for (SecurityUser.RoleSummary role : user.getRoles()) {
+            roleIds.add(role.id());
+        }
+        Map<String, Object> permissions = new HashMap<>(user.getAuthorityIndex().getResourceBits());
+        builder.withClaim(ROLE_IDS_CLAIM, roleIds)
+                .withClaim(PERMISSIONS_CLAIM, permissions)
+                .withClaim(AUTHORITY_VERSION_CLAIM, version);
+    }
+
     public String validateToken(String token) {
+        return verify(token).getSubject();
+    }
+
+    /**
+     * Verifies the token signature and claims, answering from the verified-token cache when possible.
+     * The signature is checked with the verifier of the key named in the token's {@code kid} header.
+     *
+     * @param token the raw token
+     * @return the verified token
+     * @throws AccessDeniedException if the token is expired, revoked or cannot be verified
+     */
+    public DecodedJWT verify(String token) {
+        DecodedJWT jwt;
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            JWTVerifier verifier = JWT.require(algorithm)
-                    .withIssuer(TOKEN_ISSUER)
-                    .build();
-            return verifier.verify(token).getSubject();
+            jwt = verifiedTokenCache.get(token, this::verifySignature);
         } catch (TokenExpiredException e) {
             throw new AccessDeniedException("Token has expired", e);
         } catch (JWTVerificationException e) {
             throw new AccessDeniedException("Token verification failed", e);
         }
+        if (revocationStore.isRevoked(revocationKey(jwt))) {
+            throw new AccessDeniedException("Token has been revoked");
+        }
+        return jwt;
+    }
+
+    private DecodedJWT verifySignature(String token) {
+        DecodedJWT decoded = JWT.decode(token);
+        JWTVerifier verifier = keyRing.verifier(decoded.getKeyId());
+        if (verifier == null) {
+            throw new JWTVerificationException("Token is not signed by a known key");
+        }
+        return verifier.verify(decoded);
     }
 
-    public Optional<TokenDetails> refreshToken(String token) {
+    /**
+     * Revokes a token until it expires and drops it from the verified-token cache.
+     * Only tokens with a valid signature are recorded, and never for longer than a token issued now would
+     * live, so forged tokens cannot plant entries in the revocation store. Tokens that fail verification
+     * or are already expired need no revocation.
+     *
+     * @param token the raw token
+     * @return true if the token was recorded as revoked
+     */
+    public boolean revoke(String token) {
+        DecodedJWT jwt;
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            JWTVerifier verifier = JWT.require(algorithm)
-                    .withIssuer(TOKEN_ISSUER)
-                    .build();
-            DecodedJWT decodedJWT = verifier.verify(token);
-            String username = decodedJWT.getSubject();
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            User user = (User) userDetails; // Assuming UserDetailsImpl returns your domain User
-            return Optional.of(generateToken(user));
-        } catch (TokenExpiredException e) {
-            // If token is expired, we can still refresh it
-            DecodedJWT decodedJWT = JWT.decode(token);
-            String username = decodedJWT.getSubject();
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            // This assumes your UserDetails implementation can be cast to your domain User
-            if (userDetails instanceof User) {
-                return Optional.of(generateToken((User) userDetails));
-            } else {
-                 // Or fetch the user from the database if the cast is not possible
-                 // This part depends on your UserDetailsServiceImpl implementation
-                 return Optional.empty(); 
-            }
+            jwt = verifiedTokenCache.get(token, this::verifySignature);
         } catch (JWTVerificationException e) {
-            return Optional.empty();
+            // Not a token we issued, or one that is already expired: nothing to revoke
+            return false;
+        } finally {
+            verifiedTokenCache.evict(token);
         }
+        Instant latestExpiry = Instant.now().plusSeconds(expirationTimeInMinutes * 60);
+        Instant expiresAt = jwt.getExpiresAtAsInstant();
+        revocationStore.revoke(revocationKey(jwt),
+                expiresAt == null || expiresAt.isAfter(latestExpiry) ? latestExpiry : expiresAt);
+        return true;
     }
 
+    /**
+     * Checks whether a token has been revoked, without verifying it.
+     *
+     * @param token the raw token
+     * @return true if the token has been revoked
+     */
+    public boolean isRevoked(String token) {
+        try {
+            return revocationStore.isRevoked(revocationKey(JWT.decode(token)));
+        } catch (JWTDecodeException e) {
+            return false;
+        }
+    }
+
+    private static String revocationKey(DecodedJWT jwt) {
+        String jti = jwt.getId();
+        return jti != null ? jti : TokenDigest.sha256(jwt.getToken());
+    }
+
+    /**
+     * Builds the authentication for a token. Tokens carrying authority claims are resolved
+     * from the verified claims alone; other tokens fall back to loading the user.
+     *
+     * @param token the raw token
+     * @return the authentication
+     * @throws AccessDeniedException if the token is invalid or its embedded authorities are outdated
+     */
     public Authentication getAuthentication(String token) {
-        String username = validateToken(token);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        DecodedJWT jwt = verify(token);
+        if (statelessClaims && !jwt.getClaim(AUTHORITY_VERSION_CLAIM).isMissing()) {
+            return getAuthenticationFromClaims(jwt);
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(jwt.getSubject());
+        if (userDetails instanceof SecurityUser securityUser) {
+            return new IndexedAuthenticationToken(securityUser);
+        }
         return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
     }
 
+    private Authentication getAuthenticationFromClaims(DecodedJWT jwt) {
+        Long userId = parseUserId(jwt.getClaim(USER_ID_CLAIM).asString());
+        Long version = jwt.getClaim(AUTHORITY_VERSION_CLAIM).asLong();
+        if (version == null || !authorityVersion.isCurrent(version, userId, jwt.getIssuedAtAsInstant())) {
+            throw new AccessDeniedException("Token authorities are outdated, please sign in again");
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        String roles = jwt.getClaim(ROLES_CLAIM).asString();
+        if (roles != null && !roles.isEmpty()) {
+            for (String role : roles.split(",")) {
+                authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+            }
+        }
+        Map<String, Object> permissions = jwt.getClaim(PERMISSIONS_CLAIM).asMap();
+        if (permissions != null) {
+            permissions.forEach((resource, bits) -> {
+                for (String action : PermissionBits.toActions(((Number) bits).intValue())) {
+                    authorities.add(new SimpleGrantedAuthority(resource + ":" + action));
+                }
+            });
+        }
+
+        return new IndexedAuthenticationToken(new SecurityUser(userId, jwt.getSubject(), "", true, authorities));
+    }
+
+    private static Long parseUserId(String userId) {
+        try {
+            return userId == null ? null : Long.valueOf(userId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the role names carried by a verified token.
+     *
+     * @param jwt the verified token
+     * @return the role names, empty if the token carries none
+     */
+    public List<String> getRoles(DecodedJWT jwt) {
+        String roles = jwt.getClaim(ROLES_CLAIM).asString();
+        return roles == null || roles.isEmpty() ? List.of() : List.of(roles.split(","));
+    }
+
+    /**
+     * Returns the user id carried by a verified token.
+     *
+     * @param jwt the verified token
+     * @return the user id, or null if the token carries none
+     */
+    public String getUserId(DecodedJWT jwt) {
+        return jwt.getClaim(USER_ID_CLAIM).asString();
+    }
+
     public Optional<String> getUserIdFromToken(String token) {
         try {
             DecodedJWT jwt = JWT.decode(token);
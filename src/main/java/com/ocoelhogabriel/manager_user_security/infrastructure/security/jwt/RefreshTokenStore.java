@@ -0,0 +1,206 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.RefreshTokenEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.RefreshTokenJpaRepository;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.util.TokenDigest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ * <p>
+ * A refresh token is 256 random bits; only its SHA-256 digest is stored in the {@code refresh_tokens}
+ * table, so a refresh is a primary-key lookup with no password hashing. Every use rotates the token:
+ * the presented token is atomically marked as used and a successor is issued in the same family.
+ * Presenting a token that was already used means it was copied, so the whole family is revoked.
+ * Expired rows are deleted in batches by a scheduled purge.
+ */
+@Component
+public class RefreshTokenStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenStore.class);
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+    private final RefreshTokenJpaRepository refreshTokenRepository;
+    private final Duration timeToLive;
+    private final int purgeBatchSize;
+    private final Counter rotated;
+    private final Counter rejected;
+    private final Counter reused;
+
+    /**
+     * Constructor for RefreshTokenStore.
+     *
+     * @param refreshTokenRepository the repository refresh tokens are persisted to
+     * @param timeToLive how long a refresh token can be used after it is issued
+     * @param purgeBatchSize the number of expired rows deleted per statement
+     * @param meterRegistry the registry the refresh outcomes are counted in
+     */
+    public RefreshTokenStore(
+            RefreshTokenJpaRepository refreshTokenRepository,
+            @Value("${api.security.refresh-token.time-to-live:P14D}") Duration timeToLive,
+            @Value("${api.security.refresh-token.purge-batch-size:1000}") int purgeBatchSize,
+            MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.timeToLive = timeToLive;
+        this.purgeBatchSize = purgeBatchSize;
+        this.rotated = counter(meterRegistry, "rotated");
+        this.rejected = counter(meterRegistry, "rejected");
+        this.reused = counter(meterRegistry, "reused");
+    }
+
+    /**
+     * Starts a new token family for a user who just signed in.
+     *
+     * @param userId the user id
+     * @param username the username
+     * @return the issued refresh token
+     */
+    @Transactional
+    public IssuedRefreshToken issue(Long userId, String username) {
+        return issue(UUID.randomUUID().toString(), userId, username, Instant.now());
+    }
+
+    /**
+     * Exchanges a refresh token for its successor.
+     *
+     * @param token the raw refresh token
+     * @return the successor token, empty if the token is unknown, expired, revoked or was already used
+     */
+    @Transactional
+    public Optional<IssuedRefreshToken> rotate(String token) {
+        if (token == null || token.isBlank()) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        String tokenHash = TokenDigest.sha256(token);
+        RefreshTokenEntity current = refreshTokenRepository.findById(tokenHash).orElse(null);
+        if (current == null || current.isRevoked() || !current.getExpiresAt().isAfter(now)) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        if (refreshTokenRepository.markUsed(tokenHash, now) == 0) {
+            // Someone else already exchanged this token: treat the family as compromised
+            int revokedTokens = refreshTokenRepository.revokeFamily(current.getFamilyId());
+            log.warn("Refresh token reuse detected for user {}, revoked {} tokens of family {}",
+                    current.getUsername(), revokedTokens, current.getFamilyId());
+            reused.increment();
+            return Optional.empty();
+        }
+        rotated.increment();
+        return Optional.of(issue(current.getFamilyId(), current.getUserId(), current.getUsername(), now));
+    }
+
+    /**
+     * Looks up the user a refresh token was issued to, whether or not it is still usable.
+     *
+     * @param token the raw refresh token
+     * @return the user id, empty if the token is unknown
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findOwner(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        return refreshTokenRepository.findById(TokenDigest.sha256(token)).map(RefreshTokenEntity::getUserId);
+    }
+
+    /**
+     * Revokes the family of a refresh token, ending every session derived from the same login.
+     *
+     * @param token the raw refresh token
+     */
+    @Transactional
+    public void revoke(String token) {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findById(TokenDigest.sha256(token))
+                .ifPresent(entity -> refreshTokenRepository.revokeFamily(entity.getFamilyId()));
+    }
+
+    /**
+     * Revokes every token family of a user, ending all of the user's sessions. Runs in the caller's
+     * transaction, so the revocation commits together with the change that required it.
+     *
+     * @param userId the user id
+     * @return the number of revoked tokens
+     */
+    @Transactional
+    public int revokeAll(Long userId) {
+        int revokedTokens = refreshTokenRepository.revokeAllByUserId(userId);
+        if (revokedTokens > 0) {
+            log.debug("Revoked {} refresh tokens of user {}", revokedTokens, userId);
+        }
+        return revokedTokens;
+    }
+
+    /**
+     * Deletes expired refresh tokens in batches, so a large backlog never becomes one long transaction.
+     */
+    @Scheduled(fixedDelayString = "${api.security.refresh-token.purge-interval:PT1H}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int purged = 0;
+        try {
+            List<String> batch;
+            do {
+                batch = refreshTokenRepository.findExpiredTokenHashes(now, PageRequest.of(0, purgeBatchSize));
+                if (!batch.isEmpty()) {
+                    refreshTokenRepository.deleteAllByIdInBatch(batch);
+                    purged += batch.size();
+                }
+            } while (batch.size() == purgeBatchSize);
+        } catch (RuntimeException e) {
+            log.warn("Could not purge expired refresh tokens: {}", e.getMessage());
+        }
+        if (purged > 0) {
+            log.debug("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private IssuedRefreshToken issue(String familyId, Long userId, String username, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant expiresAt = now.plus(timeToLive);
+        refreshTokenRepository.save(new RefreshTokenEntity(TokenDigest.sha256(token), familyId, userId, username, now, expiresAt));
+        return new IssuedRefreshToken(token, expiresAt, userId, username);
+    }
+
+    private static Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder("security.refresh-tokens")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * A freshly issued refresh token and the user it belongs to.
+     *
+     * @param token the raw token, returned to the client once and never stored
+     * @param expiresAt when the token expires
+     * @param userId the user id
+     * @param username the username
+     */
+    public record IssuedRefreshToken(String token, Instant expiresAt, Long userId, String username) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over revoked token keys.
+ * A negative answer is definitive, so most lookups never reach the revocation map.
+ * Bits can only be set; the filter is rebuilt and swapped when expired keys are purged.
+ */
+final class RevocationBloomFilter {
+
+    private static final int HASH_FUNCTIONS = 5;
+    private static final int BITS_PER_KEY = 10;
+    private static final int MIN_BITS = 1 << 12;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+
+    /**
+     * Creates a filter sized for about 1% false positives at the expected number of keys.
+     *
+     * @param expectedKeys the expected number of keys
+     */
+    RevocationBloomFilter(int expectedKeys) {
+        long bits = Math.max(MIN_BITS, (long) Math.max(expectedKeys, 1) * BITS_PER_KEY);
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) >>> 6);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+    }
+
+    void add(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a followed by a murmur finalizer, enough to spread jti and digest keys.
+     */
+    private static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,102 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encrypts the private halves of JWT signing keys before they are written to {@code jwt_signing_keys}.
+ * <p>
+ * Values are AES-GCM encrypted with a configured key-encryption key and the key id as associated data, so
+ * a row copied under another kid does not decrypt. Encrypted values carry a prefix; values without it are
+ * plain Base64 PKCS#8 keys written before a key-encryption key was configured, and are still read.
+ */
+final class SigningKeyCipher {
+
+    private static final String PREFIX = "aesgcm:";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Constructor for SigningKeyCipher.
+     *
+     * @param encodedKey the Base64 encoded 128, 192 or 256 bit AES key; blank stores private keys unencrypted
+     */
+    SigningKeyCipher(String encodedKey) {
+        if (encodedKey == null || encodedKey.isBlank()) {
+            this.key = null;
+            return;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(encodedKey.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("The signing key encryption key is not valid Base64", e);
+        }
+        if (bytes.length != 16 && bytes.length != 24 && bytes.length != 32) {
+            throw new IllegalStateException("The signing key encryption key must be 16, 24 or 32 bytes long");
+        }
+        this.key = new SecretKeySpec(bytes, "AES");
+    }
+
+    /**
+     * Returns the stored form of a private key.
+     *
+     * @param kid the id of the key, bound to the ciphertext
+     * @param encoded the PKCS#8 encoded private key
+     * @return the encrypted value, or the plain Base64 encoding when no key-encryption key is configured
+     */
+    String seal(String kid, byte[] encoded) {
+        if (key == null) {
+            return Base64.getEncoder().encodeToString(encoded);
+        }
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] ciphertext = cipher.doFinal(encoded);
+            byte[] stored = ByteBuffer.allocate(iv.length + ciphertext.length).put(iv).put(ciphertext).array();
+            return PREFIX + Base64.getEncoder().encodeToString(stored);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt signing key " + kid, e);
+        }
+    }
+
+    /**
+     * Returns the PKCS#8 encoding of a stored private key.
+     *
+     * @param kid the id of the key
+     * @param stored the value read from the table
+     * @return the PKCS#8 encoded private key
+     * @throws GeneralSecurityException if the value is encrypted and cannot be decrypted with the configured key
+     */
+    byte[] open(String kid, String stored) throws GeneralSecurityException {
+        if (!stored.startsWith(PREFIX)) {
+            return Base64.getDecoder().decode(stored);
+        }
+        if (key == null) {
+            throw new GeneralSecurityException("the key is encrypted and no encryption key is configured");
+        }
+        byte[] value = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+        if (value.length <= IV_LENGTH) {
+            throw new GeneralSecurityException("the encrypted key is truncated");
+        }
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, value, 0, IV_LENGTH));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(value, IV_LENGTH, value.length - IV_LENGTH);
+    }
+}
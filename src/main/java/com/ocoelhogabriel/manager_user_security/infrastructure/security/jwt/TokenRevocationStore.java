@@ -0,0 +1,206 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.RevokedTokenEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.RevokedTokenJpaRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Store of revoked tokens, keyed by the token's jti (or digest for tokens issued without one).
+ * <p>
+ * Lookups are lock-free: a Bloom filter answers most of them, and only possible hits reach the
+ * concurrent map. Every entry is also kept in an expiry-ordered index, so a scheduled purge drops
+ * exactly the entries whose token has expired and memory stays proportional to the live revocations.
+ * Revocations are written to the {@code revoked_tokens} table, loaded at startup and then synchronized
+ * incrementally by revocation time, so a token revoked on another instance is rejected here within one
+ * sync interval. Each sync re-reads a short overlap before the newest row seen, so rows committed late or
+ * stamped by a slightly skewed clock are not missed.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Revocation> expiryIndex = new ConcurrentSkipListSet<>(
+            Comparator.comparing(Revocation::expiresAt).thenComparing(Revocation::key));
+    private final Object writeLock = new Object();
+    private final RevokedTokenJpaRepository revokedTokenRepository;
+    private final int expectedRevocations;
+
+    private volatile RevocationBloomFilter bloomFilter;
+    private volatile Instant lastRevokedAt;
+
+    /**
+     * Constructor for TokenRevocationStore.
+     *
+     * @param revokedTokenRepository the repository revocations are persisted to
+     * @param expectedRevocations the number of live revocations the Bloom filter is sized for
+     * @param meterRegistry the registry the store size is published to
+     */
+    public TokenRevocationStore(
+            RevokedTokenJpaRepository revokedTokenRepository,
+            @Value("${api.security.token.revocation.expected-size:10000}") int expectedRevocations,
+            MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.bloomFilter = new RevocationBloomFilter(expectedRevocations);
+        Gauge.builder("jwt.revoked-tokens", revoked, Map::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether a token key has been revoked.
+     *
+     * @param key the token jti or digest
+     * @return true if the token has been revoked and has not expired yet
+     */
+    public boolean isRevoked(String key) {
+        if (key == null || !bloomFilter.mightContain(key)) {
+            return false;
+        }
+        return revoked.containsKey(key);
+    }
+
+    /**
+     * Revokes a token until it expires. Tokens that are already expired are ignored.
+     *
+     * @param key the token jti or digest
+     * @param expiresAt when the token expires
+     */
+    public void revoke(String key, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (key == null || expiresAt == null || !expiresAt.isAfter(now)) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (revoked.putIfAbsent(key, expiresAt) != null) {
+                return;
+            }
+            bloomFilter.add(key);
+            expiryIndex.add(new Revocation(key, expiresAt));
+        }
+        revokedTokenRepository.save(new RevokedTokenEntity(key, expiresAt, now));
+    }
+
+    /**
+     * Loads the revocations that are still relevant once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int loaded;
+        synchronized (writeLock) {
+            loaded = addAll(revokedTokenRepository.findByExpiresAtAfter(Instant.now()));
+            rebuildBloomFilter();
+        }
+        log.info("Loaded {} token revocations", loaded);
+    }
+
+    /**
+     * Picks up the revocations other instances wrote since the newest one seen.
+     */
+    @Scheduled(fixedDelayString = "${api.security.token.revocation.sync-interval:PT5S}",
+            initialDelayString = "${api.security.token.revocation.sync-interval:PT5S}")
+    public void sync() {
+        Instant since = lastRevokedAt;
+        if (since == null) {
+            load();
+            return;
+        }
+        int loaded;
+        try {
+            List<RevokedTokenEntity> rows = revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(
+                    since.minus(SYNC_OVERLAP), Instant.now());
+            synchronized (writeLock) {
+                loaded = addAll(rows);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not synchronize token revocations: {}", e.getMessage());
+            return;
+        }
+        if (loaded > 0) {
+            log.debug("Synchronized {} token revocations", loaded);
+        }
+    }
+
+    /**
+     * Adds persisted revocations that are not known yet and advances the newest revocation seen.
+     * Must hold the write lock.
+     *
+     * @return the number of added revocations
+     */
+    private int addAll(List<RevokedTokenEntity> entities) {
+        int added = 0;
+        Instant newest = lastRevokedAt;
+        for (RevokedTokenEntity entity : entities) {
+            if (revoked.putIfAbsent(entity.getTokenKey(), entity.getExpiresAt()) == null) {
+                bloomFilter.add(entity.getTokenKey());
+                expiryIndex.add(new Revocation(entity.getTokenKey(), entity.getExpiresAt()));
+                added++;
+            }
+            if (newest == null || entity.getRevokedAt().isAfter(newest)) {
+                newest = entity.getRevokedAt();
+            }
+        }
+        lastRevokedAt = newest != null ? newest : Instant.now();
+        return added;
+    }
+
+    /**
+     * Drops revocations of tokens that have expired, both in memory and in the table.
+     */
+    @Scheduled(fixedDelayString = "${api.security.token.revocation.purge-interval:PT1M}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int purged = 0;
+        synchronized (writeLock) {
+            Revocation head;
+            while ((head = expiryIndex.pollFirst()) != null) {
+                if (head.expiresAt().isAfter(now)) {
+                    expiryIndex.add(head);
+                    break;
+                }
+                revoked.remove(head.key(), head.expiresAt());
+                purged++;
+            }
+            if (purged > 0) {
+                rebuildBloomFilter();
+            }
+        }
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        if (purged > 0 || deleted > 0) {
+            log.debug("Purged {} expired token revocations ({} rows)", purged, deleted);
+        }
+    }
+
+    /**
+     * Replaces the Bloom filter with one holding only the live keys. Must hold the write lock.
+     */
+    private void rebuildBloomFilter() {
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter(Math.max(expectedRevocations, revoked.size() * 2));
+        revoked.keySet().forEach(rebuilt::add);
+        this.bloomFilter = rebuilt;
+    }
+
+    private record Revocation(String key, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.util.TokenDigest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of tokens whose signature and claims have already been verified.
+ * Entries are keyed by the token digest and never outlive the token's own {@code exp} claim.
+ * Hit, miss and eviction counts are published under the {@code jwt.verified-tokens} cache name.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private final Cache<String, DecodedJWT> cache;
+
+    /**
+     * Constructor for VerifiedTokenCache.
+     *
+     * @param maximumSize the maximum number of verified tokens kept in memory
+     * @param maximumTtl the upper bound for how long a verified token is trusted without re-verification
+     * @param meterRegistry the registry the cache statistics are published to
+     */
+    public VerifiedTokenCache(
+            @Value("${api.security.token.cache.maximum-size:10000}") long maximumSize,
+            @Value("${api.security.token.cache.maximum-ttl:PT5M}") Duration maximumTtl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(maximumTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the verified token, verifying and caching it on a miss.
+     * Verification failures are propagated and never cached.
+     *
+     * @param token the raw token
+     * @param verifier the function that verifies a token not present in the cache
+     * @return the verified token
+     */
+    public DecodedJWT get(String token, Function<String, DecodedJWT> verifier) {
+        return cache.get(TokenDigest.sha256(token), digest -> verifier.apply(token));
+    }
+
+    /**
+     * Removes a token from the cache, forcing the next use to be verified again.
+     *
+     * @param token the raw token
+     */
+    public void evict(String token) {
+        cache.invalidate(TokenDigest.sha256(token));
+    }
+
+    /**
+     * Removes every cached token.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Expiry policy that caps the configured TTL by the remaining lifetime of the token.
+     */
+    private record TokenExpiry(long maximumTtlNanos) implements Expiry<String, DecodedJWT> {
+
+        @Override
+        public long expireAfterCreate(String key, DecodedJWT jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAtAsInstant();
+            if (expiresAt == null) {
+                return maximumTtlNanos;
+            }
+            long remaining = Duration.between(Instant.now(), expiresAt).toNanos();
+            return Math.max(0L, Math.min(maximumTtlNanos, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
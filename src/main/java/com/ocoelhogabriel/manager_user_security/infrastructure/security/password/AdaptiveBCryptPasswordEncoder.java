@@ -0,0 +1,56 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.password;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder that reports any stored hash whose cost differs from the current strength
+ * as needing an upgrade, so hashes follow the configured strength both up and down.
+ */
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+
+    /**
+     * Constructor for AdaptiveBCryptPasswordEncoder.
+     *
+     * @param strength the log rounds used for new hashes
+     */
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Returns the log rounds used for new hashes.
+     *
+     * @return the strength
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost > 0 && cost != strength;
+    }
+
+    /**
+     * Extracts the cost from a hash in the {@code $2a$NN$...} format.
+     *
+     * @param encodedPassword the stored hash
+     * @return the cost, or -1 if the hash is not a BCrypt hash
+     */
+    private static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(units)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+}
@@ -0,0 +1,51 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.password;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Picks the BCrypt strength whose hashing time on this machine stays within a target latency.
+ * Each extra strength point doubles the work, so a single timed hash at the minimum strength
+ * is enough to extrapolate the rest.
+ */
+public final class BCryptStrengthCalibrator {
+
+    /** Lowest strength the calibration will choose, the Spring Security default. */
+    public static final int MIN_STRENGTH = 10;
+
+    /** Highest strength the calibration will choose. */
+    public static final int MAX_STRENGTH = 16;
+
+    private static final int WARM_UP_ROUNDS = 2;
+
+    private BCryptStrengthCalibrator() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Returns the highest strength between {@link #MIN_STRENGTH} and {@link #MAX_STRENGTH}
+     * whose estimated hashing time does not exceed the target.
+     *
+     * @param targetLatency the acceptable time for a single hash
+     * @return the calibrated strength
+     */
+    public static int calibrate(Duration targetLatency) {
+        long elapsed = Long.MAX_VALUE;
+        String salt = BCrypt.gensalt(MIN_STRENGTH);
+        // The first rounds run interpreted; keep the fastest measurement
+        for (int i = 0; i <= WARM_UP_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            elapsed = Math.min(elapsed, System.nanoTime() - start);
+        }
+
+        long target = targetLatency.toNanos();
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH && elapsed * 2 <= target) {
+            elapsed *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
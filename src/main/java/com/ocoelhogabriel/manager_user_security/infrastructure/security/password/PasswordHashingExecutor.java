@@ -0,0 +1,111 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.password;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ocoelhogabriel.manager_user_security.application.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded worker pool for CPU-heavy password hashing.
+ * Logins run their hash here instead of on the request thread, so a login burst can use at most
+ * the configured number of cores; once the queue is full further logins are rejected immediately.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Constructor for PasswordHashingExecutor.
+     *
+     * @param threads the number of worker threads, 0 for half of the available processors
+     * @param queueCapacity the number of logins allowed to wait for a worker
+     * @param meterRegistry the registry the pool gauges are published to
+     */
+    public PasswordHashingExecutor(
+            @Value("${api.security.login.threads:0}") int threads,
+            @Value("${api.security.login.queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("security.login.queue", executor, e -> e.getQueue().size())
+                .description("Logins waiting for a password hashing worker")
+                .register(meterRegistry);
+        Gauge.builder("security.login.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing workers currently busy")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the task on the hashing pool and waits for its result.
+     * Runtime exceptions thrown by the task are rethrown unchanged.
+     *
+     * @param <T> the result type
+     * @param task the task performing the hashing
+     * @return the result of the task
+     * @throws ServiceUnavailableException if the pool and its queue are full
+     */
+    public <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many concurrent logins, please try again shortly", e);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Login was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    /**
+     * Stops the workers when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Creates named daemon worker threads.
+     */
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package com.ocoelhogabriel.manager_user_security.infrastructure.security.permission;
 
 import java.io.Serializable;
-import java.util.Collection;
 
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.AuthorityIndex;
+
 /**
  * Custom permission evaluator for Spring Security.
  * This class is responsible for evaluating if a user has permission to access a resource.
@@ -48,28 +48,14 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
      * @return true if the user has permission, false otherwise
      */
     private boolean hasResourcePermission(Authentication authentication, String resource, String action) {
+        AuthorityIndex authorityIndex = AuthorityIndex.of(authentication);
+
         // Check for admin role which has access to everything
-        if (hasRole(authentication, "ADMIN")) {
+        if (authorityIndex.hasRole("ADMIN")) {
             return true;
         }
         
         // Check for specific permission
-        String requiredPermission = resource + ":" + action;
-        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
-        
-        return authorities.stream()
-                .anyMatch(authority -> authority.getAuthority().equals(requiredPermission));
-    }
-    
-    /**
-     * Checks if the authenticated user has a specific role.
-     * 
-     * @param authentication the authentication
-     * @param role the role
-     * @return true if the user has the role, false otherwise
-     */
-    private boolean hasRole(Authentication authentication, String role) {
-        return authentication.getAuthorities().stream()
-                .anyMatch(authority -> authority.getAuthority().equals("ROLE_" + role));
+        return authorityIndex.hasPermission(resource, action);
     }
 }
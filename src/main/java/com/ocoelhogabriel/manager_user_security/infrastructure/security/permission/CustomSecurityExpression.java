@@ -4,6 +4,8 @@ import org.springframework.security.access.expression.SecurityExpressionRoot;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
 import org.springframework.security.core.Authentication;
 
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.AuthorityIndex;
+
 /**
  * Custom security expression class that extends Spring Security's expression system.
  * This class adds custom permission checks to be used in @PreAuthorize annotations.
@@ -31,15 +33,15 @@ public class CustomSecurityExpression extends SecurityExpressionRoot implements
      * @return true if the user has permission, false otherwise
      */
     public boolean hasResourcePermission(String resource, String action) {
+        AuthorityIndex authorityIndex = AuthorityIndex.of(getAuthentication());
+
         // Check for admin role which has access to everything
-        if (hasRole("ADMIN")) {
+        if (authorityIndex.hasRole("ADMIN")) {
             return true;
         }
         
         // Check for specific permission
-        String requiredPermission = resource + ":" + action;
-        return getAuthentication().getAuthorities().stream()
-                .anyMatch(authority -> authority.getAuthority().equals(requiredPermission));
+        return authorityIndex.hasPermission(resource, action);
     }
 
     @Override
@@ -0,0 +1,152 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.service;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization.AuthorityIndex;
+
+/**
+ * Immutable {@link UserDetails} carrying the prebuilt {@link AuthorityIndex} of the user.
+ * It also carries the user's id and roles, so login and refresh can mint a token and build
+ * the response from the one principal loaded during authentication.
+ * <p>
+ * It deliberately does not implement {@code CredentialsContainer}: instances may be shared between
+ * requests, and erasing the password after one authentication would break the next one.
+ */
+public final class SecurityUser implements UserDetails, AuthorityIndex.IndexedAuthorities {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final boolean enabled;
+    private final List<GrantedAuthority> authorities;
+    private final List<RoleSummary> roles;
+    private final transient AuthorityIndex authorityIndex;
+
+    /**
+     * Constructor for SecurityUser without role details, used when the user is built from token claims.
+     *
+     * @param id the user id, may be null when unknown
+     * @param username the username
+     * @param password the password hash, may be empty when the user was built from token claims
+     * @param enabled whether the user is active
+     * @param authorities the granted authorities
+     */
+    public SecurityUser(Long id, String username, String password, boolean enabled,
+            Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, password, enabled, authorities, List.of());
+    }
+
+    /**
+     * Constructor for SecurityUser.
+     *
+     * @param id the user id, may be null when unknown
+     * @param username the username
+     * @param password the password hash, may be empty when the user was built from token claims
+     * @param enabled whether the user is active
+     * @param authorities the granted authorities
+     * @param roles the user's roles, in a stable order
+     */
+    public SecurityUser(Long id, String username, String password, boolean enabled,
+            Collection<? extends GrantedAuthority> authorities, List<RoleSummary> roles) {
+        this.id = id;
+        this.username = Objects.requireNonNull(username, "Username cannot be null");
+        this.password = password != null ? password : "";
+        this.enabled = enabled;
+        this.authorities = List.copyOf(authorities);
+        this.roles = List.copyOf(roles);
+        this.authorityIndex = AuthorityIndex.from(this.authorities);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the user's roles. Empty when the user was built from token claims.
+     *
+     * @return the immutable list of roles
+     */
+    public List<RoleSummary> getRoles() {
+        return roles;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public AuthorityIndex getAuthorityIndex() {
+        return authorityIndex != null ? authorityIndex : AuthorityIndex.from(authorities);
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SecurityUser that)) return false;
+        return username.equals(that.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return username.hashCode();
+    }
+
+    /**
+     * Identity and description of one of the user's roles.
+     *
+     * @param id the role id
+     * @param name the role name
+     * @param description the role description, may be null
+     */
+    public record RoleSummary(Long id, String name, String description) implements Serializable {
+    }
+
+    @Override
+    public String toString() {
+        return "SecurityUser{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", enabled=" + enabled +
+                ", authorities=" + authorities +
+                '}';
+    }
+}
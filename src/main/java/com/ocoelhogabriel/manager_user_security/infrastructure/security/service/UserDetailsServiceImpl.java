@@ -1,53 +1,151 @@
 package com.ocoelhogabriel.manager_user_security.infrastructure.security.service;
 
+import java.time.Duration;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ocoelhogabriel.manager_user_security.application.event.AuthorizationChangedEvent;
+import com.ocoelhogabriel.manager_user_security.domain.entity.Role;
 import com.ocoelhogabriel.manager_user_security.domain.entity.User;
 import com.ocoelhogabriel.manager_user_security.domain.repository.UserRepository;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt.AuthorityVersion;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 /**
  * Service to load user-specific data for Spring Security.
+ * Loaded users are kept as immutable {@link SecurityUser} snapshots in a bounded cache
+ * keyed by username; concurrent misses for the same username share a single query.
+ * User, role, permission and resource changes invalidate the cache once their transaction commits.
+ * Changes made on other instances are caught through the shared {@link AuthorityVersion}: every snapshot
+ * keeps the global version and the user's latest change it was loaded under, and is reloaded as soon as
+ * either moved on.
  */
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    private static final String CACHE_NAME = "security.user-details";
+
     private final UserRepository userRepository;
+    private final AuthorityVersion authorityVersion;
+    private final Cache<String, CachedUser> cache;
 
     /**
      * Constructor for UserDetailsServiceImpl.
      * 
      * @param userRepository the user repository
+     * @param authorityVersion the shared record of authorization changes
+     * @param maximumSize the maximum number of users kept in memory
+     * @param timeToLive how long a loaded user is served before it is read again
+     * @param meterRegistry the registry the cache statistics are published to
      */
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, AuthorityVersion authorityVersion,
+            @Value("${api.security.user-details.cache.maximum-size:10000}") long maximumSize,
+            @Value("${api.security.user-details.cache.time-to-live:PT5M}") Duration timeToLive,
+            MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.authorityVersion = authorityVersion;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
     }
 
+    /**
+     * Returns the cached user, loading it on a miss or when the authorization data changed since it was cached.
+     * Unknown usernames are not cached, so a user created afterwards is found on the next call.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        if (username == null) {
+            throw new UsernameNotFoundException("User not found: null");
+        }
+        CachedUser cached = cache.getIfPresent(username);
+        if (cached != null) {
+            if (cached.isCurrent(authorityVersion)) {
+                return cached.user();
+            }
+            cache.asMap().remove(username, cached);
+        }
+        return cache.get(username, this::load).user();
+    }
+
+    /**
+     * Drops cached users affected by an authorization change once the surrounding transaction has committed.
+     * A user or credentials change evicts that user by name and by id, so a rename does not leave the old entry behind;
+     * role, permission and resource changes may affect any user and clear the whole cache.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        if (event.scope() != AuthorizationChangedEvent.Scope.USER
+                && event.scope() != AuthorizationChangedEvent.Scope.CREDENTIALS) {
+            cache.invalidateAll();
+            return;
+        }
+        if (event.name() != null) {
+            cache.invalidate(event.name());
+        }
+        if (event.id() != null) {
+            cache.asMap().values().removeIf(cached -> event.id().equals(cached.user().getId()));
+        }
+    }
+
+    /**
+     * Loads a user and stamps it with the versions it was loaded under. The global version is read before
+     * the user; an older stamp than the data only causes one more reload.
+     */
+    private CachedUser load(String username) {
+        long globalVersion = authorityVersion.current();
+        User user = userRepository.findForAuthentication(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
         
-        return new org.springframework.security.core.userdetails.User(
+        SecurityUser securityUser = new SecurityUser(
+                user.getId(),
                 user.getUsername(),
                 user.getPasswordHash(),
                 user.isActive(),
-                true,
-                true,
-                true,
-                getAuthorities(user)
+                getAuthorities(user),
+                getRoles(user)
         );
+        return new CachedUser(securityUser, globalVersion,
+                authorityVersion.userChange(user.getId()).orElse(null));
+    }
+
+    /**
+     * Summarizes the user's roles, ordered by id so the first role is stable across loads.
+     *
+     * @param user the user
+     * @return the role summaries
+     */
+    private List<SecurityUser.RoleSummary> getRoles(User user) {
+        return user.getRoles().stream()
+                .sorted(Comparator.comparing(Role::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(role -> new SecurityUser.RoleSummary(role.getId(), role.getName(), role.getDescription()))
+                .toList();
     }
     
     /**
      * Converts user roles to Spring Security authorities.
+     * {@link SecurityUser} indexes them once, so checks against them are O(1).
      * 
      * @param user the user
      * @return collection of granted authorities
@@ -58,14 +156,29 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName()))
                 .collect(Collectors.toList());
         
-        // Add permission-based authorities
+        // Add permission-based authorities, one "resource:ACTION" entry per action
         user.getRoles().forEach(role -> {
             role.getPermissions().forEach(permission -> {
-                String authority = permission.getResource() + ":" + permission.getActions();
-                authorities.add(new SimpleGrantedAuthority(authority));
+                permission.getActions().forEach(action ->
+                        authorities.add(new SimpleGrantedAuthority(permission.getResource() + ":" + action)));
             });
         });
         
         return authorities;
     }
+
+    /**
+     * A cached user with the authorization versions it was loaded under.
+     *
+     * @param user the loaded user
+     * @param globalVersion the global authority version when the user was loaded
+     * @param userChange the user's latest recorded change when it was loaded, null if none
+     */
+    private record CachedUser(SecurityUser user, long globalVersion, AuthorityVersion.Change userChange) {
+
+        boolean isCurrent(AuthorityVersion authorityVersion) {
+            return globalVersion == authorityVersion.current()
+                    && Objects.equals(userChange, authorityVersion.userChange(user.getId()).orElse(null));
+        }
+    }
 }
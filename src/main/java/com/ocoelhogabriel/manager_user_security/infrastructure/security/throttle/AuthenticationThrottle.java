@@ -0,0 +1,157 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.throttle;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ocoelhogabriel.manager_user_security.application.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-process admission control for the login, refresh and introspection endpoints.
+ * Each client IP and each username has its own token bucket; a request is rejected as soon as
+ * one of its buckets is empty, before any password hashing or user lookup takes place.
+ * Introspection is called by gateways rather than users, so it has separate, larger per-client buckets.
+ * Allowed and rejected requests are counted under {@code security.throttle.requests}.
+ */
+@Component
+public class AuthenticationThrottle {
+
+    private static final String METRIC_NAME = "security.throttle.requests";
+
+    private final boolean enabled;
+    private final TokenBucketTable usernameBuckets;
+    private final TokenBucketTable clientBuckets;
+    private final TokenBucketTable introspectionBuckets;
+    private final Counter loginAllowed;
+    private final Counter loginRejectedByClient;
+    private final Counter loginRejectedByUsername;
+    private final Counter refreshAllowed;
+    private final Counter refreshRejectedByClient;
+    private final Counter introspectAllowed;
+    private final Counter introspectRejectedByClient;
+
+    /**
+     * Constructor for AuthenticationThrottle.
+     *
+     * @param enabled whether throttling is applied at all
+     * @param usernameCapacity the login attempts allowed per username in a burst
+     * @param usernamePeriod the time in which a username's attempts are fully replenished
+     * @param clientCapacity the requests allowed per client IP in a burst
+     * @param clientPeriod the time in which a client's requests are fully replenished
+     * @param introspectionCapacity the introspection requests allowed per client IP in a burst
+     * @param introspectionPeriod the time in which a client's introspection requests are fully replenished
+     * @param maxEntries the maximum number of buckets kept per key type
+     * @param meterRegistry the registry the throttle counters are published to
+     */
+    public AuthenticationThrottle(
+            @Value("${api.security.throttle.enabled:true}") boolean enabled,
+            @Value("${api.security.throttle.username.capacity:10}") int usernameCapacity,
+            @Value("${api.security.throttle.username.period:PT1M}") Duration usernamePeriod,
+            @Value("${api.security.throttle.client.capacity:30}") int clientCapacity,
+            @Value("${api.security.throttle.client.period:PT1M}") Duration clientPeriod,
+            @Value("${api.security.throttle.introspection.capacity:600}") int introspectionCapacity,
+            @Value("${api.security.throttle.introspection.period:PT1M}") Duration introspectionPeriod,
+            @Value("${api.security.throttle.max-entries:100000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.usernameBuckets = new TokenBucketTable(usernameCapacity, usernamePeriod, maxEntries);
+        this.clientBuckets = new TokenBucketTable(clientCapacity, clientPeriod, maxEntries);
+        this.introspectionBuckets = new TokenBucketTable(introspectionCapacity, introspectionPeriod, maxEntries);
+        this.loginAllowed = counter(meterRegistry, "login", "allowed", "none");
+        this.loginRejectedByClient = counter(meterRegistry, "login", "rejected", "client");
+        this.loginRejectedByUsername = counter(meterRegistry, "login", "rejected", "username");
+        this.refreshAllowed = counter(meterRegistry, "refresh", "allowed", "none");
+        this.refreshRejectedByClient = counter(meterRegistry, "refresh", "rejected", "client");
+        this.introspectAllowed = counter(meterRegistry, "introspect", "allowed", "none");
+        this.introspectRejectedByClient = counter(meterRegistry, "introspect", "rejected", "client");
+        Gauge.builder("security.throttle.buckets", usernameBuckets, TokenBucketTable::size)
+                .tag("key", "username").register(meterRegistry);
+        Gauge.builder("security.throttle.buckets", clientBuckets, TokenBucketTable::size)
+                .tag("key", "client").register(meterRegistry);
+        Gauge.builder("security.throttle.buckets", introspectionBuckets, TokenBucketTable::size)
+                .tag("key", "introspection-client").register(meterRegistry);
+    }
+
+    /**
+     * Admits a login attempt or rejects it.
+     *
+     * @param username the username being authenticated
+     * @param clientAddress the client IP address
+     * @throws TooManyRequestsException if the client or the username exceeded its limit
+     */
+    public void checkLogin(String username, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        long wait = clientBuckets.tryAcquire(clientAddress, now);
+        if (wait > 0) {
+            loginRejectedByClient.increment();
+            throw rejected(wait);
+        }
+        if (username != null) {
+            wait = usernameBuckets.tryAcquire(username.toLowerCase(Locale.ROOT), now);
+            if (wait > 0) {
+                loginRejectedByUsername.increment();
+                throw rejected(wait);
+            }
+        }
+        loginAllowed.increment();
+    }
+
+    /**
+     * Admits a token refresh or rejects it.
+     *
+     * @param clientAddress the client IP address
+     * @throws TooManyRequestsException if the client exceeded its limit
+     */
+    public void checkRefresh(String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        long wait = clientBuckets.tryAcquire(clientAddress, System.nanoTime());
+        if (wait > 0) {
+            refreshRejectedByClient.increment();
+            throw rejected(wait);
+        }
+        refreshAllowed.increment();
+    }
+
+    /**
+     * Admits a token introspection request or rejects it.
+     *
+     * @param clientAddress the client IP address
+     * @throws TooManyRequestsException if the client exceeded its limit
+     */
+    public void checkIntrospect(String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        long wait = introspectionBuckets.tryAcquire(clientAddress, System.nanoTime());
+        if (wait > 0) {
+            introspectRejectedByClient.increment();
+            throw rejected(wait);
+        }
+        introspectAllowed.increment();
+    }
+
+    private static TooManyRequestsException rejected(long waitNanos) {
+        long retryAfter = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new TooManyRequestsException("Too many authentication attempts, please try again later", retryAfter);
+    }
+
+    private static Counter counter(MeterRegistry registry, String endpoint, String outcome, String limitedBy) {
+        return Counter.builder(METRIC_NAME)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .tag("limited_by", limitedBy)
+                .register(registry);
+    }
+}
@@ -0,0 +1,116 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.throttle;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Table of token buckets keyed by an arbitrary string.
+ * The table is split into independently locked stripes, each an access-ordered map that evicts its
+ * least recently used bucket when full, so memory stays bounded and eviction is approximately LRU.
+ * An evicted bucket simply starts full again on its next use.
+ */
+final class TokenBucketTable {
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final double capacity;
+    private final double tokensPerNano;
+
+    /**
+     * Constructor for TokenBucketTable.
+     *
+     * @param capacity the number of requests allowed in a burst
+     * @param period the time in which a drained bucket refills completely
+     * @param maxEntries the maximum number of buckets kept in memory
+     */
+    TokenBucketTable(int capacity, Duration period, int maxEntries) {
+        this.capacity = capacity;
+        this.tokensPerNano = capacity / (double) period.toNanos();
+        int stripeCapacity = Math.max(1, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    /**
+     * Takes one token from the bucket of the given key.
+     *
+     * @param key the bucket key
+     * @param now the current {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next token is available
+     */
+    long tryAcquire(String key, long now) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.put(key, bucket);
+            } else {
+                bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+                bucket.updatedAt = now;
+            }
+            if (bucket.tokens >= 1.0) {
+                bucket.tokens -= 1.0;
+                return 0L;
+            }
+            return (long) Math.ceil((1.0 - bucket.tokens) / tokensPerNano);
+        }
+    }
+
+    /**
+     * Returns the number of buckets currently held.
+     *
+     * @return the bucket count
+     */
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Mutable bucket state, only accessed while holding its stripe lock.
+     */
+    private static final class Bucket {
+
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    /**
+     * Access-ordered map that drops its least recently used bucket once full.
+     */
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        private Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.util;
+
+import java.util.Arrays;
+
+/**
+ * Immutable character trie over path patterns, compiled once and matched without allocation.
+ * <p>
+ * Supported patterns:
+ * <ul>
+ *   <li>{@code /a/b} - matches exactly {@code /a/b}</li>
+ *   <li>{@code /a/**} - matches {@code /a} and everything below {@code /a/}</li>
+ *   <li>{@code /a/*} - matches a single segment below {@code /a/}</li>
+ * </ul>
+ * Wildcards anywhere else are not supported and the pattern is matched literally.
+ * Raw prefixes, matching every path that starts with them, can be added through {@link #builder()}.
+ */
+public final class PathPrefixTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root;
+
+    private PathPrefixTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Compiles the given patterns into a trie. Null or blank patterns are ignored.
+     *
+     * @param patterns the path patterns
+     * @return the compiled trie
+     */
+    public static PathPrefixTrie compile(String... patterns) {
+        Builder builder = builder();
+        if (patterns != null) {
+            for (String pattern : patterns) {
+                builder.add(pattern);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a builder for a trie mixing path patterns and raw prefixes.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static void add(Node root, String pattern) {
+        int kind = Node.EXACT;
+        String literal = pattern;
+        if (pattern.endsWith("/**")) {
+            kind = Node.SUBTREE;
+            literal = pattern.substring(0, pattern.length() - 3);
+        } else if (pattern.endsWith("/*")) {
+            kind = Node.SEGMENT;
+            literal = pattern.substring(0, pattern.length() - 2);
+        }
+        insert(root, literal, kind);
+    }
+
+    private static void insert(Node root, String literal, int kind) {
+        Node node = root;
+        for (int i = 0; i < literal.length(); i++) {
+            node = node.childOrCreate(literal.charAt(i));
+        }
+        node.flags |= kind;
+    }
+
+    /**
+     * Checks whether a path matches any of the compiled patterns.
+     *
+     * @param path the request path
+     * @return true if the path matches
+     */
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        Node node = root;
+        int length = path.length();
+        for (int i = 0; ; i++) {
+            if (node.flags != 0 && matchesAt(node, path, i, length)) {
+                return true;
+            }
+            if (i == length) {
+                return false;
+            }
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    private static boolean matchesAt(Node node, String path, int index, int length) {
+        if ((node.flags & Node.PREFIX) != 0) {
+            return true;
+        }
+        if ((node.flags & Node.EXACT) != 0 && index == length) {
+            return true;
+        }
+        boolean atBoundary = index == length || path.charAt(index) == '/';
+        if ((node.flags & Node.SUBTREE) != 0 && atBoundary) {
+            return true;
+        }
+        return (node.flags & Node.SEGMENT) != 0
+                && index < length - 1
+                && path.charAt(index) == '/'
+                && path.indexOf('/', index + 1) < 0;
+    }
+
+    /**
+     * Collects patterns and prefixes; the trie is immutable once built.
+     */
+    public static final class Builder {
+
+        private final Node root = new Node();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a path pattern. Null or blank patterns are ignored.
+         *
+         * @param pattern the path pattern
+         * @return this builder
+         */
+        public Builder add(String pattern) {
+            if (pattern != null && !pattern.isBlank()) {
+                PathPrefixTrie.add(root, pattern.trim());
+            }
+            return this;
+        }
+
+        /**
+         * Adds a raw prefix matching every path that starts with it, regardless of segment boundaries.
+         * Null or empty prefixes are ignored.
+         *
+         * @param prefix the prefix
+         * @return this builder
+         */
+        public Builder addPrefix(String prefix) {
+            if (prefix != null && !prefix.isEmpty()) {
+                insert(root, prefix, Node.PREFIX);
+            }
+            return this;
+        }
+
+        /**
+         * Builds the trie. The builder must not be used afterwards.
+         *
+         * @return the compiled trie
+         */
+        public PathPrefixTrie build() {
+            return new PathPrefixTrie(root);
+        }
+    }
+
+    private static final class Node {
+
+        static final int EXACT = 1;
+        static final int SUBTREE = 1 << 1;
+        static final int SEGMENT = 1 << 2;
+        static final int PREFIX = 1 << 3;
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int flags;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+    }
+}
@@ -11,18 +11,40 @@ public class SecurityConstants {
     
     /**
      * Paths that are excluded from authentication requirements.
+     * Only the health endpoint of the actuator is public; metrics and the other endpoints need a token.
      */
     public static final String[] AUTH_WHITELIST = {
         "/api/auth/v1/login",
         "/api/auth/v1/validate",
+        "/api/auth/v1/introspect",
         "/api/auth/v1/refresh",
+        "/api/auth/v1/logout",
         "/api/auth/v1/register",
+        "/.well-known/jwks.json",
         "/v3/api-docs/**",
         "/swagger-ui/**",
         "/swagger-ui.html",
         "/swagger-resources/**",
         "/webjars/**",
         "/error",
-        "/actuator/**"
+        "/actuator/health"
     };
+
+    /**
+     * Merges the configured public URL patterns with {@link #AUTH_WHITELIST}.
+     * The result is the single list both the {@code permitAll} rule and the JWT filter bypass are built
+     * from, so a path is never skipped by the filter while still requiring authentication.
+     *
+     * @param publicUrls the configured public URL patterns, may be null
+     * @return the whitelist followed by the configured patterns
+     */
+    public static String[] publicPaths(String[] publicUrls) {
+        if (publicUrls == null) {
+            return AUTH_WHITELIST.clone();
+        }
+        String[] merged = new String[AUTH_WHITELIST.length + publicUrls.length];
+        System.arraycopy(AUTH_WHITELIST, 0, merged, 0, AUTH_WHITELIST.length);
+        System.arraycopy(publicUrls, 0, merged, AUTH_WHITELIST.length, publicUrls.length);
+        return merged;
+    }
 }
@@ -0,0 +1,38 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Computes compact, fixed-size digests of tokens so they can be used as map keys
+ * without retaining the raw token string.
+ */
+public final class TokenDigest {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private TokenDigest() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Returns the URL-safe Base64 encoded SHA-256 digest of the given token.
+     *
+     * @param token the raw token
+     * @return the digest of the token
+     */
+    public static String sha256(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+}
@@ -1,26 +1,44 @@
 package com.ocoelhogabriel.manager_user_security.interfaces.controllers;
 
+import com.ocoelhogabriel.manager_user_security.application.service.LoggerBulkIngestionService;
+import com.ocoelhogabriel.manager_user_security.application.service.LoggerExportService;
 import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+import com.ocoelhogabriel.manager_user_security.domain.exception.DomainException;
 import com.ocoelhogabriel.manager_user_security.domain.service.LoggerService;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LogCursor;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LogPage;
 import com.ocoelhogabriel.manager_user_security.domain.valueobject.LoggerType;
+import com.ocoelhogabriel.manager_user_security.interfaces.dto.BulkLogIngestionResponse;
 import com.ocoelhogabriel.manager_user_security.interfaces.dto.LoggerRequest;
 import com.ocoelhogabriel.manager_user_security.interfaces.dto.LoggerResponse;
 import com.ocoelhogabriel.manager_user_security.interfaces.mapper.LoggerMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/logs/v1")
@@ -28,33 +46,80 @@ import java.util.Optional;
 @SecurityRequirement(name = "bearerAuth")
 public class LoggerController {
 
+    /**
+     * Response header carrying the cursor of the next page; absent on the last page.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final Map<String, Function<LoggerResponse, Object>> FIELDS = fields();
+
     private final LoggerService loggerService;
     private final LoggerMapper loggerMapper;
+    private final LoggerBulkIngestionService loggerBulkIngestionService;
+    private final LoggerExportService loggerExportService;
+    private final boolean asyncIngestion;
 
-    public LoggerController(LoggerService loggerService, LoggerMapper loggerMapper) {
+    public LoggerController(LoggerService loggerService, LoggerMapper loggerMapper,
+            LoggerBulkIngestionService loggerBulkIngestionService, LoggerExportService loggerExportService,
+            @Value("${api.logs.ingestion.async:false}") boolean asyncIngestion) {
         this.loggerService = loggerService;
         this.loggerMapper = loggerMapper;
+        this.loggerBulkIngestionService = loggerBulkIngestionService;
+        this.loggerExportService = loggerExportService;
+        this.asyncIngestion = asyncIngestion;
+    }
+
+    private static Map<String, Function<LoggerResponse, Object>> fields() {
+        Map<String, Function<LoggerResponse, Object>> fields = new LinkedHashMap<>();
+        fields.put("id", LoggerResponse::getId);
+        fields.put("timestamp", LoggerResponse::getTimestamp);
+        fields.put("serialNumber", LoggerResponse::getSerialNumber);
+        fields.put("type", LoggerResponse::getType);
+        fields.put("message", LoggerResponse::getMessage);
+        return fields;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(
         summary = "Create a new log entry",
-        description = "Creates a new log entry with the provided details",
+        description = "Creates a new log entry with the provided details. With asynchronous ingestion enabled "
+                + "the entry is queued for a batched write and the request is answered with 202 and no body",
         responses = {
             @ApiResponse(responseCode = "201", description = "Log entry created successfully",
                     content = @Content(schema = @Schema(implementation = LoggerResponse.class))),
+            @ApiResponse(responseCode = "202", description = "Log entry accepted for asynchronous persistence"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
-            @ApiResponse(responseCode = "403", description = "Forbidden")
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "503", description = "Ingestion buffer is full, retry later")
         }
     )
     public ResponseEntity<LoggerResponse> createLog(@Valid @RequestBody LoggerRequest request) {
         Logger log = loggerMapper.toDomain(request);
+        if (asyncIngestion) {
+            loggerService.submitEntry(log);
+            return ResponseEntity.accepted().build();
+        }
         Logger createdLog = loggerService.logEntry(log);
         LoggerResponse response = loggerMapper.toResponse(createdLog);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Create log entries in bulk",
+        description = "Stores a newline-delimited JSON stream of log entries, one entry per line. "
+                + "Each line is validated on its own; rejected lines are reported with their line number",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Upload processed",
+                    content = @Content(schema = @Schema(implementation = BulkLogIngestionResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+        }
+    )
+    public ResponseEntity<BulkLogIngestionResponse> createLogs(InputStream body) throws IOException {
+        return ResponseEntity.ok(loggerBulkIngestionService.ingest(body));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
@@ -80,41 +145,52 @@ public class LoggerController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
         summary = "Get log entries by serial number",
-        description = "Returns a list of log entries for a specific serial number",
+        description = "Returns one page of log entries for a specific serial number. Pass the "
+                + NEXT_CURSOR_HEADER + " header of a response as cursor to fetch the following page",
         responses = {
-            @ApiResponse(responseCode = "200", description = "List of log entries",
+            @ApiResponse(responseCode = "200", description = "One page of log entries, newest first",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page, absent on the last page"),
                     content = @Content(schema = @Schema(implementation = LoggerResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or field"),
             @ApiResponse(responseCode = "403", description = "Forbidden")
         }
     )
-    public ResponseEntity<List<LoggerResponse>> getLogsBySerialNumber(@PathVariable String serialNumber) {
-        List<Logger> logs = loggerService.findBySerialNumber(serialNumber);
-        List<LoggerResponse> responses = loggerMapper.toResponseList(logs);
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<?>> getLogsBySerialNumber(@PathVariable String serialNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${api.logs.query.default-page-size:100}") int limit,
+            @RequestParam(required = false) Set<String> fields) {
+        LogPage page = loggerService.findPageBySerialNumber(serialNumber, LogCursor.decode(cursor), limit);
+        return toPageResponse(page, fields);
     }
 
     @GetMapping("/type/{type}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
         summary = "Get log entries by type",
-        description = "Returns a list of log entries for a specific type",
+        description = "Returns one page of log entries for a specific type. Pass the "
+                + NEXT_CURSOR_HEADER + " header of a response as cursor to fetch the following page",
         responses = {
-            @ApiResponse(responseCode = "200", description = "List of log entries",
+            @ApiResponse(responseCode = "200", description = "One page of log entries, newest first",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page, absent on the last page"),
                     content = @Content(schema = @Schema(implementation = LoggerResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or field"),
             @ApiResponse(responseCode = "403", description = "Forbidden")
         }
     )
-    public ResponseEntity<List<LoggerResponse>> getLogsByType(@PathVariable LoggerType type) {
-        List<Logger> logs = loggerService.findByType(type);
-        List<LoggerResponse> responses = loggerMapper.toResponseList(logs);
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<?>> getLogsByType(@PathVariable LoggerType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${api.logs.query.default-page-size:100}") int limit,
+            @RequestParam(required = false) Set<String> fields) {
+        LogPage page = loggerService.findPageByType(type, LogCursor.decode(cursor), limit);
+        return toPageResponse(page, fields);
     }
 
     @GetMapping("/latest/{limit}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
         summary = "Get latest log entries",
-        description = "Returns a list of the latest log entries, limited by the provided count",
+        description = "Returns a list of the latest log entries, limited by the provided count "
+                + "and capped at the maximum page size",
         responses = {
             @ApiResponse(responseCode = "200", description = "List of latest log entries",
                     content = @Content(schema = @Schema(implementation = LoggerResponse.class))),
@@ -122,7 +198,7 @@ public class LoggerController {
         }
     )
     public ResponseEntity<List<LoggerResponse>> getLatestLogs(@PathVariable int limit) {
-        List<Logger> logs = loggerService.findAllLogs().stream().limit(limit).toList();
+        List<Logger> logs = loggerService.findLatestLogs(limit);
         List<LoggerResponse> responses = loggerMapper.toResponseList(logs);
         return ResponseEntity.ok(responses);
     }
@@ -131,19 +207,50 @@ public class LoggerController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
         summary = "Search log entries by timestamp range",
-        description = "Returns a list of log entries within a specified timestamp range",
+        description = "Returns one page of log entries within a specified timestamp range. Pass the "
+                + NEXT_CURSOR_HEADER + " header of a response as cursor to fetch the following page",
         responses = {
-            @ApiResponse(responseCode = "200", description = "List of log entries",
+            @ApiResponse(responseCode = "200", description = "One page of log entries, newest first",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page, absent on the last page"),
                     content = @Content(schema = @Schema(implementation = LoggerResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or field"),
             @ApiResponse(responseCode = "403", description = "Forbidden")
         }
     )
-    public ResponseEntity<List<LoggerResponse>> searchLogsByTimestamp(
+    public ResponseEntity<List<?>> searchLogsByTimestamp(
             @RequestParam LocalDateTime startTime,
-            @RequestParam LocalDateTime endTime) {
-        List<Logger> logs = loggerService.findByTimeRange(startTime, endTime);
-        List<LoggerResponse> responses = loggerMapper.toResponseList(logs);
-        return ResponseEntity.ok(responses);
+            @RequestParam LocalDateTime endTime,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${api.logs.query.default-page-size:100}") int limit,
+            @RequestParam(required = false) Set<String> fields) {
+        LogPage page = loggerService.findPageByTimeRange(startTime, endTime, LogCursor.decode(cursor), limit);
+        return toPageResponse(page, fields);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Export log entries by timestamp range",
+        description = "Streams every log entry within a timestamp range, oldest first, as newline-delimited JSON "
+                + "or CSV. With gzip enabled the file is compressed on the fly and served as application/gzip",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Export file"),
+            @ApiResponse(responseCode = "400", description = "Invalid timestamp range"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+        }
+    )
+    public ResponseEntity<StreamingResponseBody> exportLogs(
+            @RequestParam LocalDateTime startTime,
+            @RequestParam LocalDateTime endTime,
+            @RequestParam(defaultValue = "NDJSON") LoggerExportService.Format format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        loggerExportService.validate(startTime, endTime);
+        String filename = "logs." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = output -> loggerExportService.export(startTime, endTime, format, gzip, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
     }
 
     @DeleteMapping("/{id}")
@@ -161,4 +268,33 @@ public class LoggerController {
         loggerService.deleteLog(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Renders a page as a JSON array, restricted to the requested fields, with the next cursor in a header.
+     */
+    private ResponseEntity<List<?>> toPageResponse(LogPage page, Set<String> fields) {
+        List<LoggerResponse> responses = loggerMapper.toResponseList(page.items());
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.next() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.next().encode());
+        }
+        if (fields == null || fields.isEmpty()) {
+            return builder.body(responses);
+        }
+        for (String field : fields) {
+            if (!FIELDS.containsKey(field)) {
+                throw new DomainException("Unknown field: " + field);
+            }
+        }
+        List<Map<String, Object>> projected = responses.stream().map(response -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            FIELDS.forEach((name, getter) -> {
+                if (fields.contains(name)) {
+                    values.put(name, getter.apply(response));
+                }
+            });
+            return values;
+        }).toList();
+        return builder.body(projected);
+    }
 }
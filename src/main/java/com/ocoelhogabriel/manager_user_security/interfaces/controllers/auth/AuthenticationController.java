@@ -1,29 +1,42 @@
 package com.ocoelhogabriel.manager_user_security.interfaces.controllers.auth;
 
 import com.ocoelhogabriel.manager_user_security.domain.service.AuthenticationService;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.throttle.AuthenticationThrottle;
 import com.ocoelhogabriel.manager_user_security.interfaces.dto.AuthenticationRequest;
 import com.ocoelhogabriel.manager_user_security.interfaces.dto.AuthenticationResponse;
+import com.ocoelhogabriel.manager_user_security.interfaces.dto.RefreshTokenRequest;
+import com.ocoelhogabriel.manager_user_security.interfaces.dto.TokenIntrospectionRequest;
+import com.ocoelhogabriel.manager_user_security.interfaces.dto.TokenIntrospectionResponse;
 import com.ocoelhogabriel.manager_user_security.interfaces.dto.TokenValidationResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @CrossOrigin
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Authentication", description = "API for authentication and token management")
 public class AuthenticationController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final AuthenticationService authenticationService;
+    private final AuthenticationThrottle authenticationThrottle;
 
     @Autowired
-    public AuthenticationController(AuthenticationService authenticationService) {
+    public AuthenticationController(AuthenticationService authenticationService,
+            AuthenticationThrottle authenticationThrottle) {
         this.authenticationService = authenticationService;
+        this.authenticationThrottle = authenticationThrottle;
     }
 
     @PostMapping("/v1/login")
@@ -32,7 +45,8 @@ public class AuthenticationController {
         description = "Authenticates a user with username and password, returns an access token"
     )
     public ResponseEntity<AuthenticationResponse> authenticate(
-            @Valid @RequestBody AuthenticationRequest request) {
+            @Valid @RequestBody AuthenticationRequest request, HttpServletRequest httpRequest) {
+        authenticationThrottle.checkLogin(request.getUsername(), httpRequest.getRemoteAddr());
         AuthenticationResponse response = authenticationService.authenticate(
                 request.getUsername(), request.getPassword());
         return ResponseEntity.ok(response);
@@ -53,20 +67,52 @@ public class AuthenticationController {
         }
     }
 
-    @GetMapping("/v1/refresh")
+    @PostMapping("/v1/introspect")
+    @Operation(
+        summary = "Introspect tokens",
+        description = "Validates a batch of access tokens and returns, in request order, whether each one is active, "
+                + "its subject, roles and remaining lifetime in seconds"
+    )
+    public ResponseEntity<List<TokenIntrospectionResponse>> introspect(
+            @Valid @RequestBody TokenIntrospectionRequest request, HttpServletRequest httpRequest) {
+        authenticationThrottle.checkIntrospect(httpRequest.getRemoteAddr());
+        return ResponseEntity.ok(authenticationService.introspect(request.getTokens()));
+    }
+
+    @PostMapping("/v1/refresh")
     @Operation(
         summary = "Refresh token",
-        description = "Refreshes an access token if it's valid"
+        description = "Exchanges a refresh token for a new access token and a new refresh token; "
+                + "each refresh token can be used only once"
     )
-    public ResponseEntity<AuthenticationResponse> refreshToken(@RequestParam String token) {
+    public ResponseEntity<AuthenticationResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request,
+            HttpServletRequest httpRequest) {
+        authenticationThrottle.checkRefresh(httpRequest.getRemoteAddr());
         try {
-            AuthenticationResponse response = authenticationService.refreshToken(token);
+            AuthenticationResponse response = authenticationService.refreshToken(request.getRefreshToken());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
 
+    @PostMapping("/v1/logout")
+    @Operation(
+        summary = "Log out",
+        description = "Revokes the refresh token together with every refresh token derived from the same login, "
+                + "and the bearer access token when one is sent"
+    )
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            HttpServletRequest httpRequest) {
+        authenticationThrottle.checkRefresh(httpRequest.getRemoteAddr());
+        String accessToken = authorization != null && authorization.startsWith(BEARER_PREFIX)
+                ? authorization.substring(BEARER_PREFIX.length())
+                : null;
+        authenticationService.logout(accessToken, request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/v1/me")
     @Operation(
         summary = "Get current user",
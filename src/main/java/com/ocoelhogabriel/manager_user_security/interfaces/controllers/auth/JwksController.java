@@ -0,0 +1,57 @@
+package com.ocoelhogabriel.manager_user_security.interfaces.controllers.auth;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt.JwtKeyRing;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Publishes the public token signing keys so other services can verify tokens locally.
+ * The document is pre-serialized by the key ring; conditional requests are answered with 304.
+ */
+@RestController
+@Tag(name = "Authentication", description = "API for authentication and token management")
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+    private final CacheControl cacheControl;
+
+    /**
+     * Constructor for JwksController.
+     *
+     * @param keyRing the key ring holding the signing keys
+     * @param maxAge how long clients and proxies may cache the document
+     */
+    public JwksController(JwtKeyRing keyRing, @Value("${api.security.jwks.max-age:PT5M}") Duration maxAge) {
+        this.keyRing = keyRing;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get signing keys",
+        description = "Returns the public keys used to sign access tokens as a JSON Web Key Set"
+    )
+    public ResponseEntity<byte[]> jwks(WebRequest request) {
+        JwtKeyRing.Jwks jwks = keyRing.jwks();
+        if (request.checkNotModified(jwks.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(jwks.etag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(jwks.etag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jwks.json());
+    }
+}
@@ -11,6 +11,8 @@ public class AuthenticationResponse {
     private long expiresInSeconds;
     private String userId;
     private UserRoleDto userRole;
+    private String refreshToken;
+    private long refreshExpiresInSeconds;
     
     public AuthenticationResponse() {
     }
@@ -24,6 +26,14 @@ public class AuthenticationResponse {
         this.userRole = userRole;
     }
     
+    public AuthenticationResponse(String token, LocalDateTime issuedAt, long expiresInSeconds, 
+                                 String userId, UserRoleDto userRole,
+                                 String refreshToken, long refreshExpiresInSeconds) {
+        this(token, issuedAt, expiresInSeconds, userId, userRole);
+        this.refreshToken = refreshToken;
+        this.refreshExpiresInSeconds = refreshExpiresInSeconds;
+    }
+    
     public String getToken() {
         return token;
     }
@@ -63,4 +73,20 @@ public class AuthenticationResponse {
     public void setUserRole(UserRoleDto userRole) {
         this.userRole = userRole;
     }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    public long getRefreshExpiresInSeconds() {
+        return refreshExpiresInSeconds;
+    }
+    
+    public void setRefreshExpiresInSeconds(long refreshExpiresInSeconds) {
+        this.refreshExpiresInSeconds = refreshExpiresInSeconds;
+    }
 }
@@ -0,0 +1,116 @@
+package com.ocoelhogabriel.manager_user_security.interfaces.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object summarizing a bulk NDJSON log upload.
+ * Only the first {@link #MAX_REPORTED_REJECTS} rejected lines are listed; {@code rejected} counts all of them.
+ */
+public class BulkLogIngestionResponse {
+
+    /**
+     * Maximum number of rejected lines listed in the response.
+     */
+    public static final int MAX_REPORTED_REJECTS = 1000;
+
+    private long received;
+    private long stored;
+    private long rejected;
+    private boolean complete = true;
+    private List<LineReject> rejects = new ArrayList<>();
+
+    public BulkLogIngestionResponse() {
+    }
+
+    /**
+     * Records a rejected line, listing it while the report limit has not been reached.
+     *
+     * @param line the 1-based line number
+     * @param error why the line was rejected
+     */
+    public void reject(long line, String error) {
+        rejected++;
+        if (rejects.size() < MAX_REPORTED_REJECTS) {
+            rejects.add(new LineReject(line, error));
+        }
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getStored() {
+        return stored;
+    }
+
+    public void setStored(long stored) {
+        this.stored = stored;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    /**
+     * Whether the whole body was processed. False when a write failed and the upload was aborted;
+     * lines after the last stored batch were not processed and may be resent.
+     *
+     * @return true if every line was processed
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public List<LineReject> getRejects() {
+        return rejects;
+    }
+
+    public void setRejects(List<LineReject> rejects) {
+        this.rejects = rejects;
+    }
+
+    /**
+     * A rejected line of the upload.
+     */
+    public static class LineReject {
+        private long line;
+        private String error;
+
+        public LineReject() {
+        }
+
+        public LineReject(long line, String error) {
+            this.line = line;
+            this.error = error;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
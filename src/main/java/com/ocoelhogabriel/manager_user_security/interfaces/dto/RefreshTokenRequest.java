@@ -0,0 +1,27 @@
+package com.ocoelhogabriel.manager_user_security.interfaces.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Data Transfer Object for token refresh requests.
+ */
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+
+    public RefreshTokenRequest() {
+    }
+
+    public RefreshTokenRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
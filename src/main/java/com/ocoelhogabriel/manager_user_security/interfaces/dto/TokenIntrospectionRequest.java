@@ -0,0 +1,37 @@
+package com.ocoelhogabriel.manager_user_security.interfaces.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Data Transfer Object for batch token introspection requests.
+ */
+public class TokenIntrospectionRequest {
+
+    /**
+     * Maximum number of tokens accepted in one request.
+     */
+    public static final int MAX_TOKENS = 100;
+
+    @NotEmpty(message = "At least one token is required")
+    @Size(max = MAX_TOKENS, message = "At most " + MAX_TOKENS + " tokens can be introspected at once")
+    private List<@NotBlank(message = "Tokens must not be blank") String> tokens;
+
+    public TokenIntrospectionRequest() {
+    }
+
+    public TokenIntrospectionRequest(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(List<String> tokens) {
+        this.tokens = tokens;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ocoelhogabriel.manager_user_security.interfaces.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the introspection result of a single token.
+ * Active results may be cached by the caller for at most {@code expiresIn} seconds.
+ */
+public class TokenIntrospectionResponse {
+    private boolean active;
+    private String subject;
+    private String userId;
+    private List<String> roles;
+    private long expiresIn;
+    private String message;
+
+    public TokenIntrospectionResponse() {
+    }
+
+    public TokenIntrospectionResponse(boolean active, String subject, String userId, List<String> roles,
+            long expiresIn, String message) {
+        this.active = active;
+        this.subject = subject;
+        this.userId = userId;
+        this.roles = roles;
+        this.expiresIn = expiresIn;
+        this.message = message;
+    }
+
+    /**
+     * Creates the result for a token that is not active.
+     *
+     * @param message the reason the token is not active
+     * @return the inactive result
+     */
+    public static TokenIntrospectionResponse inactive(String message) {
+        return new TokenIntrospectionResponse(false, null, null, List.of(), 0L, message);
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(List<String> roles) {
+        this.roles = roles;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -5,8 +5,8 @@ import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entit
 import com.ocoelhogabriel.manager_user_security.interfaces.dto.LoggerRequest;
 import com.ocoelhogabriel.manager_user_security.interfaces.dto.LoggerResponse;
 import org.mapstruct.Mapper;
-import org.mapstruct.Mapping;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -17,9 +17,18 @@ import java.util.List;
 public interface LoggerMapper {
 
     // --- DTO -> Domain ---
-    @Mapping(target = "id", ignore = true)
-    @Mapping(target = "timestamp", expression = "java(java.time.LocalDateTime.now())")
-    Logger toDomain(LoggerRequest request);
+    // Logger is immutable, so it is built through its builder rather than generated setters
+    default Logger toDomain(LoggerRequest request) {
+        if (request == null) {
+            return null;
+        }
+        return new Logger.Builder()
+                .withTimestamp(LocalDateTime.now())
+                .withSerialNumber(request.getSerialNumber())
+                .withType(request.getType())
+                .withMessage(request.getMessage())
+                .build();
+    }
 
     // --- Domain -> DTO ---
     LoggerResponse toResponse(Logger domain);
@@ -27,7 +36,18 @@ public interface LoggerMapper {
     List<LoggerResponse> toResponseList(List<Logger> domains);
 
     // --- Persistence -> Domain ---
-    Logger toDomain(LoggerEntity entity);
+    default Logger toDomain(LoggerEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return new Logger.Builder()
+                .withId(entity.getId())
+                .withTimestamp(entity.getTimestamp())
+                .withSerialNumber(entity.getSerialNumber())
+                .withType(entity.getType())
+                .withMessage(entity.getMessage())
+                .build();
+    }
 
     List<Logger> toDomainList(List<LoggerEntity> entities);
 
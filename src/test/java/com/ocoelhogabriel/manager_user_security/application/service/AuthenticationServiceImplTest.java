@@ -0,0 +1,153 @@
+package com.ocoelhogabriel.manager_user_security.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.ocoelhogabriel.manager_user_security.domain.service.AuthenticationService;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.RoleEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.UserEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.RefreshTokenJpaRepository;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.RoleJpaRepository;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.UserJpaRepository;
+import com.ocoelhogabriel.manager_user_security.interfaces.dto.AuthenticationResponse;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the statements a login and a refresh issue against PostgreSQL, using the Hibernate statistics.
+ * Pins down that a login loads the user once, through the single authentication-graph query, and that a
+ * refresh with a warm user-details cache touches only the refresh token table.
+ * Skipped when Docker is not available.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "api.security.password.bcrypt.strength=4"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class AuthenticationServiceImplTest {
+
+    private static final String PASSWORD = "s3cret-password";
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserJpaRepository userJpaRepository;
+
+    @Autowired
+    private RoleJpaRepository roleJpaRepository;
+
+    @Autowired
+    private RefreshTokenJpaRepository refreshTokenJpaRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String username;
+
+    @BeforeEach
+    void seed() {
+        // A fresh username per test, so every test starts with a cold user-details cache entry
+        username = "user" + USERS.incrementAndGet();
+        RoleEntity role = new RoleEntity("ROLE_" + username, "role of " + username);
+        role.setCreatedAt(LocalDateTime.now());
+        role = roleJpaRepository.save(role);
+        UserEntity user = new UserEntity(username, username + "@example.com", passwordEncoder.encode(PASSWORD));
+        user.setCreatedAt(LocalDateTime.now());
+        user.setRoles(new HashSet<>(List.of(role)));
+        userJpaRepository.save(user);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        refreshTokenJpaRepository.deleteAll();
+        userJpaRepository.deleteAll();
+        roleJpaRepository.deleteAll();
+    }
+
+    @Test
+    void loginLoadsTheUserInOneQuery() {
+        AuthenticationResponse response = authenticationService.authenticate(username, PASSWORD);
+
+        assertEquals("ROLE_" + username, response.getUserRole().getName());
+        assertEquals(1, authenticationGraphQueries());
+        // the authentication graph, the two authority change records read into the cache,
+        // and the lookup and insert of the new refresh token
+        assertTrue(statistics.getPrepareStatementCount() <= 5, "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void repeatedLoginServesTheUserFromTheCache() {
+        authenticationService.authenticate(username, PASSWORD);
+        statistics.clear();
+
+        authenticationService.authenticate(username, PASSWORD);
+
+        assertEquals(0, authenticationGraphQueries());
+        // only the refresh token is written
+        assertTrue(statistics.getPrepareStatementCount() <= 2, "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void refreshLoadsNoUser() {
+        AuthenticationResponse login = authenticationService.authenticate(username, PASSWORD);
+        statistics.clear();
+
+        AuthenticationResponse refreshed = authenticationService.refreshToken(login.getRefreshToken());
+
+        assertNotEquals(login.getRefreshToken(), refreshed.getRefreshToken());
+        assertEquals(login.getUserId(), refreshed.getUserId());
+        assertEquals(0, authenticationGraphQueries());
+        // the primary-key lookup and conditional update of the presented token, and the successor's
+        // lookup and insert
+        assertTrue(statistics.getPrepareStatementCount() <= 4, "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    private long authenticationGraphQueries() {
+        return Arrays.stream(statistics.getQueries())
+                .filter(query -> query.contains("AuthenticationGrantView"))
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionCount())
+                .sum();
+    }
+}
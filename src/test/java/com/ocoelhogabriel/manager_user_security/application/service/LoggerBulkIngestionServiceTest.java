@@ -0,0 +1,161 @@
+package com.ocoelhogabriel.manager_user_security.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+import com.ocoelhogabriel.manager_user_security.domain.repository.LoggerRepository;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LoggerType;
+import com.ocoelhogabriel.manager_user_security.interfaces.dto.BulkLogIngestionResponse;
+import com.ocoelhogabriel.manager_user_security.interfaces.mapper.LoggerMapperImpl;
+
+import jakarta.validation.Validator;
+
+/**
+ * Feeds NDJSON bodies through {@link LoggerBulkIngestionService}, checking which lines are stored and how
+ * rejected lines and failed batches are reported.
+ */
+class LoggerBulkIngestionServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_LINE_LENGTH = 120;
+
+    private final LoggerRepository loggerRepository = mock(LoggerRepository.class);
+    private final List<List<Logger>> batches = new ArrayList<>();
+    private LoggerBulkIngestionService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        doAnswer(invocation -> {
+            batches.add(List.copyOf(invocation.<List<Logger>>getArgument(0)));
+            return null;
+        }).when(loggerRepository).insertAll(anyList());
+        // No Bean Validation provider, as in the application
+        ObjectProvider<Validator> validator = mock(ObjectProvider.class);
+        service = new LoggerBulkIngestionService(loggerRepository, new LoggerMapperImpl(), validator,
+                new ObjectMapper(), BATCH_SIZE, MAX_LINE_LENGTH);
+    }
+
+    @Test
+    void storesValidLinesInBatches() throws IOException {
+        BulkLogIngestionResponse response = ingest(line(1) + "\n" + line(2) + "\n" + line(3) + "\n" + line(4) + "\n"
+                + line(5));
+
+        assertEquals(5, response.getReceived());
+        assertEquals(5, response.getStored());
+        assertEquals(0, response.getRejected());
+        assertTrue(response.isComplete());
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals("message 5", batches.get(2).get(0).getMessage());
+        assertEquals(LoggerType.INFO, batches.get(2).get(0).getType());
+    }
+
+    @Test
+    void rejectsMalformedJsonWithoutAffectingNeighbours() throws IOException {
+        BulkLogIngestionResponse response = ingest(line(1) + "\n{\"serialNumber\": \"SN-2\",\n" + line(3) + "\nnull\n");
+
+        assertEquals(4, response.getReceived());
+        assertEquals(2, response.getStored());
+        Map<Long, String> rejects = rejects(response);
+        assertEquals(List.of(2L, 4L), List.copyOf(rejects.keySet()));
+        assertTrue(rejects.get(2L).startsWith("Malformed JSON"), rejects.get(2L));
+        assertEquals("Line is not a log entry", rejects.get(4L));
+    }
+
+    @Test
+    void rejectsEntriesBreakingTheDomainRules() throws IOException {
+        BulkLogIngestionResponse response = ingest("{\"serialNumber\":\"SN-1\",\"type\":\"INFO\"}\n" + line(2));
+
+        assertEquals(1, response.getStored());
+        assertEquals(Map.of(1L, "Invalid logger data"), rejects(response));
+    }
+
+    @Test
+    void rejectsOverlongLinesAndResumesAtTheNextLine() throws IOException {
+        String overlong = "{\"serialNumber\":\"SN-1\",\"type\":\"INFO\",\"message\":\"" + "x".repeat(MAX_LINE_LENGTH) + "\"}";
+
+        BulkLogIngestionResponse response = ingest(overlong + "\n" + line(2));
+
+        assertEquals(2, response.getReceived());
+        assertEquals(1, response.getStored());
+        assertEquals(Map.of(1L, "Line exceeds " + MAX_LINE_LENGTH + " characters"), rejects(response));
+        assertEquals("message 2", batches.get(0).get(0).getMessage());
+    }
+
+    @Test
+    void skipsBlankLinesButKeepsCountingLineNumbers() throws IOException {
+        BulkLogIngestionResponse response = ingest("\n   \n" + line(3) + "\n\t\nnot json\n\n");
+
+        assertEquals(2, response.getReceived());
+        assertEquals(1, response.getStored());
+        assertEquals(List.of(5L), List.copyOf(rejects(response).keySet()));
+    }
+
+    @Test
+    void acceptsCrlfLineEndings() throws IOException {
+        BulkLogIngestionResponse response = ingest(line(1) + "\r\n" + line(2) + "\r\n\r\n");
+
+        assertEquals(2, response.getReceived());
+        assertEquals(2, response.getStored());
+        assertEquals(List.of("message 1", "message 2"),
+                batches.get(0).stream().map(Logger::getMessage).toList());
+    }
+
+    @Test
+    void stopsAfterAFailedBatchAndReportsItsLines() throws IOException {
+        List<Integer> calls = new ArrayList<>();
+        doAnswer(invocation -> {
+            calls.add(calls.size());
+            if (calls.size() == 2) {
+                throw new IllegalStateException("connection lost");
+            }
+            batches.add(List.copyOf(invocation.<List<Logger>>getArgument(0)));
+            return null;
+        }).when(loggerRepository).insertAll(anyList());
+
+        BulkLogIngestionResponse response = ingest(line(1) + "\n" + line(2) + "\n" + line(3) + "\nbroken\n" + line(5)
+                + "\n" + line(6) + "\n" + line(7));
+
+        assertFalse(response.isComplete());
+        assertEquals(2, response.getStored());
+        // Lines 6 and 7 are never read
+        assertEquals(5, response.getReceived());
+        assertEquals(2, calls.size());
+        Map<Long, String> rejects = rejects(response);
+        assertEquals(List.of(3L, 4L, 5L), List.copyOf(rejects.keySet()));
+        assertEquals("Not stored: the batch could not be written", rejects.get(3L));
+        assertEquals("Not stored: the batch could not be written", rejects.get(5L));
+    }
+
+    private BulkLogIngestionResponse ingest(String body) throws IOException {
+        return service.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String line(int i) {
+        return "{\"serialNumber\":\"SN-" + i + "\",\"type\":\"INFO\",\"message\":\"message " + i + "\"}";
+    }
+
+    private static Map<Long, String> rejects(BulkLogIngestionResponse response) {
+        Map<Long, String> rejects = new TreeMap<>();
+        response.getRejects().forEach(reject -> rejects.put(reject.getLine(), reject.getError()));
+        return rejects;
+    }
+}
@@ -0,0 +1,156 @@
+package com.ocoelhogabriel.manager_user_security.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ocoelhogabriel.manager_user_security.application.service.LoggerExportService.Format;
+import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+import com.ocoelhogabriel.manager_user_security.domain.exception.DomainException;
+import com.ocoelhogabriel.manager_user_security.domain.repository.LoggerRepository;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LoggerType;
+import com.ocoelhogabriel.manager_user_security.interfaces.mapper.LoggerMapperImpl;
+
+/**
+ * Checks the NDJSON and CSV output of {@link LoggerExportService}, with and without gzip.
+ */
+class LoggerExportServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 10, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2026, 10, 31, 23, 59);
+
+    private final LoggerRepository loggerRepository = mock(LoggerRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private LoggerExportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LoggerExportService(loggerRepository, new LoggerMapperImpl(), objectMapper);
+    }
+
+    @Test
+    void writesCsvHeaderAndPlainRows() throws IOException {
+        entries(entry(1L, "SN-1", "booted"));
+
+        assertEquals("id,timestamp,serialNumber,type,message\r\n"
+                + "1,2026-10-02T08:30,SN-1,INFO,booted\r\n", csv(false));
+    }
+
+    @Test
+    void quotesSeparatorsQuotesAndLineBreaks() throws IOException {
+        entries(entry(1L, "SN,1", "said \"hi\""), entry(2L, "SN-2", "two\nlines"), entry(3L, "SN-3", "cr\rlf"));
+
+        assertEquals("id,timestamp,serialNumber,type,message\r\n"
+                + "1,2026-10-02T08:30,\"SN,1\",INFO,\"said \"\"hi\"\"\"\r\n"
+                + "2,2026-10-02T08:30,SN-2,INFO,\"two\nlines\"\r\n"
+                + "3,2026-10-02T08:30,SN-3,INFO,\"cr\rlf\"\r\n", csv(false));
+    }
+
+    @Test
+    void neutralizesValuesSpreadsheetsWouldEvaluate() throws IOException {
+        entries(entry(1L, "=HYPERLINK(\"x\")", "+1"), entry(2L, "-2", "@SUM(A1)"), entry(3L, "\tSN", "\rboom"),
+                entry(4L, "SN-4", "a=b"));
+
+        assertEquals("id,timestamp,serialNumber,type,message\r\n"
+                + "1,2026-10-02T08:30,\"'=HYPERLINK(\"\"x\"\")\",INFO,\"'+1\"\r\n"
+                + "2,2026-10-02T08:30,\"'-2\",INFO,\"'@SUM(A1)\"\r\n"
+                + "3,2026-10-02T08:30,\"'\tSN\",INFO,\"'\rboom\"\r\n"
+                + "4,2026-10-02T08:30,SN-4,INFO,a=b\r\n", csv(false));
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws IOException {
+        entries(entry(1L, "SN-1", "=not a formula in JSON"), entry(2L, "SN-2", "two\nlines"));
+
+        String[] lines = ndjson(false).split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1L, first.get("id").asLong());
+        assertEquals("2026-10-02T08:30:00", first.get("timestamp").asText());
+        assertEquals("SN-1", first.get("serialNumber").asText());
+        assertEquals("INFO", first.get("type").asText());
+        assertEquals("=not a formula in JSON", first.get("message").asText());
+        assertEquals("two\nlines", objectMapper.readTree(lines[1]).get("message").asText());
+    }
+
+    @Test
+    void gzipOutputRoundTrips() throws IOException {
+        entries(entry(1L, "SN-1", "booted"), entry(2L, "SN-2", "=1+1"));
+
+        assertEquals(csv(false), csv(true));
+        assertEquals(ndjson(false), ndjson(true));
+    }
+
+    @Test
+    void emptyRangeWritesHeaderOnly() throws IOException {
+        entries();
+
+        assertEquals("id,timestamp,serialNumber,type,message\r\n", csv(false));
+        assertEquals("", ndjson(false));
+    }
+
+    @Test
+    void rejectsReversedRange() {
+        assertThrows(DomainException.class, () -> service.validate(END, START));
+    }
+
+    private String csv(boolean gzip) throws IOException {
+        return export(Format.CSV, gzip);
+    }
+
+    private String ndjson(boolean gzip) throws IOException {
+        return export(Format.NDJSON, gzip);
+    }
+
+    private String export(Format format, boolean gzip) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.export(START, END, format, gzip, output);
+        byte[] bytes = output.toByteArray();
+        if (gzip) {
+            try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                bytes = input.readAllBytes();
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void entries(Logger... loggers) {
+        doAnswer(invocation -> {
+            Consumer<Logger> action = invocation.getArgument(2);
+            List.of(loggers).forEach(action);
+            return null;
+        }).when(loggerRepository).forEachByTimestampBetween(any(), any(), any(Consumer.class));
+    }
+
+    private static Logger entry(Long id, String serialNumber, String message) {
+        return new Logger.Builder()
+                .withId(id)
+                .withTimestamp(LocalDateTime.of(2026, 10, 2, 8, 30))
+                .withSerialNumber(serialNumber)
+                .withType(LoggerType.INFO)
+                .withMessage(message)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.ocoelhogabriel.manager_user_security.application.validator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that {@link PublicUrlMatcher} gives the same answers as the per-call regex checks of the old
+ * UrlValidationService and UrlValidator, and pins down the Ant semantics of {@code /**} patterns.
+ */
+class PublicUrlMatcherTest {
+
+    private static final String[] LEGACY_PUBLIC_URLS = {"/public", "/status/[0-9]+", "/docs.*"};
+
+    private final PublicUrlMatcher matcher = new PublicUrlMatcher(new String[0], LEGACY_PUBLIC_URLS);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "/api/auth/v1/login",
+        "/api/auth/v1/",
+        "/api/auth/v1",
+        "/api/health/live",
+        "/api/device/v1/keep-alive/123",
+        "/api/device/v1/auth",
+        "/api/device/v1/auth-validate",
+        "/api/device/v1/authx",
+        "/v3/api-docs",
+        "/v3/api-docs/swagger-config",
+        "/swagger-ui.html",
+        "/swagger-uix",
+        "/webjars/x.js",
+        "/webjars",
+        "/configuration/ui",
+        "/public",
+        "/public/more",
+        "/publicity",
+        "/status/42",
+        "/status/x",
+        "/docs",
+        "/docs/index.html",
+        "/api/users/v1",
+        "/api/users/v1/42",
+        ""
+    })
+    void agreesWithTheLegacyRegexChecks(String path) {
+        assertEquals(legacyIsPublic(path), matcher.matches(path), path);
+    }
+
+    @Test
+    void antPatternsMatchTheDirectoryAndEverythingBelowIt() {
+        // Pattern.matches("/swagger-ui/**", path) threw PatternSyntaxException on every call
+        PublicUrlMatcher ant = new PublicUrlMatcher(new String[] {"/swagger-ui/**", "/api-docs/swagger-config"},
+                new String[0]);
+
+        assertTrue(ant.matches("/swagger-ui"));
+        assertTrue(ant.matches("/swagger-ui/"));
+        assertTrue(ant.matches("/swagger-ui/index.html"));
+        assertTrue(ant.matches("/swagger-ui/a/b/c.css"));
+        assertTrue(ant.matches("/api-docs/swagger-config"));
+        assertFalse(ant.matches("/api-docs/swagger-config/x"));
+        assertFalse(ant.matches("/api-docs"));
+    }
+
+    @Test
+    void invalidRegexesAreSkipped() {
+        PublicUrlMatcher invalid = new PublicUrlMatcher(new String[0], new String[] {"/broken/[", "/open"});
+
+        assertTrue(invalid.matches("/open"));
+        // the broken entry is still honoured as a raw prefix, where UrlValidator used to throw
+        assertTrue(invalid.matches("/broken/[x"));
+        assertFalse(invalid.matches("/broken/other"));
+    }
+
+    @Test
+    void nullIsNotPublic() {
+        assertFalse(matcher.matches(null));
+    }
+
+    /**
+     * The union of the removed checks: UrlValidationService matched the default regexes, UrlValidator
+     * matched the legacy entries as a regex or as a raw prefix.
+     */
+    private static boolean legacyIsPublic(String path) {
+        for (String pattern : PublicUrlMatcher.DEFAULT_PUBLIC_URLS) {
+            if (Pattern.matches(pattern, path)) {
+                return true;
+            }
+        }
+        for (String pattern : List.of(LEGACY_PUBLIC_URLS)) {
+            try {
+                if (path.matches(pattern)) {
+                    return true;
+                }
+            } catch (PatternSyntaxException e) {
+                // fall through to the prefix check
+            }
+            if (path.startsWith(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
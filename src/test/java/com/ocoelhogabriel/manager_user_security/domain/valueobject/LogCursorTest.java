@@ -0,0 +1,65 @@
+package com.ocoelhogabriel.manager_user_security.domain.valueobject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.ocoelhogabriel.manager_user_security.domain.exception.DomainException;
+
+/**
+ * Checks that {@link LogCursor} tokens round-trip and that malformed tokens are rejected as domain errors.
+ */
+class LogCursorTest {
+
+    @Test
+    void roundTripsThroughItsToken() {
+        LogCursor cursor = new LogCursor(LocalDateTime.of(2026, 10, 2, 8, 30, 15, 123_456_000), 42L);
+
+        assertEquals(cursor, LogCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void roundTripsTimestampsWithoutSecondsAndTheStartCursor() {
+        LogCursor cursor = new LogCursor(LocalDateTime.of(2026, 10, 2, 8, 30), 1L);
+
+        assertEquals(cursor, LogCursor.decode(cursor.encode()));
+        assertEquals(LogCursor.START, LogCursor.decode(LogCursor.START.encode()));
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new LogCursor(LocalDateTime.of(2026, 10, 2, 8, 30, 15, 999_999_999), Long.MAX_VALUE).encode();
+
+        assertEquals(token, token.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = { "  " })
+    void missingTokenStartsAtTheFirstPage(String token) {
+        assertSame(LogCursor.START, LogCursor.decode(token));
+    }
+
+    @Test
+    void rejectsTokensThatAreNotBase64() {
+        assertThrows(DomainException.class, () -> LogCursor.decode("not base64!"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "2026-10-02T08:30", "2026-10-02T08:30|", "|42", "yesterday|42",
+            "2026-10-02T08:30|forty-two", "2026-10-02T08:30|99999999999999999999" })
+    void rejectsMalformedContent(String raw) {
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(DomainException.class, () -> LogCursor.decode(token));
+    }
+}
@@ -0,0 +1,65 @@
+package com.ocoelhogabriel.manager_user_security.domain.valueobject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+
+/**
+ * Checks how {@link LogPage#of(List, int)} tells the last page from one with a successor.
+ */
+class LogPageTest {
+
+    private static final int LIMIT = 3;
+
+    @Test
+    void pageOfExactlyTheLimitIsTheLastPage() {
+        List<Logger> fetched = entries(LIMIT);
+
+        LogPage page = LogPage.of(fetched, LIMIT);
+
+        assertEquals(fetched, page.items());
+        assertNull(page.next());
+    }
+
+    @Test
+    void extraEntryYieldsACursorAtTheLastItem() {
+        List<Logger> fetched = entries(LIMIT + 1);
+
+        LogPage page = LogPage.of(fetched, LIMIT);
+
+        assertEquals(fetched.subList(0, LIMIT), page.items());
+        Logger last = fetched.get(LIMIT - 1);
+        assertEquals(new LogCursor(last.getTimestamp(), last.getId()), page.next());
+    }
+
+    @Test
+    void emptyResultIsAnEmptyLastPage() {
+        LogPage page = LogPage.of(List.of(), LIMIT);
+
+        assertTrue(page.items().isEmpty());
+        assertNull(page.next());
+    }
+
+    private static List<Logger> entries(int count) {
+        // Newest first, as the page queries return them
+        List<Logger> entries = new ArrayList<>();
+        for (int i = count; i > 0; i--) {
+            entries.add(new Logger.Builder()
+                    .withId((long) i)
+                    .withTimestamp(LocalDateTime.of(2026, 10, 2, 8, 0).plusMinutes(i))
+                    .withSerialNumber("SN-1")
+                    .withType(LoggerType.INFO)
+                    .withMessage("message " + i)
+                    .build());
+        }
+        return entries;
+    }
+}
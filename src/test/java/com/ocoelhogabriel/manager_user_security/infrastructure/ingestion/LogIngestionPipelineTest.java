@@ -0,0 +1,234 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.ingestion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.ocoelhogabriel.manager_user_security.application.exception.ServiceUnavailableException;
+import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+import com.ocoelhogabriel.manager_user_security.domain.repository.LoggerRepository;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LoggerType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Covers batching, backpressure, retries and shutdown draining of {@link LogIngestionPipeline} against a
+ * recording repository.
+ */
+class LogIngestionPipelineTest {
+
+    // Longer than the flush waits below, so only a full batch can trigger those flushes
+    private static final Duration LONG_INTERVAL = Duration.ofSeconds(3);
+    // Short enough for shutdown to not wait on a half-filled batch
+    private static final Duration SHORT_INTERVAL = Duration.ofMillis(200);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<Logger>> batches = Collections.synchronizedList(new ArrayList<>());
+    private LogIngestionPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void flushesWhenTheBatchIsFull() throws InterruptedException {
+        CountDownLatch flushed = new CountDownLatch(1);
+        pipeline = start(recording(flushed), 100, 3, LONG_INTERVAL, 1);
+
+        for (int i = 0; i < 3; i++) {
+            pipeline.submit(entry(i));
+        }
+
+        assertTrue(flushed.await(1, TimeUnit.SECONDS), "no flush before the flush interval");
+        assertEquals(List.of(3), batchSizes());
+    }
+
+    @Test
+    void flushesAPartialBatchAfterTheFlushInterval() throws InterruptedException {
+        CountDownLatch flushed = new CountDownLatch(1);
+        pipeline = start(recording(flushed), 100, 100, Duration.ofMillis(50), 1);
+
+        pipeline.submit(entry(1));
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS), "partial batch was not flushed");
+        assertEquals(List.of(1), batchSizes());
+    }
+
+    @Test
+    void rejectsEntriesWhenTheBufferIsFull() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline = start(batch -> {
+            writing.countDown();
+            await(release);
+            batches.add(List.copyOf(batch));
+        }, 1, 1, LONG_INTERVAL, 1);
+
+        pipeline.submit(entry(1));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        // The writer holds the first entry, the buffer holds the second
+        pipeline.submit(entry(2));
+
+        assertThrows(ServiceUnavailableException.class, () -> pipeline.submit(entry(3)));
+        assertEquals(1.0, counter("rejected"));
+        release.countDown();
+    }
+
+    @Test
+    void drainsAcceptedEntriesOnShutdownAndRejectsLaterOnes() {
+        pipeline = start(recording(new CountDownLatch(1)), 100, 100, SHORT_INTERVAL, 1);
+        for (int i = 0; i < 5; i++) {
+            pipeline.submit(entry(i));
+        }
+
+        pipeline.stop();
+
+        assertEquals(5, batchSizes().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(5.0, counter("written"));
+        assertThrows(ServiceUnavailableException.class, () -> pipeline.submit(entry(6)));
+    }
+
+    @Test
+    void retriesAFailedWriteBeforeCountingItAsFailed() throws InterruptedException {
+        CountDownLatch flushed = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        BatchWriter recording = recording(flushed);
+        pipeline = start(batch -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("connection refused");
+            }
+            recording.write(batch);
+        }, 100, 2, LONG_INTERVAL, 3);
+
+        pipeline.submit(entry(1));
+        pipeline.submit(entry(2));
+
+        assertTrue(flushed.await(1, TimeUnit.SECONDS), "batch was not written after retrying");
+        // Counters are updated after the write returns
+        pipeline.stop();
+        assertEquals(3, attempts.get());
+        assertEquals(List.of(2), batchSizes());
+        assertEquals(2.0, counter("written"));
+        assertEquals(0.0, counter("failed"));
+    }
+
+    @Test
+    void countsEntriesAsFailedOnceEveryAttemptFailed() {
+        AtomicInteger attempts = new AtomicInteger();
+        pipeline = start(batch -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("connection refused");
+        }, 100, 100, SHORT_INTERVAL, 3);
+        pipeline.submit(entry(1));
+        pipeline.submit(entry(2));
+
+        pipeline.stop();
+
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, counter("failed"));
+        assertEquals(0.0, counter("written"));
+    }
+
+    @Test
+    void noEntryIsAcceptedAfterShutdownWithoutBeingWritten() throws InterruptedException {
+        pipeline = start(recording(new CountDownLatch(1)), 100_000, 50, Duration.ofMillis(10), 1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread submitter = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    try {
+                        pipeline.submit(entry(i));
+                        accepted.incrementAndGet();
+                    } catch (ServiceUnavailableException e) {
+                        return;
+                    }
+                }
+            });
+            submitters.add(submitter);
+            submitter.start();
+        }
+        Thread.sleep(20);
+
+        pipeline.stop();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        assertEquals(accepted.get(), batchSizes().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    private LogIngestionPipeline start(BatchWriter writer, int capacity, int batchSize, Duration flushInterval,
+            int maxAttempts) {
+        LogIngestionPipeline started = new LogIngestionPipeline(repository(writer), capacity, batchSize,
+                flushInterval, Duration.ofSeconds(10), maxAttempts, Duration.ofMillis(10), meterRegistry);
+        started.start();
+        return started;
+    }
+
+    private BatchWriter recording(CountDownLatch flushed) {
+        return batch -> {
+            batches.add(List.copyOf(batch));
+            flushed.countDown();
+        };
+    }
+
+    private List<Integer> batchSizes() {
+        synchronized (batches) {
+            return batches.stream().map(List::size).toList();
+        }
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("logs.ingestion.entries").tag("outcome", outcome).counter().count();
+    }
+
+    private static LoggerRepository repository(BatchWriter writer) {
+        LoggerRepository repository = mock(LoggerRepository.class);
+        doAnswer(invocation -> {
+            writer.write(invocation.getArgument(0));
+            return null;
+        }).when(repository).insertAll(anyList());
+        return repository;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Logger entry(int i) {
+        return new Logger.Builder()
+                .withTimestamp(LocalDateTime.of(2026, 10, 1, 8, 0).plusSeconds(i))
+                .withSerialNumber("SN-" + i)
+                .withType(LoggerType.INFO)
+                .withMessage("message " + i)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface BatchWriter {
+        void write(List<Logger> batch);
+    }
+}
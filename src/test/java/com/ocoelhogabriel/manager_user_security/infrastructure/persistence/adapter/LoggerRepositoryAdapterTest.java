@@ -0,0 +1,161 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LogCursor;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LogPage;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LoggerType;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.LoggerEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.LoggerJpaRepository;
+import com.ocoelhogabriel.manager_user_security.interfaces.mapper.LoggerMapper;
+
+/**
+ * Runs the JDBC batch writes and the keyset page queries of {@link LoggerRepositoryAdapter} against
+ * PostgreSQL. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({ LoggerRepositoryAdapter.class, LoggerRepositoryAdapterTest.Mappers.class })
+class LoggerRepositoryAdapterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 10, 1, 8, 0);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Configuration
+    @ComponentScan(basePackageClasses = LoggerMapper.class)
+    static class Mappers {
+    }
+
+    @Autowired
+    private LoggerRepositoryAdapter loggerRepositoryAdapter;
+
+    @Autowired
+    private LoggerJpaRepository loggerJpaRepository;
+
+    @AfterEach
+    void cleanUp() {
+        loggerJpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void insertsEveryEntryAcrossStatementChunks() {
+        // More rows than one multi-row statement takes, with a partial last chunk
+        List<Logger> entries = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            entries.add(entry(START.plusSeconds(i), "SN-" + (i % 7), i % 2 == 0 ? LoggerType.INFO : LoggerType.ERROR,
+                    "message " + i));
+        }
+
+        loggerRepositoryAdapter.insertAll(entries);
+
+        List<LoggerEntity> rows = loggerJpaRepository.findAll();
+        rows.sort(Comparator.comparing(LoggerEntity::getTimestamp));
+        assertEquals(2500, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            LoggerEntity row = rows.get(i);
+            assertEquals(START.plusSeconds(i), row.getTimestamp());
+            assertEquals("SN-" + (i % 7), row.getSerialNumber());
+            assertEquals(i % 2 == 0 ? LoggerType.INFO : LoggerType.ERROR, row.getType());
+            assertEquals("message " + i, row.getMessage());
+        }
+        assertEquals(2500, rows.stream().map(LoggerEntity::getId).distinct().count());
+    }
+
+    @Test
+    void insertsASingleEntryAndNothingForAnEmptyBatch() {
+        loggerRepositoryAdapter.insertAll(List.of());
+        assertEquals(0, loggerJpaRepository.count());
+
+        loggerRepositoryAdapter.insertAll(List.of(entry(START, "SN-1", LoggerType.WARN, "it's \"quoted\", ok")));
+
+        List<LoggerEntity> rows = loggerJpaRepository.findAll();
+        assertEquals(1, rows.size());
+        assertEquals("it's \"quoted\", ok", rows.get(0).getMessage());
+        assertNotNull(rows.get(0).getId());
+    }
+
+    @Test
+    void pagesThroughDuplicateTimestampsWithoutSkippingOrRepeating() {
+        // 23 entries sharing only 4 timestamps, so most page boundaries fall inside a run of equal timestamps
+        List<Logger> entries = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            entries.add(entry(START.plusMinutes(i % 4), "SN-1", LoggerType.INFO, "message " + i));
+        }
+        // Matches none of the three queries below
+        entries.add(entry(START.minusMinutes(1), "SN-2", LoggerType.WARN, "other device"));
+        loggerRepositoryAdapter.insertAll(entries);
+        List<Long> expected = loggerJpaRepository.findAll().stream()
+                .filter(row -> row.getSerialNumber().equals("SN-1"))
+                .sorted(Comparator.comparing(LoggerEntity::getTimestamp).thenComparing(LoggerEntity::getId).reversed())
+                .map(LoggerEntity::getId)
+                .toList();
+
+        assertEquals(expected, pageThrough((after, limit) ->
+                loggerRepositoryAdapter.findPageBySerialNumber("SN-1", after, limit)));
+        assertEquals(expected, pageThrough((after, limit) ->
+                loggerRepositoryAdapter.findPageByType(LoggerType.INFO, after, limit)));
+        assertEquals(expected, pageThrough((after, limit) ->
+                loggerRepositoryAdapter.findPageByTimestampBetween(START, START.plusMinutes(3), after, limit)));
+    }
+
+    /**
+     * Follows the next-page cursors from the first page to the last with pages of 4, as the log service does.
+     */
+    private static List<Long> pageThrough(BiFunction<LogCursor, Integer, List<Logger>> query) {
+        int limit = 4;
+        List<Long> ids = new ArrayList<>();
+        LogCursor after = LogCursor.START;
+        for (int pages = 0; after != null; pages++) {
+            assertTrue(pages <= 10, "paging does not terminate");
+            LogPage page = LogPage.of(query.apply(after, limit + 1), limit);
+            page.items().forEach(entry -> ids.add(entry.getId()));
+            after = page.next() == null ? null : LogCursor.decode(page.next().encode());
+        }
+        return ids;
+    }
+
+    private static Logger entry(LocalDateTime timestamp, String serialNumber, LoggerType type, String message) {
+        return new Logger.Builder()
+                .withTimestamp(timestamp)
+                .withSerialNumber(serialNumber)
+                .withType(type)
+                .withMessage(message)
+                .build();
+    }
+}
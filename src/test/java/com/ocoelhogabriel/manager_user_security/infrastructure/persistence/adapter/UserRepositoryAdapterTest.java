@@ -0,0 +1,214 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.ocoelhogabriel.manager_user_security.domain.entity.Permission;
+import com.ocoelhogabriel.manager_user_security.domain.entity.Role;
+import com.ocoelhogabriel.manager_user_security.domain.entity.User;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.PermissionEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.ResourceEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.RoleEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.UserEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.PermissionJpaRepository;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.ResourceJpaRepository;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.RoleJpaRepository;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.UserJpaRepository;
+import com.ocoelhogabriel.manager_user_security.interfaces.mapper.UserMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the statements {@link UserRepositoryAdapter} issues against PostgreSQL, using the Hibernate
+ * statistics. Pins down that the authentication graph is one statement, and that the lazy user, role and
+ * permission associations are mapped inside the adapter's transaction with batched loads.
+ * <p>
+ * The test methods run without a transaction of their own, as the adapters do behind a request with
+ * open-in-view disabled, so a lazy association touched outside the adapter would fail here.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({ UserRepositoryAdapter.class, UserRepositoryAdapterTest.Mappers.class })
+class UserRepositoryAdapterTest {
+
+    private static final int VIEWERS = 5;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Configuration
+    @ComponentScan(basePackageClasses = UserMapper.class)
+    static class Mappers {
+    }
+
+    @Autowired
+    private UserRepositoryAdapter userRepositoryAdapter;
+
+    @Autowired
+    private UserJpaRepository userJpaRepository;
+
+    @Autowired
+    private RoleJpaRepository roleJpaRepository;
+
+    @Autowired
+    private PermissionJpaRepository permissionJpaRepository;
+
+    @Autowired
+    private ResourceJpaRepository resourceJpaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long adminId;
+
+    @BeforeEach
+    void seed() {
+        ResourceEntity users = resource("users");
+        ResourceEntity roles = resource("roles");
+
+        RoleEntity admin = role("ADMIN");
+        RoleEntity viewer = role("VIEWER");
+        permission(admin, users, "create");
+        permission(admin, roles, "update");
+        permission(viewer, users, "read");
+
+        adminId = user("alice", admin, viewer).getId();
+        for (int i = 0; i < VIEWERS; i++) {
+            user("viewer" + i, viewer);
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userJpaRepository.deleteAll();
+        permissionJpaRepository.deleteAll();
+        roleJpaRepository.deleteAll();
+        resourceJpaRepository.deleteAll();
+    }
+
+    @Test
+    void loadsTheAuthenticationGraphInOneStatement() {
+        Optional<User> user = userRepositoryAdapter.findForAuthentication("alice");
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(user.isPresent());
+        assertEquals(Map.of(
+                "ADMIN", Set.of("users:create", "roles:update"),
+                "VIEWER", Set.of("users:read")), grants(user.get()));
+    }
+
+    @Test
+    void findsNoAuthenticationGraphForAnUnknownUser() {
+        assertTrue(userRepositoryAdapter.findForAuthentication("nobody").isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void mapsLazyAssociationsInsideTheAdapterTransaction() {
+        Optional<User> user = userRepositoryAdapter.findById(adminId);
+
+        assertTrue(user.isPresent());
+        assertEquals(Map.of(
+                "ADMIN", Set.of("users:create", "roles:update"),
+                "VIEWER", Set.of("users:read")), grants(user.get()));
+        // user, its roles, their permissions, the permissions' resources
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void batchesLazyLoadsAcrossAllUsers() {
+        List<User> all = userRepositoryAdapter.findAll();
+
+        assertEquals(VIEWERS + 1, all.size());
+        all.forEach(user -> assertTrue(grants(user).containsKey("VIEWER"), user.getUsername()));
+        // Same bound as for a single user: the associations of every user are loaded in batches, not per owner
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    private static Map<String, Set<String>> grants(User user) {
+        Map<String, Set<String>> grants = new TreeMap<>();
+        for (Role role : user.getRoles()) {
+            grants.put(role.getName(), role.getPermissions().stream()
+                    .flatMap(permission -> actions(permission).stream())
+                    .collect(Collectors.toCollection(TreeSet::new)));
+        }
+        return grants;
+    }
+
+    private static Set<String> actions(Permission permission) {
+        return permission.getActions().stream()
+                .map(action -> permission.getResource() + ":" + action)
+                .collect(Collectors.toSet());
+    }
+
+    private ResourceEntity resource(String name) {
+        ResourceEntity resource = new ResourceEntity(name, name, "/api/" + name + "/v1/**", "GET");
+        resource.setCreatedAt(LocalDateTime.now());
+        return resourceJpaRepository.save(resource);
+    }
+
+    private RoleEntity role(String name) {
+        RoleEntity role = new RoleEntity(name, name);
+        role.setCreatedAt(LocalDateTime.now());
+        return roleJpaRepository.save(role);
+    }
+
+    private void permission(RoleEntity role, ResourceEntity resource, String action) {
+        PermissionEntity permission = new PermissionEntity(resource.getName() + "_" + action, action, action, resource);
+        permission.setRole(role);
+        permission.setCreatedAt(LocalDateTime.now());
+        permissionJpaRepository.save(permission);
+    }
+
+    private UserEntity user(String username, RoleEntity... roles) {
+        UserEntity user = new UserEntity(username, username + "@example.com", "hash");
+        user.setCreatedAt(LocalDateTime.now());
+        user.setRoles(new HashSet<>(List.of(roles)));
+        return userJpaRepository.save(user);
+    }
+}
@@ -0,0 +1,177 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.persistence.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs {@link LoggerPartitionManager} against PostgreSQL: creating the partitioned table, converting an
+ * empty and a populated table as created by the schema update, creating monthly partitions ahead and
+ * dropping the ones past the retention window. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class LoggerPartitionManagerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 15, 12, 0);
+
+    // The logger table as the schema update creates it from LoggerEntity
+    private static final String[] CREATE_LEGACY_TABLE = {
+            """
+            CREATE TABLE logger (
+                id bigint GENERATED BY DEFAULT AS IDENTITY,
+                "timestamp" timestamp(6) NOT NULL,
+                serial_number varchar(255) NOT NULL,
+                type varchar(255) NOT NULL,
+                message varchar(1000) NOT NULL,
+                PRIMARY KEY (id)
+            )""",
+            "CREATE INDEX idx_logger_serial_number_timestamp ON logger (serial_number, \"timestamp\", id)",
+            "CREATE INDEX idx_logger_type_timestamp ON logger (type, \"timestamp\", id)",
+            "CREATE INDEX idx_logger_timestamp ON logger (\"timestamp\", id)"
+    };
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void resetSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(),
+                POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS logger CASCADE");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS logger_legacy CASCADE");
+    }
+
+    @Test
+    void createsPartitionedTableWhenMissing() {
+        manager(3, 0, NOW).initialize();
+
+        assertEquals("p", tableKind());
+        assertEquals(List.of("logger_default", "logger_p2026_10", "logger_p2026_11", "logger_p2026_12",
+                "logger_p2027_01"), partitionNames());
+        long id = insert(NOW);
+        assertEquals("logger_p2026_10", partitionOf(id));
+    }
+
+    @Test
+    void recreatesEmptyTableAsPartitioned() {
+        createLegacyTable();
+
+        manager(1, 0, NOW).initialize();
+
+        assertEquals("p", tableKind());
+        assertEquals(List.of("logger_default", "logger_p2026_10", "logger_p2026_11"), partitionNames());
+    }
+
+    @Test
+    void attachesPopulatedTableAsLegacyPartition() {
+        createLegacyTable();
+        long first = insert(LocalDateTime.of(2026, 8, 3, 8, 0));
+        long last = insert(LocalDateTime.of(2026, 9, 20, 17, 30));
+
+        manager(1, 0, NOW).initialize();
+
+        assertEquals("p", tableKind());
+        assertEquals(List.of("logger_default", "logger_legacy", "logger_p2026_10", "logger_p2026_11"),
+                partitionNames());
+        assertEquals("FOR VALUES FROM (MINVALUE) TO ('2026-10-01 00:00:00')", partitionBound("logger_legacy"));
+        assertEquals("logger_legacy", partitionOf(first));
+        assertEquals("logger_legacy", partitionOf(last));
+        // New ids continue after the converted rows, and new rows land in the monthly partitions
+        long next = insert(NOW);
+        assertTrue(next > last, "next id " + next + " after " + last);
+        assertEquals("logger_p2026_10", partitionOf(next));
+        assertEquals(3, count());
+    }
+
+    @Test
+    void initializingTwiceChangesNothing() {
+        manager(1, 0, NOW).initialize();
+        List<String> partitions = partitionNames();
+
+        manager(1, 0, NOW).initialize();
+
+        assertEquals(partitions, partitionNames());
+    }
+
+    @Test
+    void createsUpcomingPartitionsAndDropsExpiredOnes() {
+        manager(1, 1, NOW).initialize();
+        insert(LocalDateTime.of(2026, 10, 2, 0, 0));
+        insert(LocalDateTime.of(2026, 11, 2, 0, 0));
+
+        // Three months later, with one past month kept: October and November are past the window
+        manager(1, 1, NOW.plusMonths(3)).maintain();
+
+        assertEquals(List.of("logger_default", "logger_p2027_01", "logger_p2027_02"), partitionNames());
+        assertEquals(0, count());
+    }
+
+    @Test
+    void dropsLegacyPartitionOnceItIsPastRetention() {
+        createLegacyTable();
+        insert(LocalDateTime.of(2026, 9, 20, 17, 30));
+        // September is the one past month kept in October
+        manager(0, 1, NOW).initialize();
+        assertEquals(List.of("logger_default", "logger_legacy", "logger_p2026_10"), partitionNames());
+
+        manager(0, 1, NOW.plusMonths(1)).maintain();
+        assertEquals(List.of("logger_default", "logger_p2026_10", "logger_p2026_11"), partitionNames());
+    }
+
+    private LoggerPartitionManager manager(int monthsAhead, int retentionMonths, LocalDateTime now) {
+        Clock clock = Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        return new LoggerPartitionManager(jdbcTemplate, transactionManager, monthsAhead, retentionMonths, clock);
+    }
+
+    private void createLegacyTable() {
+        for (String statement : CREATE_LEGACY_TABLE) {
+            jdbcTemplate.execute(statement);
+        }
+    }
+
+    private long insert(LocalDateTime timestamp) {
+        return jdbcTemplate.queryForObject("INSERT INTO logger (\"timestamp\", serial_number, type, message) "
+                + "VALUES (?, 'SN-1', 'INFO', 'message') RETURNING id", Long.class, timestamp);
+    }
+
+    private String tableKind() {
+        return jdbcTemplate.queryForObject("SELECT relkind::text FROM pg_class WHERE oid = to_regclass('logger')",
+                String.class);
+    }
+
+    private List<String> partitionNames() {
+        return jdbcTemplate.queryForList("SELECT c.relname::text FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                + " WHERE i.inhparent = to_regclass('logger') ORDER BY c.relname", String.class);
+    }
+
+    private String partitionBound(String partition) {
+        return jdbcTemplate.queryForObject("SELECT pg_get_expr(relpartbound, oid) FROM pg_class WHERE oid = to_regclass(?)",
+                String.class, partition);
+    }
+
+    private String partitionOf(long id) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM logger WHERE id = ?", String.class, id);
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM logger", Long.class);
+    }
+}
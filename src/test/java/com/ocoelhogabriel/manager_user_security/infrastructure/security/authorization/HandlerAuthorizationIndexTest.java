@@ -0,0 +1,128 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+
+/**
+ * Checks which request mappings {@link HandlerAuthorizationIndex} resolves up front and which it leaves to
+ * the per-request URL classification.
+ */
+class HandlerAuthorizationIndexTest {
+
+    private HandlerAuthorizationIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        index = new HandlerAuthorizationIndex(mock(ObjectProvider.class), new String[] { "/api/public/**" });
+    }
+
+    @Test
+    void resolvesAFixedMapping() {
+        HandlerRequirement requirement = resolve(RequestMethod.POST, "/api/users/v1");
+
+        assertEquals("/API/USERS", requirement.resourceKey());
+        assertEquals(PermissionBits.CREATE, requirement.requiredBits("POST"));
+    }
+
+    @Test
+    void getOnAnUnconstrainedVariableIsResolvedPerUrl() {
+        // /api/users/v1/42 needs READ, /api/users/v1/abc needs LIST
+        assertSame(HandlerRequirement.PER_URL, resolve(RequestMethod.GET, "/api/users/v1/{id}"));
+    }
+
+    @Test
+    void numericVariableIsAnId() {
+        HandlerRequirement requirement = resolve(RequestMethod.GET, "/api/users/v1/{id:\\d+}");
+
+        assertTrue(requirement.idPresent());
+        assertEquals(PermissionBits.READ, requirement.requiredBits("GET"));
+    }
+
+    @Test
+    void variableThatCannotChangeTheDecisionIsResolved() {
+        assertEquals(PermissionBits.EDIT, resolve(RequestMethod.PUT, "/api/users/v1/{id}").requiredBits("PUT"));
+        assertEquals(PermissionBits.EDIT,
+                resolve(RequestMethod.PUT, "/api/users/v1/{id}/password").requiredBits("PUT"));
+        HandlerRequirement bySerial = resolve(RequestMethod.GET, "/api/logs/v1/serial/{serialNumber}");
+        assertEquals("/API/LOGS", bySerial.resourceKey());
+        assertEquals(PermissionBits.LIST, bySerial.requiredBits("GET"));
+    }
+
+    @Test
+    void everyPatternOfAMappingIsClassified() {
+        HandlerRequirement agreeing = resolve(RequestMethod.GET, "/api/users/v1/search", "/api/users/v1/find");
+        assertEquals(PermissionBits.LIST, agreeing.requiredBits("GET"));
+
+        assertSame(HandlerRequirement.PER_URL, resolve(RequestMethod.GET, "/api/users/v1", "/api/companies/v1"));
+        assertSame(HandlerRequirement.PER_URL,
+                resolve(RequestMethod.GET, "/api/users/v1/search", "/api/users/v1/{id:\\d+}"));
+    }
+
+    @Test
+    void publicOnlyWhenEveryPatternIsPublic() {
+        assertNull(resolve(RequestMethod.POST, "/api/auth/v1/login", "/api/public/v1/ping"));
+        assertSame(HandlerRequirement.PER_URL, resolve(RequestMethod.POST, "/api/auth/v1/login", "/api/auth/v1/me"));
+        // /api/public/v1 is public, /api/users/v1 is not
+        assertSame(HandlerRequirement.PER_URL, resolve(RequestMethod.GET, "/api/{resource:public|users}/v1"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/api/{resource}/v1", "/api/users/**", "/api/users/v1/{*rest}", "/api/users/v?" })
+    void unresolvablePatternsAreResolvedPerUrl(String pattern) {
+        assertSame(HandlerRequirement.PER_URL, resolve(RequestMethod.GET, pattern));
+    }
+
+    @Test
+    void mappingOutsideTheLayoutIsDenied() {
+        HandlerRequirement requirement = resolve(RequestMethod.GET, "/legacy/{id}");
+
+        assertSame(HandlerRequirement.INVALID_FORMAT, requirement);
+        assertFalse(requirement.isValid());
+    }
+
+    @Test
+    void mappingWithoutMethodsMustAgreeForEveryMethod() {
+        HandlerRequirement collection = index.resolve(RequestMappingInfo.paths("/api/users/v1").build());
+        assertEquals(HandlerRequirement.PER_REQUEST, collection.requiredBits());
+        assertEquals(PermissionBits.LIST, collection.requiredBits("GET"));
+
+        // A GET needs READ or LIST depending on the variable
+        assertSame(HandlerRequirement.PER_URL, index.resolve(RequestMappingInfo.paths("/api/users/v1/{id}").build()));
+    }
+
+    @Test
+    void perUrlRequirementIsClassifiedFromTheRequest() {
+        HandlerRequirement byId = index.resolve(request("GET", "/api/users/v1/42"));
+        assertEquals("/API/USERS", byId.resourceKey());
+        assertEquals(PermissionBits.READ, byId.requiredBits("GET"));
+
+        assertEquals(PermissionBits.LIST, index.resolve(request("GET", "/api/users/v1/abc")).requiredBits("GET"));
+        assertSame(HandlerRequirement.INVALID_FORMAT, index.resolve(request("GET", "/api")));
+        assertNull(index.resolve(request("GET", "/api/public/v1/ping")));
+    }
+
+    private HandlerRequirement resolve(RequestMethod method, String... patterns) {
+        return index.resolve(RequestMappingInfo.paths(patterns).methods(method).build());
+    }
+
+    private static MockHttpServletRequest request(String method, String servletPath) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/ctx" + servletPath);
+        request.setContextPath("/ctx");
+        request.setServletPath(servletPath);
+        return request;
+    }
+}
@@ -0,0 +1,101 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.authorization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Checks that {@link UrlClassifier} resolves the same resource, version and action as the split-based
+ * UrlPathMatcher it replaced, and pins down the intended differences.
+ */
+class UrlClassifierTest {
+
+    private static final String CONTEXT = "/ctx";
+
+    @ParameterizedTest
+    @CsvSource({
+        "/ctx/api/users/v1, GET",
+        "/ctx/api/users/v1, POST",
+        "/ctx/api/users/v1/, GET",
+        "/ctx/api/Users/V2/password, PUT",
+        "/ctx/api/companies/v1/search, GET",
+        "/ctx/api/companies/v1/42, DELETE",
+        "/ctx/api/logs/v1/serial/ABC, GET",
+        "/ctx/api/plants/v1/export/extra/segments, GET"
+    })
+    void agreesWithTheLegacyMatcher(String path, String method) {
+        Legacy legacy = Legacy.classify(path);
+        UrlClassification classification = UrlClassifier.classify(path, CONTEXT.length(), method);
+
+        assertTrue(legacy.valid());
+        assertTrue(classification.isValid());
+        assertEquals(legacy.resourceKey(), classification.getResourceKey());
+        assertEquals(legacy.version(), classification.getVersion());
+        if (!classification.isIdPresent()) {
+            assertEquals(legacy.action(), classification.getAction());
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "/ctx",
+        "/ctx/",
+        "/ctx/api",
+        "/ctx/api/users"
+    })
+    void rejectsShortPathsLikeTheLegacyMatcher(String path) {
+        assertFalse(Legacy.classify(path).valid());
+        assertSame(UrlClassification.INVALID_FORMAT, UrlClassifier.classify(path, CONTEXT.length(), "GET"));
+    }
+
+    @Test
+    void getWithNumericIdIsSearch() {
+        // UrlPathMatcher could never reach its SEARCH branch; the classifier reports it
+        UrlClassification classification = UrlClassifier.classify("/ctx/api/users/v1/42", CONTEXT.length(), "GET");
+
+        assertEquals(UrlClassification.Result.SEARCH, classification.getResult());
+        assertTrue(classification.isIdPresent());
+        assertEquals(null, classification.getAction());
+    }
+
+    @Test
+    void emptySegmentsAreInvalid() {
+        // UrlPathMatcher accepted an empty resource segment as the resource "/API/"
+        assertTrue(Legacy.classify("/ctx/api//v1").valid());
+        assertFalse(UrlClassifier.classify("/ctx/api//v1", CONTEXT.length(), "GET").isValid());
+    }
+
+    @Test
+    void knownSegmentsResolveToCanonicalInstances() {
+        UrlClassification first = UrlClassifier.classify("/ctx/api/roles/v1/assign", CONTEXT.length(), "POST");
+        UrlClassification second = UrlClassifier.classify("/ctx/api/ROLES/V1/ASSIGN", CONTEXT.length(), "POST");
+
+        assertSame(first.getResourceKey(), second.getResourceKey());
+        assertSame(first.getVersion(), second.getVersion());
+        assertSame(first.getAction(), second.getAction());
+    }
+
+    /**
+     * The parsing of the removed UrlPathMatcher, which expected the context path as the first segment.
+     */
+    private record Legacy(boolean valid, String resourceKey, String version, String action) {
+
+        static Legacy classify(String url) {
+            String[] parts = url.split("/");
+            if (parts.length < 5) {
+                return new Legacy(false, null, null, null);
+            }
+            String resource = ("/api/" + parts[3]).toUpperCase(Locale.ROOT);
+            String version = ("/" + parts[4]).toUpperCase(Locale.ROOT);
+            String action = parts.length > 5 ? ("/" + parts[5]).toUpperCase(Locale.ROOT) : null;
+            return new Legacy(true, resource, version, action);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.SigningKeyEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.SigningKeyJpaRepository;
+
+/**
+ * Checks that {@link JwtKeyRing} publishes a new key for the JWKS cache lifetime before signing with it,
+ * and that private keys are stored encrypted when a key-encryption key is configured.
+ */
+class JwtKeyRingTest {
+
+    private static final Duration ROTATION_PERIOD = Duration.ofDays(7);
+    private static final Duration PUBLISH_DELAY = Duration.ofMinutes(5);
+    private static final String ENCRYPTION_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final SigningKeyJpaRepository repository = mock(SigningKeyJpaRepository.class);
+    private final List<SigningKeyEntity> rows = new ArrayList<>();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-01T00:00:00Z"));
+
+    @BeforeEach
+    void setUp() {
+        when(repository.save(any())).thenAnswer(invocation -> {
+            SigningKeyEntity key = invocation.getArgument(0);
+            rows.add(key);
+            return key;
+        });
+        when(repository.findByExpiresAtAfterOrderByCreatedAtDesc(any())).thenAnswer(invocation -> {
+            Instant now = invocation.getArgument(0);
+            return rows.stream()
+                    .filter(key -> key.getExpiresAt().isAfter(now))
+                    .sorted(Comparator.comparing(SigningKeyEntity::getCreatedAt).reversed())
+                    .toList();
+        });
+    }
+
+    @Test
+    void firstKeySignsRightAway() {
+        JwtKeyRing ring = ring("");
+
+        assertEquals(1, rows.size());
+        assertEquals(rows.get(0).getKid(), ring.signingKey().kid());
+        assertEquals(List.of(rows.get(0).getKid()), publishedKids(ring));
+    }
+
+    @Test
+    void rotatedKeyIsPublishedBeforeItSigns() {
+        JwtKeyRing ring = ring("");
+        String first = ring.signingKey().kid();
+
+        clock.advance(ROTATION_PERIOD);
+        ring.rotate();
+        String second = rows.get(1).getKid();
+
+        // Published and verifiable at once, but not yet signing
+        assertEquals(List.of(second, first), publishedKids(ring));
+        assertNotNull(ring.verifier(second));
+        assertEquals(first, ring.signingKey().kid());
+
+        clock.advance(PUBLISH_DELAY.minusSeconds(1));
+        assertEquals(first, ring.signingKey().kid());
+
+        // Promoted once the publish delay has passed, without a reload
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(second, ring.signingKey().kid());
+        assertNotNull(ring.verifier(first));
+    }
+
+    @Test
+    void anotherInstanceSigningKeyIsPickedUpAfterItsPublishDelay() {
+        JwtKeyRing ring = ring("");
+        String first = ring.signingKey().kid();
+        clock.advance(ROTATION_PERIOD);
+        JwtKeyRing other = ring("");
+        String second = rows.get(1).getKid();
+        assertEquals(first, other.signingKey().kid());
+
+        clock.advance(Duration.ofMinutes(10));
+        ring.rotate();
+
+        assertEquals(2, rows.size());
+        assertEquals(second, ring.signingKey().kid());
+        assertEquals(second, other.signingKey().kid());
+    }
+
+    @Test
+    void privateKeysAreStoredEncryptedWhenConfigured() {
+        JwtKeyRing ring = ring(ENCRYPTION_KEY);
+        String kid = ring.signingKey().kid();
+
+        assertTrue(rows.get(0).getPrivateKey().startsWith("aesgcm:"));
+        // Another instance with the same key-encryption key signs with the stored key
+        assertEquals(kid, ring(ENCRYPTION_KEY).signingKey().kid());
+        assertEquals(1, rows.size());
+        // Without it the stored key cannot be used
+        assertThrows(IllegalStateException.class, () -> ring(""));
+    }
+
+    @Test
+    void unencryptedKeysStayReadableAfterAKeyEncryptionKeyIsConfigured() {
+        String kid = ring("").signingKey().kid();
+
+        JwtKeyRing ring = ring(ENCRYPTION_KEY);
+
+        assertEquals(kid, ring.signingKey().kid());
+        assertFalse(rows.get(0).getPrivateKey().startsWith("aesgcm:"));
+    }
+
+    @Test
+    void encryptedKeyOnlyOpensUnderItsOwnKid() throws GeneralSecurityException {
+        SigningKeyCipher cipher = new SigningKeyCipher(ENCRYPTION_KEY);
+        byte[] encoded = {1, 2, 3, 4};
+
+        String sealed = cipher.seal("kid-1", encoded);
+
+        assertArrayEquals(encoded, cipher.open("kid-1", sealed));
+        assertThrows(GeneralSecurityException.class, () -> cipher.open("kid-2", sealed));
+    }
+
+    @Test
+    void rejectsMalformedKeyEncryptionKey() {
+        assertThrows(IllegalStateException.class, () -> ring("not base64!"));
+        assertThrows(IllegalStateException.class, () -> ring(Base64.getEncoder().encodeToString(new byte[10])));
+    }
+
+    private JwtKeyRing ring(String encryptionKey) {
+        JwtKeyRing ring = new JwtKeyRing(repository, "ES256", ROTATION_PERIOD, Duration.ofMinutes(10),
+                PUBLISH_DELAY, encryptionKey, 15, clock);
+        ring.initialize();
+        return ring;
+    }
+
+    private static List<String> publishedKids(JwtKeyRing ring) {
+        try {
+            List<String> kids = new ArrayList<>();
+            for (JsonNode key : new ObjectMapper().readTree(ring.jwks().json()).get("keys")) {
+                kids.add(key.get("kid").asText());
+            }
+            return kids;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
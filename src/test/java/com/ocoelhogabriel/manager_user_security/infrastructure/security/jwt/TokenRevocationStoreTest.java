@@ -0,0 +1,143 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.RevokedTokenEntity;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.repository.RevokedTokenJpaRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Covers revocation, lookup, purge and synchronization of {@link TokenRevocationStore} against a mocked table.
+ */
+class TokenRevocationStoreTest {
+
+    private final RevokedTokenJpaRepository repository = mock(RevokedTokenJpaRepository.class);
+    private TokenRevocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TokenRevocationStore(repository, 10, new SimpleMeterRegistry());
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        store.load();
+    }
+
+    @Test
+    void revokedKeyIsFoundAndPersisted() {
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        store.revoke("jti-1", expiresAt);
+
+        assertTrue(store.isRevoked("jti-1"));
+        assertFalse(store.isRevoked("jti-2"));
+        assertFalse(store.isRevoked(null));
+        ArgumentCaptor<RevokedTokenEntity> saved = ArgumentCaptor.forClass(RevokedTokenEntity.class);
+        verify(repository).save(saved.capture());
+        assertEquals("jti-1", saved.getValue().getTokenKey());
+        assertEquals(expiresAt, saved.getValue().getExpiresAt());
+    }
+
+    @Test
+    void revokingTwiceWritesOnce() {
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        store.revoke("jti-1", expiresAt);
+        store.revoke("jti-1", expiresAt);
+
+        verify(repository, times(1)).save(any());
+    }
+
+    @Test
+    void expiredTokensAreNotRevoked() {
+        store.revoke("jti-1", Instant.now().minusSeconds(1));
+        store.revoke("jti-2", null);
+
+        assertFalse(store.isRevoked("jti-1"));
+        assertFalse(store.isRevoked("jti-2"));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void purgeDropsOnlyExpiredRevocations() throws InterruptedException {
+        store.revoke("short", Instant.now().plusMillis(50));
+        store.revoke("long", Instant.now().plusSeconds(60));
+        Thread.sleep(100);
+
+        store.purgeExpired();
+
+        assertFalse(store.isRevoked("short"));
+        assertTrue(store.isRevoked("long"));
+        verify(repository).deleteExpired(any());
+    }
+
+    @Test
+    void bloomFilterFalsePositivesAreAnsweredByTheMap() {
+        // A filter sized for 10 keys is saturated by 2000, so unrevoked keys pass it
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        RevocationBloomFilter sameFilter = new RevocationBloomFilter(10);
+        for (int i = 0; i < 2000; i++) {
+            store.revoke("revoked-" + i, expiresAt);
+            sameFilter.add("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 1000; i++) {
+            String key = "unrevoked-" + i;
+            if (sameFilter.mightContain(key)) {
+                falsePositives++;
+            }
+            assertFalse(store.isRevoked(key), key);
+        }
+        assertTrue(falsePositives > 0, "the false positive path was not exercised");
+    }
+
+    @Test
+    void loadRestoresPersistedRevocations() {
+        Instant now = Instant.now();
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                new RevokedTokenEntity("jti-1", now.plusSeconds(60), now)));
+
+        store.load();
+
+        assertTrue(store.isRevoked("jti-1"));
+    }
+
+    @Test
+    void syncPicksUpRevocationsFromOtherInstancesSinceTheNewestSeen() {
+        Instant revokedAt = Instant.now();
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                new RevokedTokenEntity("jti-1", revokedAt.plusSeconds(60), revokedAt)));
+        store.load();
+        when(repository.findByRevokedAtAfterAndExpiresAtAfter(any(), any())).thenReturn(List.of(
+                new RevokedTokenEntity("jti-2", revokedAt.plusSeconds(60), revokedAt.plusSeconds(1))));
+
+        store.sync();
+
+        assertTrue(store.isRevoked("jti-2"));
+        // Re-reads a short overlap before the newest row seen
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(repository).findByRevokedAtAfterAndExpiresAtAfter(since.capture(), any());
+        assertTrue(since.getValue().isBefore(revokedAt));
+        assertTrue(since.getValue().isAfter(revokedAt.minus(Duration.ofMinutes(5))));
+
+        store.sync();
+        verify(repository).findByRevokedAtAfterAndExpiresAtAfter(eq(revokedAt.plusSeconds(1).minusSeconds(30)), any());
+    }
+}
@@ -0,0 +1,77 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ocoelhogabriel.manager_user_security.domain.entity.User;
+import com.ocoelhogabriel.manager_user_security.domain.repository.UserRepository;
+import com.ocoelhogabriel.manager_user_security.infrastructure.security.jwt.AuthorityVersion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that cached users are reloaded when the shared authority versions move, which is how changes
+ * made on another instance reach this one.
+ */
+class UserDetailsServiceImplTest {
+
+    private static final Long USER_ID = 7L;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AuthorityVersion authorityVersion = mock(AuthorityVersion.class);
+    private UserDetailsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserDetailsServiceImpl(userRepository, authorityVersion, 100, Duration.ofMinutes(5),
+                new SimpleMeterRegistry());
+        when(authorityVersion.current()).thenReturn(1L);
+        when(authorityVersion.userChange(USER_ID)).thenReturn(Optional.empty());
+        when(userRepository.findForAuthentication("alice"))
+                .thenReturn(Optional.of(new User(USER_ID, "alice", null, "old-hash", true)));
+    }
+
+    @Test
+    void servesCachedUserWhileVersionsAreUnchanged() {
+        service.loadUserByUsername("alice");
+        service.loadUserByUsername("alice");
+
+        verify(userRepository, times(1)).findForAuthentication("alice");
+    }
+
+    @Test
+    void reloadsUserChangedOnAnotherInstance() {
+        assertEquals("old-hash", service.loadUserByUsername("alice").getPassword());
+
+        when(userRepository.findForAuthentication("alice"))
+                .thenReturn(Optional.of(new User(USER_ID, "alice", null, "new-hash", false)));
+        when(authorityVersion.userChange(USER_ID))
+                .thenReturn(Optional.of(new AuthorityVersion.Change(1L, Instant.now())));
+
+        SecurityUser reloaded = (SecurityUser) service.loadUserByUsername("alice");
+        assertEquals("new-hash", reloaded.getPassword());
+        assertFalse(reloaded.isEnabled());
+    }
+
+    @Test
+    void reloadsUsersWhenGlobalVersionMoves() {
+        service.loadUserByUsername("alice");
+
+        when(authorityVersion.current()).thenReturn(2L);
+        service.loadUserByUsername("alice");
+        service.loadUserByUsername("alice");
+
+        verify(userRepository, times(2)).findForAuthentication("alice");
+    }
+}
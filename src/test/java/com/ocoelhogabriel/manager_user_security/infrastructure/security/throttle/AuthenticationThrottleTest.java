@@ -0,0 +1,98 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.ocoelhogabriel.manager_user_security.application.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks the order in which {@link AuthenticationThrottle} consults its buckets and the Retry-After it reports.
+ */
+class AuthenticationThrottleTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void usernameBucketIsOnlyChargedOnceTheClientBucketPassed() {
+        AuthenticationThrottle throttle = throttle(3, Duration.ofMinutes(1), 1, Duration.ofMinutes(1));
+
+        throttle.checkLogin("alice", "10.0.0.1");
+        // Rejected by the client bucket, so the username keeps its remaining two attempts
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkLogin("alice", "10.0.0.1"));
+        throttle.checkLogin("alice", "10.0.0.2");
+        throttle.checkLogin("ALICE", "10.0.0.3");
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkLogin("Alice", "10.0.0.4"));
+        assertEquals(3.0, count("login", "allowed", "none"));
+        assertEquals(1.0, count("login", "rejected", "client"));
+        assertEquals(1.0, count("login", "rejected", "username"));
+    }
+
+    @Test
+    void retryAfterRoundsTheWaitUpToWholeSeconds() {
+        // A token every 1.5 seconds
+        AuthenticationThrottle throttle = throttle(10, Duration.ofMinutes(1), 2, Duration.ofSeconds(3));
+        throttle.checkRefresh("10.0.0.1");
+        throttle.checkRefresh("10.0.0.1");
+
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkRefresh("10.0.0.1"));
+
+        assertEquals(2L, rejected.getRetryAfterSeconds());
+    }
+
+    @Test
+    void retryAfterIsAtLeastOneSecond() {
+        AuthenticationThrottle throttle = throttle(10, Duration.ofMinutes(1), 1, Duration.ofMillis(200));
+        throttle.checkRefresh("10.0.0.1");
+
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkRefresh("10.0.0.1"));
+
+        assertEquals(1L, rejected.getRetryAfterSeconds());
+    }
+
+    @Test
+    void retryAfterOfAFullPeriodIsThePeriod() {
+        AuthenticationThrottle throttle = throttle(1, Duration.ofSeconds(10), 10, Duration.ofMinutes(1));
+        throttle.checkLogin("alice", "10.0.0.1");
+
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkLogin("alice", "10.0.0.2"));
+
+        assertEquals(10L, rejected.getRetryAfterSeconds());
+    }
+
+    @Test
+    void disabledThrottleAdmitsEverything() {
+        AuthenticationThrottle throttle = new AuthenticationThrottle(false, 1, Duration.ofMinutes(1), 1,
+                Duration.ofMinutes(1), 1, Duration.ofMinutes(1), 1000, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            throttle.checkLogin("alice", "10.0.0.1");
+            throttle.checkRefresh("10.0.0.1");
+            throttle.checkIntrospect("10.0.0.1");
+        }
+    }
+
+    private AuthenticationThrottle throttle(int usernameCapacity, Duration usernamePeriod, int clientCapacity,
+            Duration clientPeriod) {
+        return new AuthenticationThrottle(true, usernameCapacity, usernamePeriod, clientCapacity, clientPeriod,
+                600, Duration.ofMinutes(1), 1000, meterRegistry);
+    }
+
+    private double count(String endpoint, String outcome, String limitedBy) {
+        return meterRegistry.get("security.throttle.requests")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .tag("limited_by", limitedBy)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,115 @@
+package com.ocoelhogabriel.manager_user_security.infrastructure.security.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks refill, wait times and per-stripe LRU eviction of {@link TokenBucketTable} on a synthetic clock.
+ */
+class TokenBucketTableTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    // Mirrors TokenBucketTable's stripe count
+    private static final int STRIPES = 64;
+
+    @Test
+    void allowsABurstOfCapacityThenReportsTheWaitForTheNextToken() {
+        // One token per second
+        TokenBucketTable table = new TokenBucketTable(3, Duration.ofSeconds(3), 1000);
+
+        assertEquals(0L, table.tryAcquire("key", 0L));
+        assertEquals(0L, table.tryAcquire("key", 0L));
+        assertEquals(0L, table.tryAcquire("key", 0L));
+
+        assertEquals(SECOND, table.tryAcquire("key", 0L));
+        assertEquals(SECOND / 4, table.tryAcquire("key", SECOND * 3 / 4));
+    }
+
+    @Test
+    void refillsOverThePeriodButNeverBeyondCapacity() {
+        TokenBucketTable table = new TokenBucketTable(3, Duration.ofSeconds(3), 1000);
+        drain(table, "key", 3, 0L);
+
+        // A second later exactly one token is back
+        assertEquals(0L, table.tryAcquire("key", SECOND));
+        assertTrue(table.tryAcquire("key", SECOND) > 0);
+
+        // An hour later the bucket holds its capacity, not an hour's worth of tokens
+        long later = SECOND + TimeUnit.HOURS.toNanos(1);
+        drain(table, "key", 3, later);
+        assertTrue(table.tryAcquire("key", later) > 0);
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        TokenBucketTable table = new TokenBucketTable(1, Duration.ofMinutes(1), 1000);
+
+        assertEquals(0L, table.tryAcquire("a", 0L));
+        assertTrue(table.tryAcquire("a", 0L) > 0);
+        assertEquals(0L, table.tryAcquire("b", 0L));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedBucketOfAFullStripe() {
+        // Two buckets per stripe
+        TokenBucketTable table = new TokenBucketTable(1, Duration.ofMinutes(1), 2 * STRIPES);
+        List<String> keys = sameStripeKeys(3);
+        String first = keys.get(0);
+        String second = keys.get(1);
+        String third = keys.get(2);
+
+        table.tryAcquire(first, 0L);
+        table.tryAcquire(second, 0L);
+        // Touching the first bucket makes the second the least recently used
+        assertTrue(table.tryAcquire(first, 1L) > 0);
+        table.tryAcquire(third, 2L);
+
+        // The first bucket kept its drained state, the evicted second one starts full again
+        assertTrue(table.tryAcquire(first, 3L) > 0);
+        assertEquals(0L, table.tryAcquire(second, 3L));
+    }
+
+    @Test
+    void holdsAtMostMaxEntriesBuckets() {
+        TokenBucketTable table = new TokenBucketTable(1, Duration.ofMinutes(1), 2 * STRIPES);
+
+        for (int i = 0; i < 10_000; i++) {
+            table.tryAcquire("client-" + i, i);
+        }
+
+        assertTrue(table.size() <= 2 * STRIPES, "buckets: " + table.size());
+    }
+
+    private static void drain(TokenBucketTable table, String key, int tokens, long now) {
+        for (int i = 0; i < tokens; i++) {
+            assertEquals(0L, table.tryAcquire(key, now));
+        }
+    }
+
+    /**
+     * Finds keys that land in the same stripe, using the same spreading of the hash code as the table.
+     */
+    private static List<String> sameStripeKeys(int count) {
+        List<String> keys = new ArrayList<>();
+        int target = stripeOf("key-0");
+        for (int i = 0; keys.size() < count; i++) {
+            String key = "key-" + i;
+            if (stripeOf(key) == target) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static int stripeOf(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
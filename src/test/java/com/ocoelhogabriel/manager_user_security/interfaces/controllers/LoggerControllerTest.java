@@ -0,0 +1,89 @@
+package com.ocoelhogabriel.manager_user_security.interfaces.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+import com.ocoelhogabriel.manager_user_security.domain.service.LoggerService;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LogCursor;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LogPage;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LoggerType;
+import com.ocoelhogabriel.manager_user_security.interfaces.advice.GlobalExceptionHandler;
+import com.ocoelhogabriel.manager_user_security.interfaces.mapper.LoggerMapperImpl;
+
+/**
+ * Checks how the paged log endpoints of {@link LoggerController} accept and hand out cursors.
+ */
+class LoggerControllerTest {
+
+    private final LoggerService loggerService = mock(LoggerService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        LoggerController controller = new LoggerController(loggerService, new LoggerMapperImpl(), null, null, false);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/logs/v1/serial/SN-1").param("cursor", "not a cursor!").param("limit", "10"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/logs/v1/type/INFO").param("cursor", "Zm9v").param("limit", "10"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(loggerService);
+    }
+
+    @Test
+    void nextCursorHeaderResumesAfterTheLastItem() throws Exception {
+        LocalDateTime timestamp = LocalDateTime.of(2026, 10, 2, 8, 30);
+        Logger last = new Logger.Builder()
+                .withId(7L)
+                .withTimestamp(timestamp)
+                .withSerialNumber("SN-1")
+                .withType(LoggerType.INFO)
+                .withMessage("booted")
+                .build();
+        LogCursor next = new LogCursor(timestamp, 7L);
+        when(loggerService.findPageBySerialNumber(eq("SN-1"), eq(LogCursor.START), anyInt()))
+                .thenReturn(new LogPage(List.of(last), next));
+        when(loggerService.findPageBySerialNumber(eq("SN-1"), eq(next), anyInt()))
+                .thenReturn(new LogPage(List.of(), null));
+
+        mockMvc.perform(get("/api/logs/v1/serial/SN-1").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(LoggerController.NEXT_CURSOR_HEADER, next.encode()))
+                .andExpect(jsonPath("$[0].id").value(7));
+        mockMvc.perform(get("/api/logs/v1/serial/SN-1").param("cursor", next.encode()).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(LoggerController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void unknownFieldIsABadRequest() throws Exception {
+        when(loggerService.findPageByType(any(), any(), anyInt())).thenReturn(new LogPage(List.of(), null));
+
+        mockMvc.perform(get("/api/logs/v1/type/INFO").param("fields", "password").param("limit", "10"))
+                .andExpect(status().isBadRequest());
+    }
+}
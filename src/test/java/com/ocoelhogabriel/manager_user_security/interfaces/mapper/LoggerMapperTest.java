@@ -0,0 +1,84 @@
+package com.ocoelhogabriel.manager_user_security.interfaces.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ocoelhogabriel.manager_user_security.domain.entity.Logger;
+import com.ocoelhogabriel.manager_user_security.domain.valueobject.LoggerType;
+import com.ocoelhogabriel.manager_user_security.infrastructure.persistence.entity.LoggerEntity;
+import com.ocoelhogabriel.manager_user_security.interfaces.dto.LoggerRequest;
+
+/**
+ * Checks that the conversions of {@link LoggerMapper} into the immutable domain {@link Logger} keep every field.
+ */
+class LoggerMapperTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2026, 10, 2, 8, 30);
+
+    private final LoggerMapper mapper = new LoggerMapperImpl();
+
+    @Test
+    void mapsRequestToDomainStampedWithTheCurrentTime() {
+        LoggerRequest request = new LoggerRequest();
+        request.setSerialNumber("SN-1");
+        request.setType(LoggerType.WARN);
+        request.setMessage("disk almost full");
+        LocalDateTime before = LocalDateTime.now();
+
+        Logger logger = mapper.toDomain(request);
+
+        assertNull(logger.getId());
+        assertEquals("SN-1", logger.getSerialNumber());
+        assertEquals(LoggerType.WARN, logger.getType());
+        assertEquals("disk almost full", logger.getMessage());
+        assertFalse(logger.getTimestamp().isBefore(before));
+        assertFalse(logger.getTimestamp().isAfter(LocalDateTime.now()));
+        assertTrue(logger.isValid());
+    }
+
+    @Test
+    void mapsEntitiesToDomainOneByOneAndAsAList() {
+        LoggerEntity entity = new LoggerEntity(7L, TIMESTAMP, "SN-1", LoggerType.ERROR, "boom");
+
+        Logger logger = mapper.toDomain(entity);
+
+        assertEquals(7L, logger.getId());
+        assertEquals(TIMESTAMP, logger.getTimestamp());
+        assertEquals("SN-1", logger.getSerialNumber());
+        assertEquals(LoggerType.ERROR, logger.getType());
+        assertEquals("boom", logger.getMessage());
+        assertEquals(List.of("boom"), mapper.toDomainList(List.of(entity)).stream().map(Logger::getMessage).toList());
+    }
+
+    @Test
+    void roundTripsThroughThePersistenceEntity() {
+        Logger logger = new Logger.Builder()
+                .withId(7L)
+                .withTimestamp(TIMESTAMP)
+                .withSerialNumber("SN-1")
+                .withType(LoggerType.INFO)
+                .withMessage("booted")
+                .build();
+
+        Logger mapped = mapper.toDomain(mapper.toPersistenceEntity(logger));
+
+        assertEquals(logger.getId(), mapped.getId());
+        assertEquals(logger.getTimestamp(), mapped.getTimestamp());
+        assertEquals(logger.getSerialNumber(), mapped.getSerialNumber());
+        assertEquals(logger.getType(), mapped.getType());
+        assertEquals(logger.getMessage(), mapped.getMessage());
+    }
+
+    @Test
+    void mapsNullToNull() {
+        assertNull(mapper.toDomain((LoggerRequest) null));
+        assertNull(mapper.toDomain((LoggerEntity) null));
+    }
+}